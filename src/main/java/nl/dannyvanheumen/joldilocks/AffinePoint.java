@@ -2,65 +2,126 @@ package nl.dannyvanheumen.joldilocks;
 
 import javax.annotation.Nonnull;
 import java.math.BigInteger;
-import java.util.Objects;
 
-import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
 import static java.util.Objects.requireNonNull;
-import static nl.dannyvanheumen.joldilocks.Ed448.D;
+import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
+import static nl.dannyvanheumen.joldilocks.Ed448.D_ELEMENT;
 import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.ONE;
 
 /**
  * AffinePoint is the pure representation of an Edwards point. This implementation does not contain any optimizations
  * for point arithmetic.
+ * <p>
+ * Coordinates are kept as field elements. BigInteger values are only produced on request through {@link #x()} and
+ * {@link #y()}.
+ * <p>
+ * The RFC 8032 encoding is computed on first request and then retained, such that encoding a long-lived point (e.g. a
+ * public key) repeatedly costs only an array copy. Points that are decoded retain the decoded bytes. The retained
+ * encoding is never modified once published, therefore it is safe to share the point between threads.
  */
 final class AffinePoint implements Point {
 
-    private final BigInteger x;
-    private final BigInteger y;
+    private final FieldElement x;
+    private final FieldElement y;
+
+    /**
+     * Indicates whether coordinates are in range [0, p). Only points constructed from arbitrary BigInteger values can
+     * be out of range.
+     */
+    private final boolean canonical;
+
+    private BigInteger xValue;
+    private BigInteger yValue;
+
+    private volatile byte[] encoded;
 
     AffinePoint(final BigInteger x, final BigInteger y) {
+        this.xValue = requireNonNull(x);
+        this.yValue = requireNonNull(y);
+        this.x = FieldElement.valueOf(x);
+        this.y = FieldElement.valueOf(y);
+        this.canonical = inRange(x) && inRange(y);
+    }
+
+    AffinePoint(final FieldElement x, final FieldElement y) {
         this.x = requireNonNull(x);
         this.y = requireNonNull(y);
+        this.canonical = true;
+    }
+
+    /**
+     * Construct point with known encoding, e.g. the input of decoding.
+     *
+     * @param x       The x-coordinate.
+     * @param y       The y-coordinate.
+     * @param encoded The RFC 8032 encoding of the point. The data is copied.
+     */
+    AffinePoint(final FieldElement x, final FieldElement y, final byte[] encoded) {
+        this(x, y);
+        this.encoded = requireLengthExactly(ENCODED_LENGTH_BYTES, encoded).clone();
+    }
+
+    private static boolean inRange(final BigInteger value) {
+        return value.compareTo(ZERO) >= 0 && value.compareTo(MODULUS) < 0;
     }
 
     @Nonnull
     @Override
     public BigInteger x() {
-        return this.x;
+        if (this.xValue == null) {
+            this.xValue = this.x.toBigInteger();
+        }
+        return this.xValue;
     }
 
     @Nonnull
     @Override
     public BigInteger y() {
+        if (this.yValue == null) {
+            this.yValue = this.y.toBigInteger();
+        }
+        return this.yValue;
+    }
+
+    @Nonnull
+    FieldElement xElement() {
+        return this.x;
+    }
+
+    @Nonnull
+    FieldElement yElement() {
         return this.y;
     }
 
     @Nonnull
     @Override
     public AffinePoint negate() {
-        return new AffinePoint(this.x.negate().mod(MODULUS), this.y);
+        return new AffinePoint(this.x.negate(), this.y);
     }
 
     @Nonnull
     @Override
     public AffinePoint add(final Point p) {
-        if (p instanceof AffinePoint) {
-            return add((AffinePoint) p);
-        } else {
-            return add(new AffinePoint(p.x(), p.y()));
-        }
+        return add(Points.toAffine(p));
     }
 
     @Nonnull
     AffinePoint add(final AffinePoint other) {
+        final FieldElement x1x2 = this.x.multiply(other.x);
+        final FieldElement y1y2 = this.y.multiply(other.y);
+        final FieldElement dx1x2y1y2 = D_ELEMENT.multiply(x1x2).multiply(y1y2);
         //    x3 = (x1*y2+y1*x2)/(c*(1+d*x1*x2*y1*y2))
-        final BigInteger resultX = this.x.multiply(other.y).add(this.y.multiply(other.x)).multiply(
-            ONE.add(D.multiply(this.x).multiply(other.x).multiply(this.y).multiply(other.y)).modInverse(MODULUS)
-        ).mod(MODULUS);
+        final FieldElement numeratorX = this.x.multiply(other.y).add(this.y.multiply(other.x));
+        final FieldElement denominatorX = ONE.add(dx1x2y1y2);
         //    y3 = (y1*y2-x1*x2)/(c*(1-d*x1*x2*y1*y2))
-        final BigInteger resultY = this.y.multiply(other.y).subtract(this.x.multiply(other.x)).multiply(
-            ONE.subtract(D.multiply(this.x).multiply(other.x).multiply(this.y).multiply(other.y)).modInverse(MODULUS)
-        ).mod(MODULUS);
+        final FieldElement numeratorY = y1y2.subtract(x1x2);
+        final FieldElement denominatorY = ONE.subtract(dx1x2y1y2);
+        // Both denominators are inverted at the cost of a single inversion: 1/a = b/(a*b) and 1/b = a/(a*b).
+        final FieldElement inverse = denominatorX.multiply(denominatorY).invert();
+        final FieldElement resultX = numeratorX.multiply(denominatorY).multiply(inverse);
+        final FieldElement resultY = numeratorY.multiply(denominatorX).multiply(inverse);
         return new AffinePoint(resultX, resultY);
     }
 
@@ -70,25 +131,57 @@ final class AffinePoint implements Point {
         return this.add(this);
     }
 
+    @Override
+    public void encodeTo(@Nonnull final byte[] dst, final int offset) {
+        byte[] result = this.encoded;
+        if (result == null) {
+            if (!this.canonical) {
+                throw new IllegalArgumentException("Illegal point. Point cannot be encoded.");
+            }
+            // See Point#encodeTo(byte[], int) for RFC 8032 description of the encoding. Concurrent first requests
+            // compute identical results, so it does not matter which one is retained.
+            result = new byte[ENCODED_LENGTH_BYTES];
+            this.y.encode(result, 0);
+            result[ENCODED_LENGTH_BYTES - 1] = (byte) (this.x.isOdd() ? 0x80 : 0x00);
+            this.encoded = result;
+        }
+        System.arraycopy(result, 0, dst, offset, ENCODED_LENGTH_BYTES);
+    }
+
+    /**
+     * Test whether this point is the identity. Coordinates are compared (mod p), consistent with
+     * {@link #equals(Object)}, such that a point equals the identity iff it is the identity.
+     *
+     * @return Returns true iff the point is the identity.
+     */
+    @Override
+    public boolean isIdentity() {
+        return this.x.isZero() && this.y.equals(ONE);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (o instanceof ExtendedPoint) {
+            // Compare in extended coordinates, such that the other point need not be normalized.
+            return o.equals(this);
+        }
+        if (!(o instanceof AffinePoint)) {
             return false;
         }
         final AffinePoint that = (AffinePoint) o;
-        return Objects.equals(x, that.x) && Objects.equals(y, that.y);
+        return this.x.equals(that.x) && this.y.equals(that.y);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * this.x.hashCode() + this.y.hashCode();
     }
 
     @Override
     public String toString() {
-        return "(" + x + ", " + y + ')';
+        return "(" + x() + ", " + y() + ')';
     }
 }
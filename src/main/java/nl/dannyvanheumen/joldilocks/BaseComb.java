@@ -0,0 +1,119 @@
+package nl.dannyvanheumen.joldilocks;
+
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+
+/**
+ * BaseComb performs fixed-base scalar multiplication [m]phi(B) on the twisted curve, using a signed comb with
+ * precomputed tables. (See "Fast and compact elliptic-curve cryptography", Hamburg, and the implementation in
+ * libdecaf.)
+ * <p>
+ * The scalar is recoded into n = COMBS * TEETH * SPACING signed bits s_i in {-1, 1}, such that m = sum s_i * 2^i.
+ * Comb j covers the bits at positions SPACING * (TEETH * j + t) + i, for teeth t in [0, TEETH) and offsets i in
+ * [0, SPACING). For each offset i, from high to low, every comb contributes one table entry: the sum of its teeth
+ * multiples of phi(B), with the signs of the corresponding scalar bits. As negation is cheap, only entries with a
+ * positive first tooth are stored: 2^(TEETH-1) entries per comb.
+ * <p>
+ * With 5 combs of 5 teeth and spacing 18, scalar multiplication costs 17 doublings and 90 mixed additions, instead of
+ * approximately 446 doublings and 223 additions for double-and-add. Table entries are selected in constant time (see
+ * {@link NielsPoint#select(NielsPoint[], int)}), and the sequence of operations does not depend on the scalar.
+ * The scalar is recoded on its limbs (see {@link Scalar}), with masks instead of branches.
+ * <p>
+ * The table is generated during the build, and loaded when the class is initialized. (See {@link BaseTables}.)
+ */
+final class BaseComb {
+
+    static final int COMBS = 5;
+
+    static final int TEETH = 5;
+
+    static final int SPACING = 18;
+
+    /**
+     * Number of bits covered by the comb. The recoding requires an odd scalar of at most this many bits.
+     */
+    static final int BITS = COMBS * TEETH * SPACING;
+
+    private static final int ENTRIES = 1 << (TEETH - 1);
+
+    /**
+     * TABLE[j][k] = phi(sum_t e_t * [2^(SPACING * (TEETH * j + t))]B), with e_0 = 1 and e_t = 1 iff bit (t-1) of k
+     * is set, otherwise -1.
+     */
+    private static final NielsPoint[][] TABLE = split(BaseTables.load(BaseTables.COMB_RESOURCE, COMBS * ENTRIES,
+        BaseComb::computeTable));
+
+    private BaseComb() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * Compute the table, with the entries of all combs concatenated.
+     *
+     * @return Returns the entries TABLE[j][k] at index j * 2^(TEETH-1) + k.
+     */
+    static NielsPoint[] computeTable() {
+        // teeth[j * TEETH + t] = [2^(SPACING * (TEETH * j + t))]B
+        final ExtendedPoint[] teeth = new ExtendedPoint[COMBS * TEETH];
+        ExtendedPoint current = ExtendedPoint.fromPoint(P);
+        for (int k = 0; k < teeth.length; k++) {
+            teeth[k] = current;
+            for (int i = 0; i < SPACING; i++) {
+                current = current.doubling();
+            }
+        }
+        final Point[] entries = new Point[COMBS * ENTRIES];
+        for (int j = 0; j < COMBS; j++) {
+            for (int k = 0; k < ENTRIES; k++) {
+                ExtendedPoint sum = teeth[j * TEETH];
+                for (int t = 1; t < TEETH; t++) {
+                    final ExtendedPoint tooth = teeth[j * TEETH + t];
+                    sum = sum.add((k >>> (t - 1) & 1) == 1 ? tooth : tooth.negate());
+                }
+                entries[j * ENTRIES + k] = sum;
+            }
+        }
+        return NielsPoint.fromPoints(entries);
+    }
+
+    private static NielsPoint[][] split(final NielsPoint[] entries) {
+        final NielsPoint[][] table = new NielsPoint[COMBS][ENTRIES];
+        for (int j = 0; j < COMBS; j++) {
+            System.arraycopy(entries, j * ENTRIES, table[j], 0, ENTRIES);
+        }
+        return table;
+    }
+
+    /**
+     * Compute [m]phi(B) with B the Ed448 base point, and store the result in dst.
+     *
+     * @param dst     The destination point on the twisted curve.
+     * @param scalar  The scalar value m.
+     * @param scratch The scratch space. (The destination may be part of the scratch space, except for n0.)
+     */
+    static void multiply(final TwistedPoint dst, final Scalar scalar, final Scratch scratch) {
+        // m = sum (2 * b_i - 1) * 2^i, with b_i bits i + 1 of the recoded limbs. (See Scalar#recodeSigned(int).)
+        final long[] recoded = scalar.recodeSigned(BITS);
+        final NielsPoint entry = scratch.n0;
+        dst.setIdentity();
+        for (int i = SPACING - 1; i >= 0; i--) {
+            if (i < SPACING - 1) {
+                dst.doubling(scratch);
+            }
+            for (int j = 0; j < COMBS; j++) {
+                int index = 0;
+                for (int t = 1; t < TEETH; t++) {
+                    index |= Scalar.bit(recoded, SPACING * (TEETH * j + t) + i + 1) << (t - 1);
+                }
+                // If the first tooth is negative, look up the entry with all signs inverted and negate it.
+                final int negate = Scalar.bit(recoded, SPACING * TEETH * j + i + 1) ^ 1;
+                index ^= -negate & (ENTRIES - 1);
+                entry.select(TABLE[j], index);
+                entry.conditionalNegate(negate, scratch.temp[0]);
+                dst.add(entry, scratch);
+            }
+        }
+        Arrays.fill(recoded, 0L);
+    }
+}
@@ -0,0 +1,40 @@
+package nl.dannyvanheumen.joldilocks;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+
+/**
+ * BaseMultiples is the table of precomputed odd multiples of phi(B), with B the Ed448 base point, for the variable-time
+ * double-scalar multiplication of signature verification. (See
+ * {@link TwistedPoint#multiplyDoubleVariableTime(byte[], TwistedPoint, byte[], Scratch)}.)
+ * <p>
+ * As the table is computed once and shared, the base point uses a wider non-adjacent form than points that are only
+ * known at verification time: width 7, i.e. 32 entries, for one addition per 8 bits of the scalar.
+ * <p>
+ * The table is generated during the build, and loaded when the class is initialized. (See {@link BaseTables}.)
+ */
+final class BaseMultiples {
+
+    /**
+     * Window width of the non-adjacent form of scalars for the base point.
+     */
+    static final int WIDTH = 7;
+
+    /**
+     * TABLE[i] = phi([2i+1]B), for i in [0, 2^(WIDTH-2)).
+     */
+    static final NielsPoint[] TABLE = BaseTables.load(BaseTables.MULTIPLES_RESOURCE, 1 << (WIDTH - 2),
+        BaseMultiples::computeTable);
+
+    private BaseMultiples() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * Compute the table.
+     *
+     * @return Returns the odd multiples phi([2i+1]B), for i in [0, 2^(WIDTH-2)).
+     */
+    static NielsPoint[] computeTable() {
+        return NielsPoint.oddMultiples(P, 1 << (WIDTH - 2));
+    }
+}
@@ -0,0 +1,154 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Supplier;
+
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+
+/**
+ * BaseTables stores the precomputed tables of the base point as constant data, such that the tables need not be
+ * computed at runtime.
+ * <p>
+ * The tables of {@link BaseComb} and {@link BaseMultiples} are generated during the build (see {@link #main(String[])}
+ * and pom.xml), and stored as class path resources next to this class. A table is loaded when the class that uses it
+ * is initialized, i.e. on first use. Loading a table costs only the decoding of its field elements. In case the
+ * resource is not available, e.g. when running from sources that were compiled without the build, the table is
+ * computed instead.
+ * <p>
+ * Every entry is stored as the 3 components (y+x, y-x, -2(d-1)xy) of a {@link NielsPoint}, each encoded as 56 bytes
+ * little-endian. The encoding is canonical, therefore independent of the field arithmetic that is used at runtime.
+ */
+final class BaseTables {
+
+    /**
+     * Resource name of the table of {@link BaseComb}.
+     */
+    static final String COMB_RESOURCE = "base-comb.bin";
+
+    /**
+     * Resource name of the table of {@link BaseMultiples}.
+     */
+    static final String MULTIPLES_RESOURCE = "base-multiples.bin";
+
+    private static final int ELEMENT_LENGTH_BYTES = 56;
+
+    private static final int ENTRY_LENGTH_BYTES = 3 * ELEMENT_LENGTH_BYTES;
+
+    private BaseTables() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * Generate the resources of all tables into a class output directory.
+     *
+     * @param args The class output directory, e.g. target/classes.
+     * @throws IOException In case of failure to write a resource.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected exactly one argument: the class output directory.");
+        }
+        final String path = BaseTables.class.getPackage().getName().replace('.', File.separatorChar);
+        final File directory = new File(args[0], path);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory " + directory);
+        }
+        write(new File(directory, COMB_RESOURCE), BaseComb.computeTable());
+        write(new File(directory, MULTIPLES_RESOURCE), BaseMultiples.computeTable());
+    }
+
+    private static void write(final File file, final NielsPoint[] table) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(encode(table));
+        }
+    }
+
+    /**
+     * Load table from resource, or compute it in case the resource is not available.
+     *
+     * @param name    The resource name.
+     * @param count   The number of entries of the table.
+     * @param compute The computation of the table, in case the resource is not available.
+     * @return Returns the table.
+     */
+    @Nonnull
+    static NielsPoint[] load(final String name, final int count, final Supplier<NielsPoint[]> compute) {
+        final byte[] data = read(name);
+        if (data == null) {
+            return compute.get();
+        }
+        if (data.length != count * ENTRY_LENGTH_BYTES) {
+            throw new IllegalStateException("Resource " + name + " does not contain a table of " + count + " entries.");
+        }
+        return decode(data);
+    }
+
+    /**
+     * Read resource completely.
+     *
+     * @param name The resource name.
+     * @return Returns the content of the resource, or null if the resource is not available.
+     */
+    @Nullable
+    static byte[] read(final String name) {
+        try (InputStream in = BaseTables.class.getResourceAsStream(name)) {
+            if (in == null) {
+                return null;
+            }
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final byte[] chunk = new byte[4096];
+            int n;
+            while ((n = in.read(chunk)) >= 0) {
+                buffer.write(chunk, 0, n);
+            }
+            return buffer.toByteArray();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to read resource " + name, e);
+        }
+    }
+
+    /**
+     * Encode table of points in precomputed form.
+     *
+     * @param table The table.
+     * @return Returns the encoded table.
+     */
+    @Nonnull
+    static byte[] encode(final NielsPoint[] table) {
+        final byte[] data = new byte[table.length * ENTRY_LENGTH_BYTES];
+        final long[] temp = new long[LIMBS];
+        for (int i = 0; i < table.length; i++) {
+            final int offset = i * ENTRY_LENGTH_BYTES;
+            FieldElement.encode(data, offset, table[i].yPlusX, temp);
+            FieldElement.encode(data, offset + ELEMENT_LENGTH_BYTES, table[i].yMinusX, temp);
+            FieldElement.encode(data, offset + 2 * ELEMENT_LENGTH_BYTES, table[i].xy2d, temp);
+        }
+        return data;
+    }
+
+    /**
+     * Decode table of points in precomputed form.
+     *
+     * @param data The encoded table.
+     * @return Returns the table.
+     */
+    @Nonnull
+    static NielsPoint[] decode(final byte[] data) {
+        final NielsPoint[] table = new NielsPoint[data.length / ENTRY_LENGTH_BYTES];
+        for (int i = 0; i < table.length; i++) {
+            final int offset = i * ENTRY_LENGTH_BYTES;
+            table[i] = new NielsPoint();
+            FieldElement.decodeLimbs(table[i].yPlusX, data, offset);
+            FieldElement.decodeLimbs(table[i].yMinusX, data, offset + ELEMENT_LENGTH_BYTES);
+            FieldElement.decodeLimbs(table[i].xy2d, data, offset + 2 * ELEMENT_LENGTH_BYTES);
+        }
+        return table;
+    }
+}
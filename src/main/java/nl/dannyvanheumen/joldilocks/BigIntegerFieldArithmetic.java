@@ -0,0 +1,46 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+
+/**
+ * Reference field arithmetic using BigInteger.
+ * <p>
+ * Operands are converted to BigInteger, multiplied and reduced modulo p, and converted back to limbs. This
+ * implementation is slow and allocates for every operation. It is never selected automatically, but can be selected
+ * explicitly to rule out the optimized implementations when investigating a problem.
+ */
+final class BigIntegerFieldArithmetic implements FieldArithmetic {
+
+    static final BigIntegerFieldArithmetic INSTANCE = new BigIntegerFieldArithmetic();
+
+    private BigIntegerFieldArithmetic() {
+        // No need to instantiate, use INSTANCE.
+    }
+
+    @Nonnull
+    @Override
+    public String name() {
+        return "biginteger";
+    }
+
+    @Override
+    public int priority() {
+        return -1;
+    }
+
+    @Override
+    public void multiply(final long[] z, final long[] x, final long[] y) {
+        final BigInteger product = FieldElement.fromLimbs(x).toBigInteger()
+            .multiply(FieldElement.fromLimbs(y).toBigInteger()).mod(MODULUS);
+        FieldElement.valueOf(product).copyTo(z);
+    }
+
+    @Override
+    public void square(final long[] z, final long[] x) {
+        final BigInteger value = FieldElement.fromLimbs(x).toBigInteger();
+        FieldElement.valueOf(value.multiply(value).mod(MODULUS)).copyTo(z);
+    }
+}
@@ -0,0 +1,300 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static nl.dannyvanheumen.joldilocks.FieldElement.ONE;
+import static org.bouncycastle.util.encoders.Hex.toHexString;
+
+/**
+ * DecafPoint is an element of the Decaf448 prime-order group, as specified in RFC 9496 ("The ristretto255 and
+ * decaf448 Groups"). (See also "Decaf: Eliminating cofactors through point compression".)
+ * <p>
+ * An element is represented by a point in 2E, the even points of Ed448-Goldilocks. Two points represent the same
+ * element iff they differ by a point of order 2. The resulting group has prime order q, so there is no cofactor to
+ * take into account: every element that is decoded successfully is a valid element of the group. There is no need for
+ * multiplication by the cofactor, nor for checking q * X = identity.
+ * <p>
+ * The encoding is 56 bytes and canonical: every element has exactly one encoding, and decoding rejects any other byte
+ * string. Encoding and decoding each need a single inverse square root. Equality does not need any inversion.
+ * <p>
+ * Note that the Decaf448 generator is not the Ed448 base point, but the element represented by 2B. DecafPoint is
+ * immutable.
+ */
+public final class DecafPoint {
+
+    /**
+     * Length of encoded element in bytes.
+     */
+    public static final int ENCODED_LENGTH_BYTES = 56;
+
+    /**
+     * The constant 1 - d.
+     */
+    private static final FieldElement ONE_MINUS_D = FieldElement.valueOf(39082L);
+
+    /**
+     * The constant -4 * d.
+     */
+    private static final FieldElement MINUS_FOUR_D = FieldElement.valueOf(156324L);
+
+    /**
+     * The non-negative square root of -d.
+     */
+    private static final FieldElement SQRT_MINUS_D = FieldElement.valueOf(new BigInteger(
+        "22d962fbeb24f7683bf68d722fa26aa0a1f1a7b8a5b8d54b64a2d780968c14ba839a66f4fd6eded260337bf6aa20ce529642ef0f45572736",
+        16));
+
+    /**
+     * The non-negative inverse square root of -d.
+     */
+    private static final FieldElement INVSQRT_MINUS_D = FieldElement.valueOf(new BigInteger(
+        "6ef40652e222c057902be35a0bcac8075a90950c3a5b27a7d6ba56f128a6521abe707ee2c21fba15efbb2479f19e94f353afbb5eb878682c",
+        16));
+
+    private static final DecafPoint IDENTITY = new DecafPoint(ExtendedPoint.IDENTITY);
+
+    /**
+     * The generator of the Decaf448 group, i.e. the element represented by 2B, with B the Ed448 base point.
+     */
+    private static final DecafPoint GENERATOR = new DecafPoint(ExtendedPoint.fromPoint(Ed448.P).doubling());
+
+    private final ExtendedPoint point;
+
+    private volatile byte[] encoded;
+
+    /**
+     * Construct element represented by point.
+     *
+     * @param point The point, which must be in 2E.
+     */
+    DecafPoint(final ExtendedPoint point) {
+        this.point = requireNonNull(point);
+    }
+
+    /**
+     * Acquire the identity element.
+     *
+     * @return Returns the identity element.
+     */
+    @Nonnull
+    public static DecafPoint identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * Acquire the generator of the Decaf448 group.
+     *
+     * @return Returns the generator.
+     */
+    @Nonnull
+    public static DecafPoint generator() {
+        return GENERATOR;
+    }
+
+    /**
+     * Multiply the generator by scalar. The multiplication is performed as [2 * scalar]B using the precomputed Ed448
+     * base point.
+     *
+     * @param scalar The scalar value.
+     * @return Returns the element [scalar]G.
+     */
+    @Nonnull
+    public static DecafPoint multiplyByGenerator(final BigInteger scalar) {
+        return new DecafPoint(ExtendedPoint.fromPoint(Ed448.multiplyByBase(scalar.shiftLeft(1).mod(Q))));
+    }
+
+    /**
+     * Decode element according to RFC 9496, section 5.3.1.
+     *
+     * @param encoded The encoded element of 56 bytes.
+     * @return Returns the element.
+     * @throws Points.InvalidDataException In case the data is not the canonical encoding of an element.
+     */
+    @Nonnull
+    public static DecafPoint decode(final byte[] encoded) throws Points.InvalidDataException {
+        if (encoded.length != ENCODED_LENGTH_BYTES) {
+            throw new Points.InvalidDataException("Decaf448 element has invalid length. Expected exactly 56 bytes.");
+        }
+        // "Interpret the string as an unsigned integer s in little-endian representation. If the length of the string
+        //  is not 56 bytes or if the resulting value is >= p, decoding fails. If IS_NEGATIVE(s) returns TRUE, decoding
+        //  fails."
+        if (!FieldElement.isCanonical(encoded, 0)) {
+            throw new Points.InvalidDataException("Decaf448 element is not canonically encoded.");
+        }
+        final FieldElement s = FieldElement.decode(encoded, 0);
+        if (s.isOdd()) {
+            throw new Points.InvalidDataException("Decaf448 element is negative.");
+        }
+        final FieldElement ss = s.square();
+        final FieldElement u1 = ONE.add(ss);
+        final FieldElement u1u1 = u1.square();
+        final FieldElement u2 = u1u1.add(MINUS_FOUR_D.multiply(ss));
+        // (was_square, invsqrt) = SQRT_RATIO_M1(1, u2 * u1^2)
+        final FieldElement v = u2.multiply(u1u1);
+        final FieldElement invsqrt = abs(v.inverseSquareRoot());
+        if (!v.multiply(invsqrt.square()).equals(ONE)) {
+            throw new Points.InvalidDataException("Decaf448 element is not on the curve.");
+        }
+        final FieldElement u3 = abs(s.add(s).multiply(invsqrt).multiply(u1).multiply(SQRT_MINUS_D));
+        final FieldElement x = u3.multiply(invsqrt).multiply(u2).multiply(INVSQRT_MINUS_D);
+        final FieldElement y = ONE.subtract(ss).multiply(invsqrt).multiply(u1);
+        final DecafPoint result = new DecafPoint(new ExtendedPoint(x, y, ONE, x.multiply(y)));
+        result.encoded = encoded.clone();
+        return result;
+    }
+
+    /**
+     * Add element.
+     *
+     * @param other The other element.
+     * @return Returns the sum.
+     */
+    @Nonnull
+    public DecafPoint add(final DecafPoint other) {
+        return new DecafPoint(this.point.add(other.point));
+    }
+
+    /**
+     * Subtract element.
+     *
+     * @param other The other element.
+     * @return Returns the difference.
+     */
+    @Nonnull
+    public DecafPoint subtract(final DecafPoint other) {
+        return new DecafPoint(this.point.add(other.point.negate()));
+    }
+
+    /**
+     * Negate element.
+     *
+     * @return Returns the negated element.
+     */
+    @Nonnull
+    public DecafPoint negate() {
+        return new DecafPoint(this.point.negate());
+    }
+
+    /**
+     * Double element.
+     *
+     * @return Returns the doubled element.
+     */
+    @Nonnull
+    public DecafPoint doubling() {
+        return new DecafPoint(this.point.doubling());
+    }
+
+    /**
+     * Multiply element by scalar.
+     * <p>
+     * The multiplication is constant-time in the scalar (after reduction modulo q), such that it can be used with
+     * secret scalars, e.g. in Diffie-Hellman key agreement. The representative of the result may differ from [scalar]P
+     * by a point of order 2, which represents the same element.
+     *
+     * @param scalar The scalar value.
+     * @return Returns the product.
+     */
+    @Nonnull
+    public DecafPoint multiply(final BigInteger scalar) {
+        final Scalar reduced = Scalar.valueOf(scalar);
+        final Scratch scratch = Scratch.local();
+        try {
+            scratch.p0.multiplyPrimeOrder(this.point, reduced, scratch);
+            return new DecafPoint(scratch.p0.toPoint());
+        } finally {
+            reduced.clear();
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Test whether this element is the identity. No inversion is needed.
+     *
+     * @return Returns true iff this element is the identity.
+     */
+    @CheckReturnValue
+    public boolean isIdentity() {
+        // The identity is represented by (0, 1) and (0, -1).
+        return this.point.xElement().isZero();
+    }
+
+    /**
+     * Encode element according to RFC 9496, section 5.3.2.
+     *
+     * @return Returns encoded element of 56 bytes.
+     */
+    @Nonnull
+    public byte[] encode() {
+        final byte[] result = new byte[ENCODED_LENGTH_BYTES];
+        encodeTo(result, 0);
+        return result;
+    }
+
+    /**
+     * Encode element according to RFC 9496, section 5.3.2, using provided byte array as destination. The encoding is
+     * computed on first request and then retained.
+     *
+     * @param dst    The destination array. There should be at least 56 bytes of space left, starting at offset.
+     * @param offset The offset at which to start writing.
+     */
+    public void encodeTo(final byte[] dst, final int offset) {
+        byte[] result = this.encoded;
+        if (result == null) {
+            result = new byte[ENCODED_LENGTH_BYTES];
+            final FieldElement x = this.point.xElement();
+            final FieldElement z = this.point.zElement();
+            final FieldElement t = this.point.tElement();
+            final FieldElement u1 = x.add(t).multiply(x.subtract(t));
+            // (_, invsqrt) = SQRT_RATIO_M1(1, u1 * (1 - d) * x^2)
+            final FieldElement invsqrt = abs(u1.multiply(ONE_MINUS_D).multiply(x.square()).inverseSquareRoot());
+            final FieldElement ratio = abs(invsqrt.multiply(u1).multiply(SQRT_MINUS_D));
+            final FieldElement u2 = INVSQRT_MINUS_D.multiply(ratio).multiply(z).subtract(t);
+            abs(ONE_MINUS_D.multiply(invsqrt).multiply(x).multiply(u2)).encode(result, 0);
+            this.encoded = result;
+        }
+        System.arraycopy(result, 0, dst, offset, ENCODED_LENGTH_BYTES);
+    }
+
+    /**
+     * The non-negative (i.e. even) value of x or -x.
+     */
+    @Nonnull
+    private static FieldElement abs(final FieldElement x) {
+        return x.isOdd() ? x.negate() : x;
+    }
+
+    /**
+     * Equality of Decaf448 elements. Elements are equal iff x1 * y2 = y1 * x2 for their representatives. No inversion
+     * is needed.
+     *
+     * @param o The other element.
+     * @return Returns true iff elements are equal.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DecafPoint)) {
+            return false;
+        }
+        final ExtendedPoint other = ((DecafPoint) o).point;
+        return this.point.xElement().multiply(other.yElement()).equals(this.point.yElement().multiply(other.xElement()));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(encode());
+    }
+
+    @Override
+    public String toString() {
+        return toHexString(encode());
+    }
+}
@@ -6,8 +6,6 @@ import java.io.ByteArrayOutputStream;
 import java.math.BigInteger;
 import java.security.SecureRandom;
 
-import static java.math.BigInteger.ONE;
-import static java.math.BigInteger.ZERO;
 import static java.util.Objects.requireNonNull;
 import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthAtMost;
 import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
@@ -15,19 +13,16 @@ import static nl.dannyvanheumen.joldilocks.Crypto.shake256;
 import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
 import static nl.dannyvanheumen.joldilocks.Points.decode;
 import static nl.dannyvanheumen.joldilocks.Scalars.decodeLittleEndian;
-import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndian;
 import static nl.dannyvanheumen.joldilocks.Scalars.prune;
 import static org.bouncycastle.util.Arrays.clear;
 import static org.bouncycastle.util.Arrays.concatenate;
 import static org.bouncycastle.util.Arrays.copyOf;
-import static org.bouncycastle.util.Arrays.copyOfRange;
 
 /**
  * Ed448-Goldilocks implementation.
  *
  * Ed448 is an untwisted Edwards curve (form: y^2 + x^2 = 1 + d * x^2 * y^2)
  */
-// TODO: Need to implement precomputed base multiples to speed up computation?
 public final class Ed448 {
 
     /**
@@ -60,6 +55,11 @@ public final class Ed448 {
      */
     static final BigInteger D = BigInteger.valueOf(-39081L);
 
+    /**
+     * Edwards constant d, as field element.
+     */
+    static final FieldElement D_ELEMENT = FieldElement.valueOf(D);
+
     /**
      * Base point for Ed448-Goldilocks.
      *
@@ -85,12 +85,12 @@ public final class Ed448 {
     /**
      * Maximum length in bytes of context.
      */
-    private static final int CONTEXT_MAX_LENGTH_BYTES = 255;
+    static final int CONTEXT_MAX_LENGTH_BYTES = 255;
 
     /**
      * Length in bytes of signature.
      */
-    private static final int SIGNATURE_LENGTH_BYTES = 114;
+    static final int SIGNATURE_LENGTH_BYTES = 114;
 
     /**
      * Digest length in bytes, applies when producing digest of the private key.
@@ -107,18 +107,15 @@ public final class Ed448 {
     // (https://github.com/otrv4/otrv4/blob/master/otrv4.md#verifying-that-a-point-is-on-the-curve)
     @CheckReturnValue
     public static boolean contains(final Point p) {
-        // TODO: Check if we really need so many mod-operations
-        final BigInteger x = p.x();
-        final BigInteger xx = x.multiply(x).mod(MODULUS);
-        final BigInteger y = p.y();
-        final BigInteger yy = y.multiply(y).mod(MODULUS);
-
-        final BigInteger dxx = D.multiply(xx).mod(MODULUS);
-        final BigInteger dxxyy = dxx.multiply(yy).mod(MODULUS);
-
-        final BigInteger left =  xx.add(yy).mod(MODULUS);
-        final BigInteger right= ONE.add(dxxyy).mod(MODULUS);
-        return left.compareTo(right) == 0;
+        // The curve equation x^2 + y^2 = 1 + d*x^2*y^2 multiplied by Z^4, such that no inversion is needed:
+        // (X^2 + Y^2)*Z^2 = Z^4 + d*X^2*Y^2.
+        final ExtendedPoint extended = ExtendedPoint.fromPoint(p);
+        final FieldElement xx = extended.xElement().square();
+        final FieldElement yy = extended.yElement().square();
+        final FieldElement zz = extended.zElement().square();
+        final FieldElement left = xx.add(yy).multiply(zz);
+        final FieldElement right = zz.square().add(D_ELEMENT.multiply(xx).multiply(yy));
+        return left.equals(right);
     }
 
     /**
@@ -189,12 +186,38 @@ public final class Ed448 {
     // FIXME write unit tests
     @Nonnull
     public static BigInteger generateSecretScalar(final byte[] symmetricKey) {
-        final byte[] h = shake256(requireLengthExactly(SYMMETRIC_KEY_LENGTH_BYTES, symmetricKey),
-            SIGNING_DIGEST_LENGTH_BYTES);
+        final byte[] h = hashSymmetricKey(symmetricKey);
+        try {
+            return secretScalar(h);
+        } finally {
+            clear(h);
+        }
+    }
+
+    /**
+     * Hash the symmetric key, i.e. SHAKE256(symmetricKey, 114).
+     *
+     * @param symmetricKey The symmetric key of 57 bytes.
+     * @return Returns the digest h of 114 bytes. The caller should clear the digest after use.
+     */
+    @Nonnull
+    static byte[] hashSymmetricKey(final byte[] symmetricKey) {
+        return shake256(requireLengthExactly(SYMMETRIC_KEY_LENGTH_BYTES, symmetricKey), SIGNING_DIGEST_LENGTH_BYTES);
+    }
+
+    /**
+     * Derive the secret scalar from the digest of the symmetric key: the pruned first half of the digest.
+     *
+     * @param h The digest of the symmetric key. (See {@link #hashSymmetricKey(byte[])}.)
+     * @return Returns the secret scalar, not reduced modulo q.
+     */
+    @Nonnull
+    static BigInteger secretScalar(final byte[] h) {
         final byte[] secretKeySourceData = copyOf(h, ENCODED_LENGTH_BYTES);
-        clear(h);
         prune(secretKeySourceData);
-        return decodeLittleEndian(secretKeySourceData);
+        final BigInteger secretScalar = decodeLittleEndian(secretKeySourceData);
+        clear(secretKeySourceData);
+        return secretScalar;
     }
 
     /**
@@ -206,45 +229,78 @@ public final class Ed448 {
      */
     @Nonnull
     public static byte[] sign(final byte[] symmetricKey, final byte[] context, final byte[] message) {
+        return sign(symmetricKey, context, message, Scratch.local());
+    }
+
+    /**
+     * Sign an arbitrary length message, using provided scratch space for point arithmetic.
+     *
+     * @param symmetricKey The symmetric key used for signing.
+     * @param context      Context C, max 255 bytes.
+     * @param message      Message, arbitrary length.
+     * @param scratch      The scratch space, for use by the current thread only.
+     */
+    @Nonnull
+    public static byte[] sign(final byte[] symmetricKey, final byte[] context, final byte[] message,
+            final Scratch scratch) {
         requireNonNull(message);
+        final Ed448SigningKey key = Ed448SigningKey.create(symmetricKey, scratch);
+        try {
+            return sign(key, context, message, scratch);
+        } finally {
+            key.clear();
+        }
+    }
+
+    /**
+     * Sign an arbitrary length message with an expanded signing key, using provided scratch space for point
+     * arithmetic. The signing key provides the secret scalar s, the prefix and the encoded public key A, therefore only
+     * the multiplication [r]B is performed.
+     *
+     * @param key     The signing key.
+     * @param context Context C, max 255 bytes.
+     * @param message Message, arbitrary length.
+     * @param scratch The scratch space, for use by the current thread only.
+     */
+    @Nonnull
+    static byte[] sign(final Ed448SigningKey key, final byte[] context, final byte[] message, final Scratch scratch) {
+        requireNonNull(message);
+        requireNonNull(scratch);
         // "1. Hash the private key, 57 octets, using SHAKE256(x, 114).  Let h denote the resulting digest. Construct the
         //     secret scalar s from the first half of the digest, and the corresponding public key A, as described in the
         //     previous section.  Let prefix denote the second half of the hash digest, h[57],...,h[113]."
-        final byte[] h = shake256(symmetricKey, SIGNING_DIGEST_LENGTH_BYTES);
-        final byte[] sbytes = copyOf(h, 57);
-        final byte[] prefix = copyOfRange(h, 57, 114);
-        prune(sbytes);
-        final BigInteger s = decodeLittleEndian(sbytes);
-        final byte[] encodedPointA = multiplyByBase(s).encode();
+        // (Performed on creation of the signing key. See Ed448SigningKey#create(byte[], Scratch).)
         // "2. Compute SHAKE256(dom4(F, C) || prefix || PH(M), 114), where M is the message to be signed, F is 1 for
         //     Ed448ph, 0 for Ed448, and C is the context to use.  Interpret the 114-octet digest as a little-endian
         //     integer r."
-        final byte[] bufferR = concatenate(dom4(context), prefix, ph(message));
-        final BigInteger r = decodeLittleEndian(shake256(bufferR, 114));
+        final byte[] bufferR = concatenate(dom4(context), key.prefix, ph(message));
+        final byte[] digestR = shake256(bufferR, 114);
         // "3. Compute point [r]B. For efficiency, do this by first reducing r modulo L, the group order of B. Let the
         //     string R be the encoding of this point."
-        final byte[] encodedPointR = P.multiply(r.mod(Q)).encode();
+        final Scalar r = Scalar.decode(digestR, 0, digestR.length);
+        final byte[] encodedPointR = new byte[ENCODED_LENGTH_BYTES];
+        multiplyByBaseTo(encodedPointR, r, scratch);
         // "4. Compute SHAKE256(dom4(F, C) || R || A || PH(M), 114), and interpret the 114-octet digest as a
         //     little-endian integer k."
-        final byte[] bufferK = concatenate(dom4(context), encodedPointR, encodedPointA, ph(message));
-        final BigInteger k = decodeLittleEndian(shake256(bufferK, 114));
+        final byte[] bufferK = concatenate(dom4(context), encodedPointR, key.encodedPublicKey, ph(message));
+        final byte[] digestK = shake256(bufferK, 114);
         // "5. Compute S = (r + k * s) mod L. For efficiency, again reduce k modulo L first."
-        final byte[] encodedPointS = encodeLittleEndian(r.add(k.mod(Q).multiply(s)).mod(Q));
+        final Scalar k = Scalar.decode(digestK, 0, digestK.length);
+        final Scalar scalarS = k.multiplyAdd(key.secret, r);
         // "6. Form the signature of the concatenation of R (57 octets) and the little-endian encoding of S (57 octets;
         //    the ten most significant bits of the final octets are always zero)."
-        // Given that the top ten most significant bits are always zero, add single byte to get to total of 114 bytes.
-        // TODO verify if adding zero-bytes is the appropriate way to fix this possible case
-        final int bytesMissing = SIGNATURE_LENGTH_BYTES - encodedPointR.length - encodedPointS.length;
-        final byte[] signature = concatenate(encodedPointR, encodedPointS, new byte[bytesMissing]);
-        assert signature.length == SIGNATURE_LENGTH_BYTES : "Generated signature is of unexpected size. This is a bug in the current code.";
+        final byte[] signature = new byte[SIGNATURE_LENGTH_BYTES];
+        System.arraycopy(encodedPointR, 0, signature, 0, ENCODED_LENGTH_BYTES);
+        scalarS.encode(signature, ENCODED_LENGTH_BYTES);
         // "7. Securely delete 'sym_key', 'sk', 'h', 'r' and 'k'."
-        clear(sbytes);
-        clear(h);
+        r.clear();
+        k.clear();
+        scalarS.clear();
         clear(bufferR);
+        clear(digestR);
         clear(bufferK);
-        clear(encodedPointA);
+        clear(digestK);
         clear(encodedPointR);
-        clear(encodedPointS);
         return signature;
     }
 
@@ -258,34 +314,146 @@ public final class Ed448 {
      */
     public static void verify(final byte[] context, final Point publicKey, final byte[] message, final byte[] signature)
         throws SignatureVerificationFailedException {
+        verify(context, publicKey, message, signature, Scratch.local());
+    }
+
+    /**
+     * Verify a signature for an arbitrary length message, using provided scratch space for point arithmetic.
+     *
+     * @param context   The context value, max 255 bytes.
+     * @param message   The message, arbitrary length.
+     * @param publicKey The public key that corresponds to the signature.
+     * @param signature The signature in bytes.
+     * @param scratch   The scratch space, for use by the current thread only.
+     */
+    public static void verify(final byte[] context, final Point publicKey, final byte[] message, final byte[] signature,
+            final Scratch scratch) throws SignatureVerificationFailedException {
+        verify(context, requireNonNull(publicKey), null, message, signature, scratch);
+    }
+
+    /**
+     * Verify a signature for an arbitrary length message, using cache for the decoded public key and its precomputed
+     * multiples. (See {@link PublicKeyCache}.)
+     *
+     * @param context   The context value, max 255 bytes.
+     * @param publicKey The encoded public key that corresponds to the signature.
+     * @param message   The message, arbitrary length.
+     * @param signature The signature in bytes.
+     * @param cache     The public key cache.
+     */
+    public static void verify(final byte[] context, final byte[] publicKey, final byte[] message,
+            final byte[] signature, final PublicKeyCache cache) throws SignatureVerificationFailedException {
+        verify(context, publicKey, message, signature, cache, Scratch.local());
+    }
+
+    /**
+     * Verify a signature for an arbitrary length message, using cache for the decoded public key and its precomputed
+     * multiples, and provided scratch space for point arithmetic.
+     *
+     * @param context   The context value, max 255 bytes.
+     * @param publicKey The encoded public key that corresponds to the signature.
+     * @param message   The message, arbitrary length.
+     * @param signature The signature in bytes.
+     * @param cache     The public key cache.
+     * @param scratch   The scratch space, for use by the current thread only.
+     */
+    public static void verify(final byte[] context, final byte[] publicKey, final byte[] message,
+            final byte[] signature, final PublicKeyCache cache, final Scratch scratch)
+            throws SignatureVerificationFailedException {
+        final PublicKeyCache.Entry entry;
+        try {
+            entry = cache.lookup(publicKey);
+        } catch (final Points.InvalidDataException e) {
+            throw new SignatureVerificationFailedException("Public key is invalid.", e);
+        }
+        verify(context, entry.point, entry.multiples, message, signature, scratch);
+    }
+
+    /**
+     * Verify a signature, with odd multiples of phi(A) for the width of {@link PublicKeyCache}, or null to compute
+     * multiples during verification.
+     */
+    private static void verify(final byte[] context, final Point publicKey, final NielsPoint[] multiples,
+            final byte[] message, final byte[] signature, final Scratch scratch)
+            throws SignatureVerificationFailedException {
         requireNonNull(message);
+        requireNonNull(scratch);
         requireLengthExactly(SIGNATURE_LENGTH_BYTES, signature);
         // "1. To verify a signature on a message M using context C and public key A, with F being 0 for Ed448 and 1 for
         //     Ed448ph, first split the signature into two 57-octet halves.  Decode the first half as a point R, and the
         //     second half as an integer S, in the range 0 <= s < L. Decode the public key A as point A'. If any of the
         //     decodings fail (including S being out of range), the signature is invalid."
+        final byte[] encodedR = copyOf(signature, 57);
         final Point r;
         try {
-            r = decode(copyOf(signature, 57));
+            r = decode(encodedR);
         } catch (final Points.InvalidDataException e) {
             throw new SignatureVerificationFailedException("Data for point R is invalid.", e);
         }
-        final BigInteger s = decodeLittleEndian(copyOfRange(signature, 57, 114));
-        if (ZERO.compareTo(s) > 0 || s.compareTo(Q) >= 0) {
-            throw new SignatureVerificationFailedException("Signature verification failed: scalar s is illegal.");
-        }
+        final Scalar s = decodeScalarS(signature);
         // "2. Compute SHAKE256(dom4(F, C) || R || A || PH(M), 114), and interpret the 114-octet digest as a
         //     little-endian integer k."
-        final byte[] digest = shake256(concatenate(dom4(context), r.encode(), publicKey.encode(), ph(message)), 114);
-        final BigInteger k = decodeLittleEndian(digest);
+        final Scalar k = challenge(context, encodedR, publicKey.encode(), message);
         // "3. Check the group equation [4][S]B = [4]R + [4][k]A'.  It's sufficient, but not required, to instead check
         //     [S]B = R + [k]A'."
-        final Point lhs = P.multiply(s);
-        final Point rhs = r.add(publicKey.multiply(k));
-        if (!lhs.equals(rhs)) {
+        // The cofactored equation is checked, such that results agree with batch verification. (See Ed448Batch.)
+        // [S]B - [k]A' is computed in scratch space in a single pass with shared doublings. As s and k are public, the
+        // faster variable-time multiplication is used. Then [4]([S]B - [k]A' - R) is compared to the identity.
+        final boolean equal;
+        try {
+            final MutablePoint lhs = scratch.p0;
+            final MutablePoint rhs = scratch.p1;
+            rhs.set(publicKey);
+            if (multiples == null) {
+                lhs.multiplyDoubleVariableTime(s, rhs, k, scratch);
+            } else {
+                lhs.multiplyDoubleVariableTime(s, rhs, multiples, PublicKeyCache.WIDTH, k, scratch);
+            }
+            rhs.set(r);
+            rhs.negate(scratch);
+            lhs.add(rhs, scratch);
+            lhs.doubling(scratch);
+            lhs.doubling(scratch);
+            equal = lhs.isIdentity(scratch);
+        } finally {
+            scratch.clear();
+        }
+        if (!equal) {
             throw new SignatureVerificationFailedException("Failed to verify components.");
         }
+    }
+
+    /**
+     * Decode the scalar S from the second half of the signature.
+     *
+     * @param signature The signature of 114 bytes.
+     * @return Returns the scalar s.
+     * @throws SignatureVerificationFailedException In case s is out of range, i.e. not smaller than q.
+     */
+    @Nonnull
+    static Scalar decodeScalarS(final byte[] signature) throws SignatureVerificationFailedException {
+        if (!Scalar.isCanonical(signature, ENCODED_LENGTH_BYTES)) {
+            throw new SignatureVerificationFailedException("Signature verification failed: scalar s is illegal.");
+        }
+        return Scalar.decode(signature, ENCODED_LENGTH_BYTES, Scalar.ENCODED_LENGTH_BYTES);
+    }
+
+    /**
+     * Compute the challenge k = SHAKE256(dom4(F, C) || R || A || PH(M), 114) as little-endian integer, for F = 0.
+     *
+     * @param context  The context value, max 255 bytes.
+     * @param encodedR The encoded point R.
+     * @param encodedA The encoded public key A.
+     * @param message  The message.
+     * @return Returns k (mod q).
+     */
+    @Nonnull
+    static Scalar challenge(final byte[] context, final byte[] encodedR, final byte[] encodedA,
+            final byte[] message) {
+        final byte[] digest = shake256(concatenate(dom4(context), encodedR, encodedA, ph(message)), 114);
+        final Scalar k = Scalar.decode(digest, 0, digest.length);
         clear(digest);
+        return k;
     }
 
     @Nonnull
@@ -318,7 +486,38 @@ public final class Ed448 {
      */
     @Nonnull
     public static Point multiplyByBase(final BigInteger scalar) {
-        return P.multiply(scalar);
+        return multiplyByBase(scalar, Scratch.local());
+    }
+
+    /**
+     * Multiply scalar (e.g. secret key) by base, using provided scratch space for intermediate values.
+     *
+     * @param scalar  The scalar value, e.g. secret key.
+     * @param scratch The scratch space, for use by the current thread only.
+     * @return Returns a point that is the result of the multiplication with the base.
+     */
+    @Nonnull
+    public static Point multiplyByBase(final BigInteger scalar, final Scratch scratch) {
+        requireNonNull(scalar);
+        try {
+            scratch.p0.multiplyByBase(scalar, scratch);
+            return scratch.p0.toPoint();
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Multiply scalar by base and write the encoded result to the destination. No memory is allocated, as the point is
+     * never converted to an immutable point.
+     */
+    private static void multiplyByBaseTo(final byte[] dst, final Scalar scalar, final Scratch scratch) {
+        try {
+            scratch.p0.multiplyByBase(scalar, scratch);
+            scratch.p0.encodeTo(dst, 0, scratch);
+        } finally {
+            scratch.clear();
+        }
     }
 
     /**
@@ -328,6 +527,8 @@ public final class Ed448 {
      */
     public static final class SignatureVerificationFailedException extends Exception {
 
+        private static final long serialVersionUID = 1L;
+
         private SignatureVerificationFailedException(final String message) {
             super(message);
         }
@@ -0,0 +1,210 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static nl.dannyvanheumen.joldilocks.Ed448.SIGNATURE_LENGTH_BYTES;
+import static org.bouncycastle.util.Arrays.copyOf;
+
+/**
+ * Ed448Batch verifies many Ed448 signatures at once.
+ * <p>
+ * Instead of checking every verification equation [4][S_i]B = [4]R_i + [4][k_i]A_i separately, a random linear
+ * combination of all equations is checked with a single multi-scalar multiplication (see
+ * {@link Points#multiScalarMultiply(BigInteger[], Point[])}):
+ * <pre>
+ * [4]([sum z_i * S_i]B - sum [z_i]R_i - sum [z_i * k_i]A_i) = identity
+ * </pre>
+ * with z_i independent random 128-bit values. If all signatures are valid, the equation holds. If any signature is
+ * invalid, the equation fails except with probability at most 2^-128. In case the equation fails, the batch is split in
+ * halves which are checked recursively, to identify the invalid signatures.
+ * <p>
+ * The cofactored equation is used, the same as {@link Ed448#verify(byte[], Point, byte[], byte[])}, therefore batch
+ * verification and single verification give the same results for every signature. (With the cofactorless equation,
+ * results could depend on the random values, for signatures with components of small order.)
+ * <p>
+ * Signatures are added with {@link #add(byte[], Point, byte[], byte[])}, which decodes R and S and computes the
+ * challenge k, such that the message need not be retained. The batch is verified with {@link #verify()}, which
+ * reports the result for every signature in order of addition. Instances are not thread-safe.
+ */
+public final class Ed448Batch {
+
+    private static final int RANDOMIZER_BITS = 128;
+
+    private final SecureRandom random;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Create new, empty batch.
+     *
+     * @param random Secure random instance, for the random coefficients of the linear combination.
+     */
+    public Ed448Batch(final SecureRandom random) {
+        this.random = requireNonNull(random);
+    }
+
+    /**
+     * Add signature to the batch.
+     * <p>
+     * Signatures for which R or S cannot be decoded are added as invalid.
+     *
+     * @param context   The context value, max 255 bytes.
+     * @param publicKey The public key that corresponds to the signature.
+     * @param message   The message, arbitrary length.
+     * @param signature The signature in bytes.
+     * @return Returns the index of the signature in the results of {@link #verify()}.
+     * @throws IllegalArgumentException In case the context or signature has invalid length.
+     */
+    public int add(final byte[] context, final Point publicKey, final byte[] message, final byte[] signature) {
+        requireNonNull(context);
+        requireNonNull(publicKey);
+        requireNonNull(message);
+        requireLengthExactly(SIGNATURE_LENGTH_BYTES, signature);
+        final byte[] encodedR = copyOf(signature, 57);
+        Entry entry;
+        try {
+            final Point r = Points.decode(encodedR);
+            final Scalar s = Ed448.decodeScalarS(signature);
+            final Scalar k = Ed448.challenge(context, encodedR, publicKey.encode(), message);
+            entry = new Entry(publicKey, r, s, k);
+        } catch (final Points.InvalidDataException | Ed448.SignatureVerificationFailedException e) {
+            entry = null;
+        }
+        this.entries.add(entry);
+        return this.entries.size() - 1;
+    }
+
+    /**
+     * The number of signatures in the batch.
+     *
+     * @return Returns the number of signatures.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Verify all signatures in the batch.
+     *
+     * @return Returns the result for every signature, in order of addition: true iff the signature is valid.
+     */
+    @Nonnull
+    public boolean[] verify() {
+        return verify(Scratch.local());
+    }
+
+    /**
+     * Verify all signatures in the batch, using provided scratch space for point arithmetic.
+     *
+     * @param scratch The scratch space, for use by the current thread only.
+     * @return Returns the result for every signature, in order of addition: true iff the signature is valid.
+     */
+    @Nonnull
+    public boolean[] verify(final Scratch scratch) {
+        requireNonNull(scratch);
+        final boolean[] results = new boolean[this.entries.size()];
+        final List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < this.entries.size(); i++) {
+            if (this.entries.get(i) != null) {
+                candidates.add(i);
+            }
+        }
+        final MutablePoint result = new MutablePoint();
+        try {
+            verify(candidates, results, result, scratch);
+        } finally {
+            scratch.clear();
+        }
+        return results;
+    }
+
+    /**
+     * Verify candidates, and recursively verify halves in case the combined equation does not hold.
+     */
+    private void verify(final List<Integer> candidates, final boolean[] results, final MutablePoint result,
+            final Scratch scratch) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        if (holds(candidates, result, scratch)) {
+            for (final int index : candidates) {
+                results[index] = true;
+            }
+            return;
+        }
+        if (candidates.size() == 1) {
+            return;
+        }
+        final int half = candidates.size() / 2;
+        verify(candidates.subList(0, half), results, result, scratch);
+        verify(candidates.subList(half, candidates.size()), results, result, scratch);
+    }
+
+    /**
+     * Check the random linear combination of the verification equations of the candidates. For a single candidate,
+     * the equation holds iff the signature is valid, as z is non-zero modulo q.
+     */
+    private boolean holds(final List<Integer> candidates, final MutablePoint result, final Scratch scratch) {
+        final int n = candidates.size();
+        final BigInteger[] scalars = new BigInteger[2 * n + 1];
+        final Point[] points = new Point[2 * n + 1];
+        Scalar baseScalar = Scalar.ZERO;
+        for (int i = 0; i < n; i++) {
+            final Entry entry = this.entries.get(candidates.get(i));
+            final Scalar z = randomizer();
+            baseScalar = z.multiplyAdd(entry.s, baseScalar);
+            // Every scalar is multiplied by 4 for the cofactored equation. As all scalars are then multiples of 4,
+            // no correction for points outside the prime-order subgroup is needed. (See MultiScalar.)
+            scalars[2 * i] = z.negate().toBigInteger().shiftLeft(2);
+            points[2 * i] = entry.r;
+            scalars[2 * i + 1] = z.multiply(entry.k).negate().toBigInteger().shiftLeft(2);
+            points[2 * i + 1] = entry.publicKey;
+        }
+        scalars[2 * n] = baseScalar.toBigInteger().shiftLeft(2);
+        points[2 * n] = P;
+        MultiScalar.multiply(result, scalars, points, scratch);
+        return result.isIdentity(scratch);
+    }
+
+    /**
+     * Random non-zero coefficient of 128 bits.
+     */
+    @Nonnull
+    private Scalar randomizer() {
+        final byte[] bytes = new byte[RANDOMIZER_BITS / 8];
+        Scalar z;
+        do {
+            this.random.nextBytes(bytes);
+            z = Scalar.decode(bytes, 0, bytes.length);
+        } while (z.isZero());
+        return z;
+    }
+
+    /**
+     * Decoded signature: public key A, point R, scalar S and challenge k (mod q).
+     */
+    private static final class Entry {
+
+        private final Point publicKey;
+
+        private final Point r;
+
+        private final Scalar s;
+
+        private final Scalar k;
+
+        private Entry(final Point publicKey, final Point r, final Scalar s, final Scalar k) {
+            this.publicKey = publicKey;
+            this.r = r;
+            this.s = s;
+            this.k = k;
+        }
+    }
+}
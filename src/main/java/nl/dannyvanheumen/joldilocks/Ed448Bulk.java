@@ -0,0 +1,158 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthAtMost;
+import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
+import static nl.dannyvanheumen.joldilocks.Ed448.CONTEXT_MAX_LENGTH_BYTES;
+import static nl.dannyvanheumen.joldilocks.Ed448.SIGNATURE_LENGTH_BYTES;
+
+/**
+ * Ed448Bulk verifies many independent Ed448 signatures in parallel, e.g. for re-verification of archived signatures.
+ * <p>
+ * The list of jobs is split recursively in ranges, which are verified as tasks in a {@link ForkJoinPool}. Every
+ * signature is verified with {@link Ed448#verify(byte[], Point, byte[], byte[], Scratch)}, in the scratch space of
+ * the worker thread. Tasks share no mutable state, apart from the result array in which every task writes its own
+ * range, therefore throughput scales with the number of workers.
+ * <p>
+ * Results are returned as a bitmap: bit i is set iff the signature of job i is valid. In contrast to
+ * {@link Ed448Batch}, every signature is verified individually, so the cost does not increase when many signatures
+ * are invalid.
+ */
+public final class Ed448Bulk {
+
+    /**
+     * Number of tasks per worker thread, such that work is balanced if some tasks take longer than others.
+     */
+    private static final int TASKS_PER_WORKER = 8;
+
+    private Ed448Bulk() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * Verify all jobs in parallel, using the common fork/join pool.
+     *
+     * @param jobs The verification jobs.
+     * @return Returns the bitmap of results, with bit i set iff the signature of job i is valid.
+     */
+    @Nonnull
+    public static BitSet verify(final List<Job> jobs) {
+        return verify(jobs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verify all jobs in parallel, using provided fork/join pool.
+     *
+     * @param jobs The verification jobs.
+     * @param pool The fork/join pool that executes the verifications.
+     * @return Returns the bitmap of results, with bit i set iff the signature of job i is valid.
+     */
+    @Nonnull
+    public static BitSet verify(final List<Job> jobs, final ForkJoinPool pool) {
+        requireNonNull(pool);
+        final Job[] array = jobs.toArray(new Job[0]);
+        for (final Job job : array) {
+            requireNonNull(job);
+        }
+        final boolean[] valid = new boolean[array.length];
+        final int grain = Math.max(1, array.length / (pool.getParallelism() * TASKS_PER_WORKER));
+        pool.invoke(new VerifyTask(array, valid, 0, array.length, grain));
+        final BitSet results = new BitSet(array.length);
+        for (int i = 0; i < valid.length; i++) {
+            if (valid[i]) {
+                results.set(i);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Verification of jobs in range [from, to), split in halves until at most grain jobs remain.
+     */
+    private static final class VerifyTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Job[] jobs;
+
+        private final boolean[] valid;
+
+        private final int from;
+
+        private final int to;
+
+        private final int grain;
+
+        private VerifyTask(final Job[] jobs, final boolean[] valid, final int from, final int to, final int grain) {
+            this.jobs = jobs;
+            this.valid = valid;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.grain) {
+                final Scratch scratch = Scratch.local();
+                for (int i = this.from; i < this.to; i++) {
+                    this.valid[i] = this.jobs[i].verify(scratch);
+                }
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new VerifyTask(this.jobs, this.valid, this.from, middle, this.grain),
+                new VerifyTask(this.jobs, this.valid, middle, this.to, this.grain));
+        }
+    }
+
+    /**
+     * Job for the verification of a single signature.
+     * <p>
+     * The arrays are not copied. They must not be modified until verification is finished.
+     */
+    public static final class Job {
+
+        private final byte[] context;
+
+        private final Point publicKey;
+
+        private final byte[] message;
+
+        private final byte[] signature;
+
+        /**
+         * Create new verification job.
+         *
+         * @param context   The context value, max 255 bytes.
+         * @param publicKey The public key that corresponds to the signature.
+         * @param message   The message, arbitrary length.
+         * @param signature The signature in bytes.
+         * @throws IllegalArgumentException In case the context or signature has invalid length.
+         */
+        public Job(final byte[] context, final Point publicKey, final byte[] message, final byte[] signature) {
+            this.context = requireLengthAtMost(CONTEXT_MAX_LENGTH_BYTES, context);
+            this.publicKey = requireNonNull(publicKey);
+            this.message = requireNonNull(message);
+            this.signature = requireLengthExactly(SIGNATURE_LENGTH_BYTES, signature);
+        }
+
+        /**
+         * Verify the signature.
+         */
+        private boolean verify(final Scratch scratch) {
+            try {
+                Ed448.verify(this.context, this.publicKey, this.message, this.signature, scratch);
+                return true;
+            } catch (final Ed448.SignatureVerificationFailedException e) {
+                return false;
+            }
+        }
+    }
+}
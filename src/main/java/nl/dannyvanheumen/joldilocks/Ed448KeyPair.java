@@ -2,33 +2,41 @@ package nl.dannyvanheumen.joldilocks;
 
 import javax.annotation.Nonnull;
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import static java.util.Objects.requireNonNull;
 import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
 import static nl.dannyvanheumen.joldilocks.Ed448.SYMMETRIC_KEY_LENGTH_BYTES;
-import static nl.dannyvanheumen.joldilocks.Ed448.generateSecretScalar;
-import static nl.dannyvanheumen.joldilocks.Ed448.multiplyByBase;
 
 /**
  * Ed448 key pair based on EdDSA.
+ * <p>
+ * The key pair holds the expanded signing key, i.e. the secret scalar, the prefix and the encoded public key are
+ * derived once on creation. Signing performs a single multiplication with the base point per signature.
+ * <p>
+ * Use {@link #clear()} to zeroize the secret values when the key pair is no longer needed.
  */
 public final class Ed448KeyPair {
 
     private final byte[] symmetricKey;
+    private final Ed448SigningKey signingKey;
     private final BigInteger secretKey;
-    private final Point publicKey;
+    private volatile boolean cleared;
 
-    private Ed448KeyPair(final byte[] symmetricKey, final BigInteger secretKey, final Point publicKey) {
+    private Ed448KeyPair(final byte[] symmetricKey, final Ed448SigningKey signingKey, final BigInteger secretKey) {
         this.symmetricKey = requireLengthExactly(SYMMETRIC_KEY_LENGTH_BYTES, symmetricKey);
+        this.signingKey = requireNonNull(signingKey);
         this.secretKey = requireNonNull(secretKey);
-        this.publicKey = requireNonNull(publicKey);
     }
 
     @Nonnull
     public static Ed448KeyPair create(final byte[] symmetricKey) {
-        final BigInteger secretKey = generateSecretScalar(symmetricKey);
-        final Point publicKey = multiplyByBase(secretKey);
-        return new Ed448KeyPair(symmetricKey, secretKey, publicKey);
+        final byte[] h = Ed448.hashSymmetricKey(symmetricKey);
+        try {
+            return new Ed448KeyPair(symmetricKey, Ed448SigningKey.expand(h, Scratch.local()), Ed448.secretScalar(h));
+        } finally {
+            Arrays.fill(h, (byte) 0);
+        }
     }
 
     @Nonnull
@@ -43,11 +51,27 @@ public final class Ed448KeyPair {
 
     @Nonnull
     public Point getPublicKey() {
-        return publicKey;
+        return signingKey.publicKey;
     }
 
     @Nonnull
     public byte[] sign(final byte[] context, final byte[] message) {
-        return Ed448.sign(this.symmetricKey, context, message);
+        if (this.cleared) {
+            throw new IllegalStateException("Key pair is cleared.");
+        }
+        return Ed448.sign(this.signingKey, context, message, Scratch.local());
+    }
+
+    /**
+     * Zeroize the secret values of the key pair: the symmetric key, i.e. the array provided on creation, and the
+     * secret scalar and prefix used for signing. The key pair cannot be used for signing afterwards. The public key
+     * remains available.
+     * <p>
+     * NOTE: the BigInteger returned by {@link #getSecretKey()} is immutable, therefore it cannot be cleared.
+     */
+    public void clear() {
+        this.cleared = true;
+        Arrays.fill(this.symmetricKey, (byte) 0);
+        this.signingKey.clear();
     }
 }
@@ -0,0 +1,106 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
+import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
+import static nl.dannyvanheumen.joldilocks.Scalars.prune;
+import static org.bouncycastle.util.Arrays.copyOf;
+import static org.bouncycastle.util.Arrays.copyOfRange;
+
+/**
+ * Ed448SigningKey is the expanded form of a symmetric key, i.e. the values that signing derives from the symmetric
+ * key before anything is signed. (See {@link Ed448#sign(Ed448SigningKey, byte[], byte[], Scratch)}.)
+ * <p>
+ * The secret scalar s, the prefix and the public key A are derived once, on creation. Signing with an expanded key
+ * therefore skips hashing of the symmetric key and the multiplication [s]B, leaving only the multiplication [r]B per
+ * signature.
+ * <p>
+ * The signing key holds secret values. {@link #clear()} zeroizes the secret scalar and the prefix when the key is no
+ * longer needed. A cleared key must not be used for signing.
+ */
+final class Ed448SigningKey {
+
+    /**
+     * The secret scalar s.
+     */
+    final Scalar secret;
+
+    /**
+     * The prefix, i.e. the second half of the digest of the symmetric key.
+     */
+    final byte[] prefix;
+
+    /**
+     * The public key A.
+     */
+    final Point publicKey;
+
+    /**
+     * The encoded public key A.
+     */
+    final byte[] encodedPublicKey;
+
+    private Ed448SigningKey(final Scalar secret, final byte[] prefix, final Point publicKey) {
+        this.secret = requireNonNull(secret);
+        this.prefix = requireNonNull(prefix);
+        this.publicKey = requireNonNull(publicKey);
+        this.encodedPublicKey = publicKey.encode();
+    }
+
+    /**
+     * Expand symmetric key into signing key.
+     *
+     * @param symmetricKey The symmetric key, 57 bytes.
+     * @param scratch      The scratch space, for use by the current thread only.
+     * @return Returns the signing key.
+     */
+    @Nonnull
+    static Ed448SigningKey create(final byte[] symmetricKey, final Scratch scratch) {
+        requireNonNull(scratch);
+        final byte[] h = Ed448.hashSymmetricKey(symmetricKey);
+        try {
+            return expand(h, scratch);
+        } finally {
+            Arrays.fill(h, (byte) 0);
+        }
+    }
+
+    /**
+     * Expand the digest of a symmetric key into signing key. (See {@link Ed448#hashSymmetricKey(byte[])}.)
+     *
+     * @param h       The digest of the symmetric key, 114 bytes. It is not modified.
+     * @param scratch The scratch space, for use by the current thread only.
+     * @return Returns the signing key.
+     */
+    @Nonnull
+    static Ed448SigningKey expand(final byte[] h, final Scratch scratch) {
+        requireNonNull(scratch);
+        // "1. Hash the private key, 57 octets, using SHAKE256(x, 114).  Let h denote the resulting digest. Construct the
+        //     secret scalar s from the first half of the digest, and the corresponding public key A, as described in the
+        //     previous section.  Let prefix denote the second half of the hash digest, h[57],...,h[113]."
+        final byte[] sbytes = copyOf(requireLengthExactly(2 * ENCODED_LENGTH_BYTES, h), ENCODED_LENGTH_BYTES);
+        final byte[] prefix = copyOfRange(h, ENCODED_LENGTH_BYTES, 2 * ENCODED_LENGTH_BYTES);
+        prune(sbytes);
+        final Scalar secret = Scalar.decode(sbytes, 0, sbytes.length);
+        Arrays.fill(sbytes, (byte) 0);
+        final Point publicKey;
+        try {
+            scratch.p0.multiplyByBase(secret, scratch);
+            publicKey = scratch.p0.toPoint();
+        } finally {
+            scratch.clear();
+        }
+        return new Ed448SigningKey(secret, prefix, publicKey);
+    }
+
+    /**
+     * Zeroize the secret values of the signing key.
+     */
+    void clear() {
+        this.secret.clear();
+        Arrays.fill(this.prefix, (byte) 0);
+    }
+}
@@ -0,0 +1,208 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.Ed448.D_ELEMENT;
+import static nl.dannyvanheumen.joldilocks.FieldElement.ONE;
+import static nl.dannyvanheumen.joldilocks.FieldElement.ZERO;
+
+/**
+ * ExtendedPoint represents an Edwards point in extended homogeneous coordinates (X:Y:Z:T), with x = X/Z, y = Y/Z and
+ * x*y = T/Z.
+ * <p>
+ * Addition and doubling do not require inversion. The formulas are "add-2008-hwcd" and "dbl-2008-hwcd" from the
+ * Explicit-Formulas Database, with a = 1. As d is not a square, both are complete: they are correct for any pair of
+ * points, including the identity and doubling by addition. The affine coordinates are computed on first request and
+ * then retained, such that repeated access (e.g. encoding) costs only a single inversion. Use
+ * {@link Points#toAffineAll(Point[])} to convert many points at the cost of a single inversion.
+ * <p>
+ * Identity checks and equality do not need affine coordinates: coordinates are compared by cross-multiplication with
+ * the Z-coordinates. Only {@link #hashCode()} requires the affine representation.
+ */
+final class ExtendedPoint implements Point {
+
+    /**
+     * The identity point (0:1:1:0).
+     */
+    static final ExtendedPoint IDENTITY = new ExtendedPoint(ZERO, ONE, ONE, ZERO);
+
+    private final FieldElement x;
+    private final FieldElement y;
+    private final FieldElement z;
+    private final FieldElement t;
+
+    private AffinePoint affine;
+
+    ExtendedPoint(final FieldElement x, final FieldElement y, final FieldElement z, final FieldElement t) {
+        this.x = requireNonNull(x);
+        this.y = requireNonNull(y);
+        this.z = requireNonNull(z);
+        this.t = requireNonNull(t);
+    }
+
+    /**
+     * Convert arbitrary point to extended representation.
+     *
+     * @param p The point.
+     * @return Returns point in extended representation.
+     */
+    @Nonnull
+    static ExtendedPoint fromPoint(final Point p) {
+        if (p instanceof ExtendedPoint) {
+            return (ExtendedPoint) p;
+        }
+        final AffinePoint affine = Points.toAffine(p);
+        final ExtendedPoint result = new ExtendedPoint(affine.xElement(), affine.yElement(), ONE,
+            affine.xElement().multiply(affine.yElement()));
+        result.affine = affine;
+        return result;
+    }
+
+    @Nonnull
+    @Override
+    public BigInteger x() {
+        return toAffine().x();
+    }
+
+    @Nonnull
+    @Override
+    public BigInteger y() {
+        return toAffine().y();
+    }
+
+    @Nonnull
+    FieldElement xElement() {
+        return this.x;
+    }
+
+    @Nonnull
+    FieldElement yElement() {
+        return this.y;
+    }
+
+    @Nonnull
+    FieldElement zElement() {
+        return this.z;
+    }
+
+    @Nonnull
+    FieldElement tElement() {
+        return this.t;
+    }
+
+    /**
+     * Convert to affine representation. The result is retained for later use.
+     *
+     * @return Returns the affine representation.
+     */
+    @Nonnull
+    AffinePoint toAffine() {
+        if (this.affine == null) {
+            this.affine = toAffine(this.z.invert());
+        }
+        return this.affine;
+    }
+
+    /**
+     * Convert to affine representation using a precomputed inverse of Z. The result is retained for later use.
+     *
+     * @param zInverse The inverse of Z.
+     * @return Returns the affine representation.
+     */
+    @Nonnull
+    AffinePoint toAffine(final FieldElement zInverse) {
+        if (this.affine == null) {
+            this.affine = new AffinePoint(this.x.multiply(zInverse), this.y.multiply(zInverse));
+        }
+        return this.affine;
+    }
+
+    /**
+     * Test whether the affine representation is already available.
+     *
+     * @return Returns true iff no inversion is needed to acquire affine coordinates.
+     */
+    boolean isNormalized() {
+        return this.affine != null;
+    }
+
+    @Nonnull
+    @Override
+    public ExtendedPoint negate() {
+        return new ExtendedPoint(this.x.negate(), this.y, this.z, this.t.negate());
+    }
+
+    @Nonnull
+    @Override
+    public ExtendedPoint add(final Point p) {
+        final ExtendedPoint other = fromPoint(p);
+        // A = X1*X2, B = Y1*Y2, C = d*T1*T2, D = Z1*Z2, E = (X1+Y1)*(X2+Y2)-A-B, F = D-C, G = D+C, H = B-A,
+        // X3 = E*F, Y3 = G*H, T3 = E*H, Z3 = F*G
+        final FieldElement a = this.x.multiply(other.x);
+        final FieldElement b = this.y.multiply(other.y);
+        final FieldElement c = D_ELEMENT.multiply(this.t.multiply(other.t));
+        final FieldElement d = this.z.multiply(other.z);
+        final FieldElement e = this.x.add(this.y).multiply(other.x.add(other.y)).subtract(a).subtract(b);
+        final FieldElement f = d.subtract(c);
+        final FieldElement g = d.add(c);
+        final FieldElement h = b.subtract(a);
+        return new ExtendedPoint(e.multiply(f), g.multiply(h), f.multiply(g), e.multiply(h));
+    }
+
+    @Nonnull
+    @Override
+    public ExtendedPoint doubling() {
+        // A = X1^2, B = Y1^2, C = 2*Z1^2, E = (X1+Y1)^2-A-B, G = A+B, F = G-C, H = A-B,
+        // X3 = E*F, Y3 = G*H, T3 = E*H, Z3 = F*G
+        final FieldElement a = this.x.square();
+        final FieldElement b = this.y.square();
+        final FieldElement zz = this.z.square();
+        final FieldElement c = zz.add(zz);
+        final FieldElement e = this.x.add(this.y).square().subtract(a).subtract(b);
+        final FieldElement g = a.add(b);
+        final FieldElement f = g.subtract(c);
+        final FieldElement h = a.subtract(b);
+        return new ExtendedPoint(e.multiply(f), g.multiply(h), f.multiply(g), e.multiply(h));
+    }
+
+    @Override
+    public void encodeTo(@Nonnull final byte[] dst, final int offset) {
+        toAffine().encodeTo(dst, offset);
+    }
+
+    @Override
+    public boolean isIdentity() {
+        // x = X/Z = 0 and y = Y/Z = 1, with Z never zero.
+        return this.x.isZero() && this.y.equals(this.z);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        // x1 = x2 iff X1*Z2 = X2*Z1, and similarly for y.
+        if (o instanceof AffinePoint) {
+            final AffinePoint that = (AffinePoint) o;
+            return this.x.equals(that.xElement().multiply(this.z)) && this.y.equals(that.yElement().multiply(this.z));
+        }
+        if (!(o instanceof ExtendedPoint)) {
+            return false;
+        }
+        final ExtendedPoint that = (ExtendedPoint) o;
+        return this.x.multiply(that.z).equals(that.x.multiply(this.z))
+            && this.y.multiply(that.z).equals(that.y.multiply(this.z));
+    }
+
+    @Override
+    public int hashCode() {
+        return toAffine().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toAffine().toString();
+    }
+}
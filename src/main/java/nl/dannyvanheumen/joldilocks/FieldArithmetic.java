@@ -0,0 +1,53 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+
+/**
+ * FieldArithmetic implements multiplication and squaring of field elements in limb representation.
+ * <p>
+ * Multiplication and squaring are by far the most expensive operations of point arithmetic. Implementations may
+ * therefore be optimized for specific platforms. This interface is the service provider interface for such
+ * implementations: additional implementations are discovered using {@link java.util.ServiceLoader}. (See
+ * {@link FieldArithmetics} for the selection procedure.)
+ * <p>
+ * All implementations operate on the same representation: an element of GF(2^448 - 2^224 - 1) is stored as 16 limbs
+ * of 28 bits in a long[16], least significant limb first. Operands are weakly reduced: limbs are non-negative and may
+ * exceed 28 bits by a few bits. Results must be weakly reduced such that no limb exceeds 29 bits. Implementations must
+ * be stateless and thread-safe, and should not allocate memory.
+ */
+public interface FieldArithmetic {
+
+    /**
+     * The name of the implementation, by which it can be selected explicitly.
+     *
+     * @return Returns the name.
+     */
+    @Nonnull
+    String name();
+
+    /**
+     * The priority of the implementation during automatic selection. Implementations with higher priority are
+     * preferred. The portable implementation has priority 0. Implementations with negative priority are only used if
+     * selected explicitly.
+     *
+     * @return Returns the priority.
+     */
+    int priority();
+
+    /**
+     * Multiply x and y. The destination z must not be the same array as either x or y.
+     *
+     * @param z The destination.
+     * @param x The first operand.
+     * @param y The second operand.
+     */
+    void multiply(long[] z, long[] x, long[] y);
+
+    /**
+     * Square x. The destination z must not be the same array as x.
+     *
+     * @param z The destination.
+     * @param x The operand.
+     */
+    void square(long[] z, long[] x);
+}
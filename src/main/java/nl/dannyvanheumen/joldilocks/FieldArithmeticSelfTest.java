@@ -0,0 +1,150 @@
+package nl.dannyvanheumen.joldilocks;
+
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMB_BITS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMB_MASK;
+
+/**
+ * Known-answer self-test of a {@link FieldArithmetic} implementation, performed before the implementation is activated.
+ * <p>
+ * The test multiplies and squares a few fixed operands with the candidate implementation, and compares the results
+ * (mod p) with fixed expected values. The operands cover the edge cases of limb arithmetic: all limbs at their maximum
+ * (2^448 - 1), weakly reduced limbs that exceed 28 bits, as produced by addition, and the coordinates of the base
+ * point and curve constant d as arbitrary values. Results must be weakly reduced, such that they are valid input for
+ * the other field operations. The expected values are independent of any of the implementations, therefore the
+ * reference implementation {@link BigIntegerFieldArithmetic} is tested in the same way.
+ * <p>
+ * The test is cheap (a dozen multiplications), as it is performed during class initialization, i.e. before the first
+ * field operation. The derivation of the RFC 8032 test vector public keys with each implementation is part of the unit
+ * tests.
+ */
+final class FieldArithmeticSelfTest {
+
+    /**
+     * The x-coordinate of the Ed448 base point.
+     */
+    private static final long[] X = new long[]{0x70cc05e, 0x26a82bc, 0x0938e26, 0x80e18b0, 0x511433b, 0xf72ab66,
+        0x412ae1a, 0xa3d3a46, 0xa6de324, 0x0f1767e, 0x4657047, 0x36da9e1, 0x5a622bf, 0xed221d1, 0x66bed0d, 0x4f1970c};
+
+    /**
+     * The y-coordinate of the Ed448 base point.
+     */
+    private static final long[] Y = new long[]{0x230fa14, 0x08795bf, 0x7c8ad98, 0x132c4ed, 0x9c4fdbd, 0x1ce67c3,
+        0x73ad3ff, 0x05a0c2d, 0x7789c1e, 0xa398408, 0xa73736c, 0xc7624be, 0x03756c9, 0x2488762, 0x16eb6bc, 0x693f467};
+
+    /**
+     * The curve constant d = -39081.
+     */
+    private static final long[] D = new long[]{0xfff6756, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff,
+        0xfffffff, 0xfffffff, 0xffffffe, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff};
+
+    /**
+     * (2^448 - 1)^2 = 2^224 + 1 (mod p).
+     */
+    private static final long[] ONES_SQUARED = new long[]{1, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0};
+
+    /**
+     * (2 * (2^448 - 1))^2 = 4 * 2^224 + 4 (mod p).
+     */
+    private static final long[] WEAK_SQUARED = new long[]{4, 0, 0, 0, 0, 0, 0, 0, 4, 0, 0, 0, 0, 0, 0, 0};
+
+    /**
+     * x^2 (mod p).
+     */
+    private static final long[] X_SQUARED = new long[]{0x699e1d3, 0xcc59552, 0x244fc48, 0x7f61ff1, 0x3db114a,
+        0x8b04d57, 0x09dd787, 0x43e4cd4, 0x1f525ef, 0xe2fb835, 0x60bef2e, 0x6f723cd, 0xb1c8cdd, 0x7d27917, 0x3d62ed4,
+        0xb0d7aff};
+
+    /**
+     * y^2 (mod p).
+     */
+    private static final long[] Y_SQUARED = new long[]{0x1016922, 0xfdbea9c, 0xb58ed6b, 0x7ce9fb5, 0x3475674,
+        0xb7182b4, 0x31535a5, 0x5378024, 0x9c9bdaf, 0x6ee9909, 0xe3babea, 0x2d3b302, 0x78ec053, 0x71c5d76, 0x32eea26,
+        0x74366fc};
+
+    /**
+     * d^2 = 39081^2 (mod p).
+     */
+    private static final long[] D_SQUARED = new long[]{0xb091f91, 5, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+
+    /**
+     * x * y (mod p).
+     */
+    private static final long[] X_Y = new long[]{0x2af95f3, 0x06624e8, 0x62d1deb, 0xa07d856, 0xda1f78f, 0x90b5b27,
+        0x8f179de, 0xe2356d5, 0x0d71667, 0x8451d26, 0x56a183f, 0x91c9c50, 0xd2d508d, 0x6ccec39, 0xaee221c, 0xc75eb58};
+
+    /**
+     * d * (2^448 - 1) = -d * 2^224 (mod p).
+     */
+    private static final long[] D_ONES = new long[]{0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff,
+        0xfffffff, 0xfffffff, 0xfff6755, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff, 0xfffffff};
+
+    /**
+     * 2 * (2^448 - 1) * x (mod p).
+     */
+    private static final long[] WEAK_X = new long[]{0x4dbc649, 0x1e2ecfd, 0x8cae08e, 0x6db53c2, 0xb4c457e, 0xda443a2,
+        0xcd7da1b, 0x9e32e18, 0x2f54705, 0x6b7f276, 0x9f1fcda, 0x6f78522, 0x56ecbf5, 0xc899a6f, 0x4fd3651, 0xe5da2a5};
+
+    private FieldArithmeticSelfTest() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * Run the self-test.
+     *
+     * @param candidate The field arithmetic implementation.
+     * @return Returns true iff every result is weakly reduced and equal (mod p) to the expected result.
+     */
+    static boolean passes(final FieldArithmetic candidate) {
+        try {
+            final long[] ones = new long[LIMBS];
+            for (int i = 0; i < LIMBS; i++) {
+                ones[i] = LIMB_MASK;
+            }
+            final long[] weak = new long[LIMBS];
+            FieldElement.add(weak, ones, ones);
+            // Every entry is {a, b, a * b mod p}. Squares are tested with both square and multiply.
+            final long[][][] cases = {
+                {ones, ones, ONES_SQUARED},
+                {weak, weak, WEAK_SQUARED},
+                {X, X, X_SQUARED},
+                {Y, Y, Y_SQUARED},
+                {D, D, D_SQUARED},
+                {X, Y, X_Y},
+                {D, ones, D_ONES},
+                {weak, X, WEAK_X},
+            };
+            final long[] actual = new long[LIMBS];
+            final long[] t0 = new long[LIMBS];
+            final long[] t1 = new long[LIMBS];
+            for (final long[][] c : cases) {
+                candidate.multiply(actual, c[0], c[1]);
+                if (!matches(c[2], actual, t0, t1)) {
+                    return false;
+                }
+                if (c[0] == c[1]) {
+                    candidate.square(actual, c[0]);
+                    if (!matches(c[2], actual, t0, t1)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (final RuntimeException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Test whether actual result is weakly reduced, i.e. every limb is non-negative and fits in 29 bits, and equal to
+     * the expected result (mod p).
+     */
+    private static boolean matches(final long[] expected, final long[] actual, final long[] t0, final long[] t1) {
+        for (int i = 0; i < LIMBS; i++) {
+            if (actual[i] >>> (LIMB_BITS + 1) != 0) {
+                return false;
+            }
+        }
+        return FieldElement.equal(expected, actual, t0, t1);
+    }
+}
@@ -0,0 +1,169 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Selection of the {@link FieldArithmetic} implementation.
+ * <p>
+ * Candidates are the built-in implementations and any implementation registered as service provider of
+ * {@link FieldArithmetic}. Platform-specific built-in implementations are shipped as part of a multi-release JAR and
+ * are therefore only present on sufficiently recent JVMs. They are loaded by name, such that this class does not depend
+ * on them.
+ * <p>
+ * An implementation can be selected explicitly by name using system property {@value #PROPERTY}, e.g.
+ * '-Dnl.dannyvanheumen.joldilocks.arithmetic=scalar'. Otherwise, the candidate with the highest priority is selected.
+ * (The priorities of the built-in implementations follow from benchmarks of Ed448 signing and verification.) Every
+ * candidate must pass the {@link FieldArithmeticSelfTest} before it is selected. If the requested implementation is
+ * not available or fails the self-test, a warning is logged (java.util.logging) and automatic selection is used
+ * instead. The portable {@link ScalarFieldArithmetic} is the final fallback.
+ * <p>
+ * Selection happens once, when the class is initialized.
+ */
+public final class FieldArithmetics {
+
+    /**
+     * System property for explicit selection of the field arithmetic implementation by name.
+     */
+    public static final String PROPERTY = "nl.dannyvanheumen.joldilocks.arithmetic";
+
+    /**
+     * Field arithmetic that uses the Vector API (jdk.incubator.vector). Available from Java 17, and only if the
+     * incubator module is added to the module graph, i.e. '--add-modules jdk.incubator.vector'.
+     */
+    static final String VECTOR = "nl.dannyvanheumen.joldilocks.VectorFieldArithmetic";
+
+    /**
+     * Field arithmetic in radix 2^56 using Math.multiplyHigh. Available from Java 9.
+     */
+    static final String MULTIPLY_HIGH = "nl.dannyvanheumen.joldilocks.MultiplyHighFieldArithmetic";
+
+    private static final Logger LOGGER = Logger.getLogger(FieldArithmetics.class.getName());
+
+    /**
+     * The selected field arithmetic implementation.
+     */
+    static final FieldArithmetic SELECTED = select(requested(), candidates());
+
+    private FieldArithmetics() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * The name of the selected field arithmetic implementation.
+     *
+     * @return Returns the name.
+     */
+    @Nonnull
+    public static String selected() {
+        return SELECTED.name();
+    }
+
+    /**
+     * Select field arithmetic implementation.
+     *
+     * @param requested  The name of the requested implementation, or null for automatic selection.
+     * @param candidates The candidate implementations.
+     * @return Returns the requested implementation if it is available and passes the self-test. Otherwise, the
+     * candidate with highest (non-negative) priority that passes the self-test. Otherwise, the scalar implementation.
+     */
+    @Nonnull
+    static FieldArithmetic select(@Nullable final String requested, final List<FieldArithmetic> candidates) {
+        if (requested != null) {
+            final FieldArithmetic candidate = find(requested, candidates);
+            if (candidate == null) {
+                LOGGER.log(Level.WARNING, "Requested field arithmetic ''{0}'' is not available on this platform. "
+                    + "Falling back to automatic selection.", requested);
+            } else if (FieldArithmeticSelfTest.passes(candidate)) {
+                return candidate;
+            } else {
+                LOGGER.log(Level.WARNING, "Requested field arithmetic ''{0}'' failed the self-test. "
+                    + "Falling back to automatic selection.", requested);
+            }
+        }
+        final List<FieldArithmetic> remaining = new ArrayList<>(candidates);
+        remaining.removeIf(candidate -> candidate.priority() < 0);
+        remaining.sort((a, b) -> Integer.compare(b.priority(), a.priority()));
+        for (final FieldArithmetic candidate : remaining) {
+            if (FieldArithmeticSelfTest.passes(candidate)) {
+                return candidate;
+            }
+        }
+        return ScalarFieldArithmetic.INSTANCE;
+    }
+
+    @Nullable
+    private static FieldArithmetic find(final String name, final List<FieldArithmetic> candidates) {
+        for (final FieldArithmetic candidate : candidates) {
+            if (name.equals(candidate.name())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String requested() {
+        try {
+            return System.getProperty(PROPERTY);
+        } catch (final SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * All available field arithmetic implementations: built-in implementations first, then service providers.
+     */
+    @Nonnull
+    static List<FieldArithmetic> candidates() {
+        final List<FieldArithmetic> candidates = new ArrayList<>();
+        for (final String className : new String[]{VECTOR, MULTIPLY_HIGH}) {
+            final FieldArithmetic arithmetic = load(className);
+            if (arithmetic != null) {
+                candidates.add(arithmetic);
+            }
+        }
+        candidates.add(ScalarFieldArithmetic.INSTANCE);
+        candidates.add(BigIntegerFieldArithmetic.INSTANCE);
+        final Iterator<FieldArithmetic> providers = ServiceLoader.load(FieldArithmetic.class,
+            FieldArithmetics.class.getClassLoader()).iterator();
+        while (hasNext(providers)) {
+            try {
+                candidates.add(providers.next());
+            } catch (final ServiceConfigurationError | LinkageError e) {
+                // Skip providers that cannot be loaded or instantiated on this platform.
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean hasNext(final Iterator<FieldArithmetic> providers) {
+        try {
+            return providers.hasNext();
+        } catch (final ServiceConfigurationError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Load field arithmetic implementation by class name.
+     *
+     * @param className The fully qualified class name of the implementation.
+     * @return Returns new instance, or null if the implementation is not available on this platform.
+     */
+    @Nullable
+    static FieldArithmetic load(final String className) {
+        try {
+            return (FieldArithmetic) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
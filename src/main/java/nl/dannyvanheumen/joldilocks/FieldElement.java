@@ -0,0 +1,527 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+import static nl.dannyvanheumen.joldilocks.Scalars.decodeLittleEndian;
+import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndian;
+
+/**
+ * FieldElement is an element of the prime field GF(p), with p = 2^448 - 2^224 - 1, that underlies Ed448-Goldilocks.
+ * <p>
+ * The value is stored in 16 limbs of 28 bits, least significant limb first. The shape of the prime (p = phi^2 - phi - 1
+ * with phi = 2^224) allows for cheap reduction, as 2^448 = 2^224 + 1 (mod p): anything that overflows the top limb is
+ * folded back into limbs 0 and 8. Limbs are only weakly reduced, i.e. every limb fits in 28 bits plus a few bits of
+ * slack and the represented value is not necessarily smaller than p. Encoding, equality and conversion to BigInteger
+ * reduce to the canonical representative first.
+ * <p>
+ * FieldElement is immutable.
+ */
+final class FieldElement {
+
+    /**
+     * Length of the little-endian encoding of a field element in bytes.
+     */
+    static final int ENCODED_LENGTH_BYTES = 56;
+
+    static final int LIMBS = 16;
+
+    static final int LIMB_BITS = 28;
+
+    static final long LIMB_MASK = (1L << LIMB_BITS) - 1;
+
+    /**
+     * Index of the limb that corresponds to 2^224.
+     */
+    static final int LIMB_PHI = 8;
+
+    /**
+     * The prime p in limb representation: all bits set, except for bit 224.
+     */
+    private static final long[] MODULUS_LIMBS = new long[]{LIMB_MASK, LIMB_MASK, LIMB_MASK, LIMB_MASK, LIMB_MASK,
+        LIMB_MASK, LIMB_MASK, LIMB_MASK, LIMB_MASK - 1, LIMB_MASK, LIMB_MASK, LIMB_MASK, LIMB_MASK, LIMB_MASK, LIMB_MASK,
+        LIMB_MASK};
+
+    static final FieldElement ZERO = new FieldElement(new long[LIMBS]);
+
+    static final FieldElement ONE = new FieldElement(new long[]{1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+
+    private final long[] limbs;
+
+    private FieldElement(final long[] limbs) {
+        assert limbs.length == LIMBS;
+        this.limbs = limbs;
+    }
+
+    /**
+     * Convert BigInteger to field element. The value is reduced modulo p first, so any value is accepted.
+     *
+     * @param value The value.
+     * @return Returns field element representing value (mod p).
+     */
+    @Nonnull
+    static FieldElement valueOf(final BigInteger value) {
+        return decode(encodeLittleEndian(value.mod(MODULUS)), 0);
+    }
+
+    /**
+     * Convert (small) long value to field element. Negative values are accepted.
+     *
+     * @param value The value.
+     * @return Returns field element representing value (mod p).
+     */
+    @Nonnull
+    static FieldElement valueOf(final long value) {
+        return valueOf(BigInteger.valueOf(value));
+    }
+
+    /**
+     * Decode little-endian encoded field element of 56 bytes.
+     * <p>
+     * The value is not reduced. Use {@link #isCanonical(byte[], int)} to verify that the encoding is canonical.
+     *
+     * @param src    The source array.
+     * @param offset The offset at which the encoded field element starts.
+     * @return Returns field element.
+     */
+    @Nonnull
+    static FieldElement decode(final byte[] src, final int offset) {
+        final long[] limbs = new long[LIMBS];
+        decodeLimbs(limbs, src, offset);
+        return new FieldElement(limbs);
+    }
+
+    /**
+     * Verify that the little-endian encoded value of 56 bytes is the canonical representation, i.e. it is smaller than
+     * p.
+     *
+     * @param src    The source array.
+     * @param offset The offset at which the encoded field element starts.
+     * @return Returns true iff encoded value is smaller than p.
+     */
+    @CheckReturnValue
+    static boolean isCanonical(final byte[] src, final int offset) {
+        final long[] limbs = new long[LIMBS];
+        decodeLimbs(limbs, src, offset);
+        return isCanonical(limbs);
+    }
+
+    /**
+     * Encode field element as 56 bytes little-endian into destination array.
+     *
+     * @param dst    The destination array.
+     * @param offset The offset at which to start writing.
+     */
+    void encode(final byte[] dst, final int offset) {
+        encode(dst, offset, this.limbs, new long[LIMBS]);
+    }
+
+    /**
+     * Create field element from limbs. The limbs are copied.
+     *
+     * @param src The limbs.
+     * @return Returns field element.
+     */
+    @Nonnull
+    static FieldElement fromLimbs(final long[] src) {
+        return new FieldElement(src.clone());
+    }
+
+    /**
+     * Copy limbs of this field element into destination array, for use with the static (in-place) arithmetic.
+     *
+     * @param dst The destination array of {@link #LIMBS} limbs.
+     */
+    void copyTo(final long[] dst) {
+        System.arraycopy(this.limbs, 0, dst, 0, LIMBS);
+    }
+
+    /**
+     * Convert field element to its canonical BigInteger value.
+     *
+     * @return Returns BigInteger in range [0, p).
+     */
+    @Nonnull
+    BigInteger toBigInteger() {
+        final byte[] encoded = new byte[ENCODED_LENGTH_BYTES];
+        encode(encoded, 0);
+        return decodeLittleEndian(encoded);
+    }
+
+    @Nonnull
+    FieldElement add(final FieldElement other) {
+        final long[] result = new long[LIMBS];
+        add(result, this.limbs, other.limbs);
+        return new FieldElement(result);
+    }
+
+    @Nonnull
+    FieldElement subtract(final FieldElement other) {
+        final long[] result = new long[LIMBS];
+        subtract(result, this.limbs, other.limbs);
+        return new FieldElement(result);
+    }
+
+    @Nonnull
+    FieldElement negate() {
+        final long[] result = new long[LIMBS];
+        subtract(result, ZERO.limbs, this.limbs);
+        return new FieldElement(result);
+    }
+
+    @Nonnull
+    FieldElement multiply(final FieldElement other) {
+        final long[] result = new long[LIMBS];
+        multiply(result, this.limbs, other.limbs);
+        return new FieldElement(result);
+    }
+
+    @Nonnull
+    FieldElement square() {
+        final long[] result = new long[LIMBS];
+        square(result, this.limbs);
+        return new FieldElement(result);
+    }
+
+    /**
+     * Compute the multiplicative inverse, by Fermat's little theorem. (x^(p-2))
+     * <p>
+     * The exponentiation is performed with the addition chain of {@link #inverseSquareRoot()}, as x^(p-2) =
+     * ((x^2)^((p-3)/4))^2 * x.
+     * <p>
+     * The inverse of zero is zero.
+     *
+     * @return Returns the inverse.
+     */
+    @Nonnull
+    FieldElement invert() {
+        final long[] result = new long[LIMBS];
+        invert(result, this.limbs, new long[LIMBS], new long[LIMBS], new long[LIMBS], new long[LIMBS]);
+        return new FieldElement(result);
+    }
+
+    /**
+     * Invert many field elements at the cost of a single inversion, using Montgomery's trick.
+     * <p>
+     * The product of all elements is inverted once. Individual inverses are then recovered from the inverse of the
+     * product and the partial products, at the cost of 3(n-1) multiplications in total.
+     * <p>
+     * All elements must be non-zero. If any element is zero, all results will be zero.
+     *
+     * @param elements The field elements to invert.
+     * @return Returns array with the inverse of each element at the corresponding index.
+     */
+    @Nonnull
+    static FieldElement[] invertAll(final FieldElement[] elements) {
+        final FieldElement[] results = new FieldElement[elements.length];
+        if (elements.length == 0) {
+            return results;
+        }
+        // Use results array to store partial products: results[i] = elements[0] * ... * elements[i].
+        results[0] = elements[0];
+        for (int i = 1; i < elements.length; i++) {
+            results[i] = results[i - 1].multiply(elements[i]);
+        }
+        FieldElement inverse = results[elements.length - 1].invert();
+        for (int i = elements.length - 1; i > 0; i--) {
+            // inverse = 1 / (elements[0] * ... * elements[i])
+            results[i] = inverse.multiply(results[i - 1]);
+            inverse = inverse.multiply(elements[i]);
+        }
+        results[0] = inverse;
+        return results;
+    }
+
+    /**
+     * Compute the inverse square root. (x^((p-3)/4))
+     * <p>
+     * For a non-zero square x, the result r satisfies r^2 * x = 1. Otherwise r^2 * x = -1, or zero in case x is zero.
+     * This allows computing a square root of u/v with a single exponentiation: u * (u * v)^((p-3)/4).
+     *
+     * @return Returns the inverse square root.
+     */
+    @Nonnull
+    FieldElement inverseSquareRoot() {
+        final long[] result = new long[LIMBS];
+        inverseSquareRoot(result, this.limbs, new long[LIMBS], new long[LIMBS], new long[LIMBS]);
+        return new FieldElement(result);
+    }
+
+    /**
+     * Test whether element is zero (mod p).
+     *
+     * @return Returns true iff zero.
+     */
+    @CheckReturnValue
+    boolean isZero() {
+        final long[] reduced = this.limbs.clone();
+        reduce(reduced);
+        long bits = 0;
+        for (final long limb : reduced) {
+            bits |= limb;
+        }
+        return bits == 0;
+    }
+
+    /**
+     * Test whether the canonical value of this element is odd. RFC 8032 uses this as the sign of the x-coordinate.
+     *
+     * @return Returns true iff least significant bit of the canonical value is set.
+     */
+    @CheckReturnValue
+    boolean isOdd() {
+        return isOdd(this.limbs, new long[LIMBS]);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return equal(this.limbs, ((FieldElement) o).limbs, new long[LIMBS], new long[LIMBS]);
+    }
+
+    @Override
+    public int hashCode() {
+        final long[] reduced = this.limbs.clone();
+        reduce(reduced);
+        return Arrays.hashCode(reduced);
+    }
+
+    @Override
+    public String toString() {
+        return toBigInteger().toString();
+    }
+
+    // The static methods below operate in place on arrays of LIMBS limbs. They do not allocate, which allows callers
+    // to perform arithmetic using preallocated scratch space. See Scratch.
+
+    /**
+     * Decode 56 bytes little-endian into limbs. The value is not reduced.
+     */
+    static void decodeLimbs(final long[] limbs, final byte[] src, final int offset) {
+        for (int i = 0; i < LIMBS / 2; i++) {
+            long pair = 0;
+            for (int j = 0; j < 7; j++) {
+                pair |= (src[offset + 7 * i + j] & 0xffL) << (8 * j);
+            }
+            limbs[2 * i] = pair & LIMB_MASK;
+            limbs[2 * i + 1] = pair >>> LIMB_BITS;
+        }
+    }
+
+    /**
+     * Add x and y. The destination z may be the same array as x or y.
+     */
+    static void add(final long[] z, final long[] x, final long[] y) {
+        for (int i = 0; i < LIMBS; i++) {
+            z[i] = x[i] + y[i];
+        }
+        carry(z);
+    }
+
+    /**
+     * Subtract y from x. 2p is added to prevent limbs from becoming negative. The destination z may be the same array
+     * as x or y.
+     */
+    static void subtract(final long[] z, final long[] x, final long[] y) {
+        for (int i = 0; i < LIMBS; i++) {
+            z[i] = x[i] + 2 * MODULUS_LIMBS[i] - y[i];
+        }
+        carry(z);
+    }
+
+    /**
+     * Multiply x by a small non-negative constant c < 2^24, e.g. a curve constant. The destination z may be the same
+     * array as x.
+     */
+    static void multiplySmall(final long[] z, final long[] x, final int c) {
+        assert c >= 0 && c < 1 << 24 : "Constant out of range.";
+        for (int i = 0; i < LIMBS; i++) {
+            z[i] = x[i] * c;
+        }
+        carry(z);
+    }
+
+    /**
+     * Multiply x and y. The destination z must not be the same array as either x or y.
+     * <p>
+     * Multiplication is delegated to the selected {@link FieldArithmetic} implementation.
+     */
+    static void multiply(final long[] z, final long[] x, final long[] y) {
+        FieldArithmetics.SELECTED.multiply(z, x, y);
+    }
+
+    /**
+     * Square x. The destination z must not be the same array as x.
+     * <p>
+     * Squaring is delegated to the selected {@link FieldArithmetic} implementation.
+     */
+    static void square(final long[] z, final long[] x) {
+        FieldArithmetics.SELECTED.square(z, x);
+    }
+
+    /**
+     * Compute x^(p-2), i.e. the inverse of x. The destination z must not be the same array as x. Arrays t0, t1, t2
+     * and t3 are used as scratch space.
+     */
+    static void invert(final long[] z, final long[] x, final long[] t0, final long[] t1, final long[] t2,
+            final long[] t3) {
+        assert z != x : "Destination must not overlap with operand.";
+        square(t3, x);
+        inverseSquareRoot(z, t3, t0, t1, t2);
+        square(t3, z);
+        multiply(z, t3, x);
+    }
+
+    /**
+     * Compute x^((p-3)/4) = x^(2^446 - 2^222 - 1) using a fixed addition chain of 446 squarings and 11
+     * multiplications. The destination z must not be the same array as x. Arrays l0, l1 and l2 are used as scratch
+     * space.
+     */
+    static void inverseSquareRoot(final long[] z, final long[] x, final long[] l0, final long[] l1,
+            final long[] l2) {
+        assert z != x : "Destination must not overlap with operand.";
+        square(l1, x);
+        multiply(l2, x, l1);
+        square(l1, l2);
+        multiply(l2, x, l1);
+        // l2 = x^(2^3 - 1)
+        squareRepeatedly(l1, l2, 3, z);
+        multiply(l0, l2, l1);
+        // l0 = x^(2^6 - 1)
+        squareRepeatedly(l1, l0, 3, z);
+        multiply(l0, l2, l1);
+        // l0 = x^(2^9 - 1)
+        squareRepeatedly(l2, l0, 9, z);
+        multiply(l1, l0, l2);
+        // l1 = x^(2^18 - 1)
+        square(l0, l1);
+        multiply(l2, x, l0);
+        // l2 = x^(2^19 - 1)
+        squareRepeatedly(l0, l2, 18, z);
+        multiply(l2, l1, l0);
+        // l2 = x^(2^37 - 1)
+        squareRepeatedly(l0, l2, 37, z);
+        multiply(l1, l2, l0);
+        // l1 = x^(2^74 - 1)
+        squareRepeatedly(l0, l1, 37, z);
+        multiply(l1, l2, l0);
+        // l1 = x^(2^111 - 1)
+        squareRepeatedly(l0, l1, 111, z);
+        multiply(l2, l1, l0);
+        // l2 = x^(2^222 - 1)
+        square(l0, l2);
+        multiply(l1, x, l0);
+        // l1 = x^(2^223 - 1)
+        squareRepeatedly(l0, l1, 223, z);
+        multiply(z, l2, l0);
+        // z = x^((2^223 - 1) * 2^223 + 2^222 - 1) = x^(2^446 - 2^222 - 1)
+    }
+
+    /**
+     * Square x n times, for n >= 1. The destination z must not be the same array as x. Array temp is used as scratch
+     * space.
+     */
+    private static void squareRepeatedly(final long[] z, final long[] x, final int n, final long[] temp) {
+        square(z, x);
+        for (int i = 1; i < n; i++) {
+            square(temp, z);
+            System.arraycopy(temp, 0, z, 0, LIMBS);
+        }
+    }
+
+    /**
+     * Test whether freshly decoded limbs (every limb exactly 28 bits) represent a value smaller than p.
+     */
+    static boolean isCanonical(final long[] limbs) {
+        long borrow = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            borrow = (borrow + limbs[i] - MODULUS_LIMBS[i]) >> LIMB_BITS;
+        }
+        return borrow != 0;
+    }
+
+    /**
+     * Encode x as 56 bytes little-endian into destination array. Array temp is used as scratch space.
+     */
+    static void encode(final byte[] dst, final int offset, final long[] x, final long[] temp) {
+        System.arraycopy(x, 0, temp, 0, LIMBS);
+        reduce(temp);
+        for (int i = 0; i < LIMBS / 2; i++) {
+            final long pair = temp[2 * i] | temp[2 * i + 1] << LIMB_BITS;
+            for (int j = 0; j < 7; j++) {
+                dst[offset + 7 * i + j] = (byte) (pair >>> (8 * j));
+            }
+        }
+    }
+
+    /**
+     * Test whether canonical value of x is odd. Array temp is used as scratch space.
+     */
+    static boolean isOdd(final long[] x, final long[] temp) {
+        System.arraycopy(x, 0, temp, 0, LIMBS);
+        reduce(temp);
+        return (temp[0] & 1) == 1;
+    }
+
+    /**
+     * Test whether x and y are equal (mod p), in constant time. Arrays t0 and t1 are used as scratch space.
+     */
+    static boolean equal(final long[] x, final long[] y, final long[] t0, final long[] t1) {
+        System.arraycopy(x, 0, t0, 0, LIMBS);
+        reduce(t0);
+        System.arraycopy(y, 0, t1, 0, LIMBS);
+        reduce(t1);
+        long diff = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            diff |= t0[i] ^ t1[i];
+        }
+        return diff == 0;
+    }
+
+    /**
+     * Carry propagation (weak reduction). Expects non-negative limbs. Afterwards, every limb fits in 28 bits, except
+     * limbs 1 and 9 which may exceed that by a few bits.
+     */
+    static void carry(final long[] z) {
+        for (int i = 0; i < LIMBS - 1; i++) {
+            z[i + 1] += z[i] >>> LIMB_BITS;
+            z[i] &= LIMB_MASK;
+        }
+        final long top = z[LIMBS - 1] >>> LIMB_BITS;
+        z[LIMBS - 1] &= LIMB_MASK;
+        z[0] += top;
+        z[LIMB_PHI] += top;
+        z[1] += z[0] >>> LIMB_BITS;
+        z[0] &= LIMB_MASK;
+        z[LIMB_PHI + 1] += z[LIMB_PHI] >>> LIMB_BITS;
+        z[LIMB_PHI] &= LIMB_MASK;
+    }
+
+    /**
+     * Full reduction to the canonical representative in range [0, p), with every limb exactly 28 bits.
+     */
+    private static void reduce(final long[] z) {
+        carry(z);
+        // Value is now in range [0, 2p). Subtract p once and add it back in case the result turned negative.
+        long borrow = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            borrow += z[i] - MODULUS_LIMBS[i];
+            z[i] = borrow & LIMB_MASK;
+            borrow >>= LIMB_BITS;
+        }
+        long carry = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            carry += z[i] + (MODULUS_LIMBS[i] & borrow);
+            z[i] = carry & LIMB_MASK;
+            carry >>= LIMB_BITS;
+        }
+    }
+}
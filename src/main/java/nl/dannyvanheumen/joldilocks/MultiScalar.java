@@ -0,0 +1,221 @@
+package nl.dannyvanheumen.joldilocks;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.MutablePoint.FOUR_Q;
+
+/**
+ * MultiScalar computes sums of scalar multiples sum [k_i]P_i for many points at once, with shared doublings.
+ * <p>
+ * As for single scalar multiplication (see {@link MutablePoint#multiply(MutablePoint, BigInteger, Scratch)}), the
+ * computation is performed on the 4-isogenous twisted curve: with k_i mod 4q = 4m_i + r_i,
+ * sum [k_i]P_i = dual(sum [m_i]phi(P_i)) + sum [r_i]P_i. The result is exact for any points, including points that are
+ * not in the prime-order subgroup.
+ * <p>
+ * Two algorithms are used, depending on the number of points:
+ * <ul>
+ * <li>Straus: the width-5 non-adjacent forms of all scalars are processed in a single pass. With 8 precomputed odd
+ * multiples per point, this costs approximately 446 doublings in total and 1 addition per 6 bits per point.</li>
+ * <li>Pippenger (bucket method): the scalars are split in signed windows of c bits. For each window, every point is
+ * added to the bucket of its digit, and the buckets are summed with running sums. This costs approximately 446
+ * doublings in total and (n + 2^c) additions per window, i.e. 446/c additions per point for large n, without any
+ * precomputation per point.</li>
+ * </ul>
+ * The sequence of operations depends on the scalars. Use only for public scalars.
+ */
+final class MultiScalar {
+
+    /**
+     * Number of points from which the bucket method is used instead of Straus.
+     */
+    static final int PIPPENGER_THRESHOLD = 128;
+
+    private static final int STRAUS_WIDTH = 5;
+
+    private static final int STRAUS_MULTIPLES = 1 << (STRAUS_WIDTH - 2);
+
+    private MultiScalar() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * Compute sum [k_i]P_i and store the result in dst.
+     *
+     * @param dst     The destination point.
+     * @param scalars The scalars k_i.
+     * @param points  The points P_i.
+     * @param scratch The scratch space. The destination must not be part of the scratch space.
+     */
+    static void multiply(final MutablePoint dst, final BigInteger[] scalars, final Point[] points,
+            final Scratch scratch) {
+        if (points.length < PIPPENGER_THRESHOLD) {
+            multiplyStraus(dst, scalars, points, scratch);
+        } else {
+            multiplyPippenger(dst, scalars, points, scratch);
+        }
+    }
+
+    /**
+     * Compute sum [k_i]P_i using Straus' method.
+     */
+    static void multiplyStraus(final MutablePoint dst, final BigInteger[] scalars, final Point[] points,
+            final Scratch scratch) {
+        final BigInteger[] reduced = reduce(scalars, points);
+        final TwistedPoint[] twisted = isogenies(points, scratch);
+        final int n = points.length;
+        final TwistedPoint[][] multiples = new TwistedPoint[n][STRAUS_MULTIPLES];
+        final byte[][] nafs = new byte[n][];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            // multiples[i][j] = [2j+1]phi(P_i), using scratch.q0 as temporary for 2phi(P_i).
+            scratch.q0.set(twisted[i]);
+            scratch.q0.doubling(scratch);
+            multiples[i][0] = twisted[i];
+            for (int j = 1; j < STRAUS_MULTIPLES; j++) {
+                multiples[i][j] = new TwistedPoint();
+                multiples[i][j].set(multiples[i][j - 1]);
+                multiples[i][j].add(scratch.q0, scratch);
+            }
+            nafs[i] = Scalars.nonAdjacentForm(reduced[i].shiftRight(2), STRAUS_WIDTH);
+            length = Math.max(length, nafs[i].length);
+        }
+        final TwistedPoint acc = scratch.q1;
+        acc.setIdentity();
+        for (int bit = length - 1; bit >= 0; bit--) {
+            acc.doubling(scratch);
+            for (int i = 0; i < n; i++) {
+                if (bit >= nafs[i].length) {
+                    continue;
+                }
+                final int digit = nafs[i][bit];
+                if (digit > 0) {
+                    acc.add(multiples[i][digit >> 1], scratch);
+                } else if (digit < 0) {
+                    acc.subtract(multiples[i][-digit >> 1], scratch);
+                }
+            }
+        }
+        finish(dst, acc, reduced, points, scratch);
+    }
+
+    /**
+     * Compute sum [k_i]P_i using Pippenger's bucket method.
+     */
+    static void multiplyPippenger(final MutablePoint dst, final BigInteger[] scalars, final Point[] points,
+            final Scratch scratch) {
+        final BigInteger[] reduced = reduce(scalars, points);
+        final TwistedPoint[] twisted = isogenies(points, scratch);
+        final int n = points.length;
+        final int width = windowWidth(n);
+        int bits = 0;
+        for (int i = 0; i < n; i++) {
+            bits = Math.max(bits, reduced[i].bitLength() - 2);
+        }
+        final int windows = bits / width + 1;
+        final int[][] digits = new int[n][];
+        for (int i = 0; i < n; i++) {
+            digits[i] = Scalars.signedWindows(reduced[i].shiftRight(2), width, windows);
+        }
+        // buckets[b] accumulates the points with digit +/-(b+1) in the current window.
+        final TwistedPoint[] buckets = new TwistedPoint[1 << (width - 1)];
+        for (int b = 0; b < buckets.length; b++) {
+            buckets[b] = new TwistedPoint();
+        }
+        final boolean[] used = new boolean[buckets.length];
+        final TwistedPoint acc = scratch.q1;
+        final TwistedPoint running = scratch.q0;
+        final TwistedPoint sum = scratch.multiples[0];
+        acc.setIdentity();
+        for (int j = windows - 1; j >= 0; j--) {
+            for (int d = 0; d < width; d++) {
+                acc.doubling(scratch);
+            }
+            Arrays.fill(used, false);
+            for (int i = 0; i < n; i++) {
+                final int digit = digits[i][j];
+                if (digit == 0) {
+                    continue;
+                }
+                final int b = Math.abs(digit) - 1;
+                if (!used[b]) {
+                    buckets[b].setIdentity();
+                    used[b] = true;
+                }
+                if (digit > 0) {
+                    buckets[b].add(twisted[i], scratch);
+                } else {
+                    buckets[b].subtract(twisted[i], scratch);
+                }
+            }
+            // sum = sum_b [b+1]buckets[b], as the sum of the running sums from the highest bucket down.
+            running.setIdentity();
+            sum.setIdentity();
+            for (int b = buckets.length - 1; b >= 0; b--) {
+                if (used[b]) {
+                    running.add(buckets[b], scratch);
+                }
+                sum.add(running, scratch);
+            }
+            acc.add(sum, scratch);
+        }
+        finish(dst, acc, reduced, points, scratch);
+    }
+
+    /**
+     * The window width c for the bucket method, minimizing approximately (446 / c) * (n + 2^c).
+     */
+    static int windowWidth(final int n) {
+        int width = 2;
+        while (width < 16 && 1 << (width + 2) < n) {
+            width++;
+        }
+        return width;
+    }
+
+    /**
+     * Reduce scalars modulo 4q, the exponent of the group of points.
+     */
+    private static BigInteger[] reduce(final BigInteger[] scalars, final Point[] points) {
+        if (scalars.length != points.length) {
+            throw new IllegalArgumentException("Number of scalars and number of points must be equal.");
+        }
+        final BigInteger[] reduced = new BigInteger[scalars.length];
+        for (int i = 0; i < scalars.length; i++) {
+            reduced[i] = requireNonNull(scalars[i]).mod(FOUR_Q);
+        }
+        return reduced;
+    }
+
+    /**
+     * Map points to the twisted curve.
+     */
+    private static TwistedPoint[] isogenies(final Point[] points, final Scratch scratch) {
+        final TwistedPoint[] twisted = new TwistedPoint[points.length];
+        for (int i = 0; i < points.length; i++) {
+            scratch.p0.set(requireNonNull(points[i]));
+            twisted[i] = new TwistedPoint();
+            scratch.p0.isogenyTo(twisted[i], scratch);
+        }
+        return twisted;
+    }
+
+    /**
+     * Set dst = dual(acc) + sum [r_i]P_i, with r_i = k_i mod 4.
+     */
+    private static void finish(final MutablePoint dst, final TwistedPoint acc, final BigInteger[] reduced,
+            final Point[] points, final Scratch scratch) {
+        dst.setDualIsogeny(acc, scratch);
+        for (int i = 0; i < points.length; i++) {
+            final int r = reduced[i].intValue() & 3;
+            if (r == 0) {
+                continue;
+            }
+            scratch.p0.set(points[i]);
+            for (int c = 0; c < r; c++) {
+                dst.add(scratch.p0, scratch);
+            }
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.D_ELEMENT;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.ONE;
+import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
+import static nl.dannyvanheumen.joldilocks.Points.MOST_SIGNIFICANT_BIT_OF_BYTE;
+
+/**
+ * MutablePoint is an Edwards point in extended homogeneous coordinates (X:Y:Z:T), that is modified in place.
+ * <p>
+ * The formulas are identical to those of {@link ExtendedPoint}. All intermediate values are stored in the arrays of
+ * the provided {@link Scratch} instance, therefore point arithmetic does not allocate any memory. MutablePoint is not a
+ * {@link Point}. It is only used internally for computations. The result is converted to an immutable point
+ * afterwards.
+ */
+final class MutablePoint {
+
+    private static final long[] D_LIMBS = new long[LIMBS];
+
+    /**
+     * The inverse of 4 (mod q).
+     */
+    private static final Scalar QUARTER = Scalar.valueOf(BigInteger.valueOf(4L).modInverse(Q));
+
+    /**
+     * The exponent of the group of points on Ed448: [4q]P is the identity for every point P.
+     */
+    static final BigInteger FOUR_Q = Q.shiftLeft(2);
+
+    static {
+        D_ELEMENT.copyTo(D_LIMBS);
+    }
+
+    private final long[] x = new long[LIMBS];
+    private final long[] y = new long[LIMBS];
+    private final long[] z = new long[LIMBS];
+    private final long[] t = new long[LIMBS];
+
+    /**
+     * Set point to the identity (0:1:1:0).
+     */
+    void setIdentity() {
+        Arrays.fill(this.x, 0L);
+        ONE.copyTo(this.y);
+        ONE.copyTo(this.z);
+        Arrays.fill(this.t, 0L);
+    }
+
+    /**
+     * Set point to the value of provided point.
+     *
+     * @param p The point.
+     */
+    void set(final Point p) {
+        if (p instanceof ExtendedPoint) {
+            final ExtendedPoint extended = (ExtendedPoint) p;
+            extended.xElement().copyTo(this.x);
+            extended.yElement().copyTo(this.y);
+            extended.zElement().copyTo(this.z);
+            extended.tElement().copyTo(this.t);
+            return;
+        }
+        final AffinePoint affine = Points.toAffine(p);
+        affine.xElement().copyTo(this.x);
+        affine.yElement().copyTo(this.y);
+        ONE.copyTo(this.z);
+        FieldElement.multiply(this.t, this.x, this.y);
+    }
+
+    /**
+     * Set point to the value of another mutable point.
+     *
+     * @param other The other point.
+     */
+    void set(final MutablePoint other) {
+        System.arraycopy(other.x, 0, this.x, 0, LIMBS);
+        System.arraycopy(other.y, 0, this.y, 0, LIMBS);
+        System.arraycopy(other.z, 0, this.z, 0, LIMBS);
+        System.arraycopy(other.t, 0, this.t, 0, LIMBS);
+    }
+
+    /**
+     * Load point from coordinate arrays that store many points consecutively, such as in {@link PointBatch}.
+     *
+     * @param xs     The X-coordinates.
+     * @param ys     The Y-coordinates.
+     * @param zs     The Z-coordinates.
+     * @param ts     The T-coordinates.
+     * @param offset The offset of the first limb of this point in each array.
+     */
+    void copyFrom(final long[] xs, final long[] ys, final long[] zs, final long[] ts, final int offset) {
+        System.arraycopy(xs, offset, this.x, 0, LIMBS);
+        System.arraycopy(ys, offset, this.y, 0, LIMBS);
+        System.arraycopy(zs, offset, this.z, 0, LIMBS);
+        System.arraycopy(ts, offset, this.t, 0, LIMBS);
+    }
+
+    /**
+     * Store point into coordinate arrays that store many points consecutively, such as in {@link PointBatch}.
+     *
+     * @param xs     The X-coordinates.
+     * @param ys     The Y-coordinates.
+     * @param zs     The Z-coordinates.
+     * @param ts     The T-coordinates.
+     * @param offset The offset of the first limb of this point in each array.
+     */
+    void copyTo(final long[] xs, final long[] ys, final long[] zs, final long[] ts, final int offset) {
+        System.arraycopy(this.x, 0, xs, offset, LIMBS);
+        System.arraycopy(this.y, 0, ys, offset, LIMBS);
+        System.arraycopy(this.z, 0, zs, offset, LIMBS);
+        System.arraycopy(this.t, 0, ts, offset, LIMBS);
+    }
+
+    /**
+     * Add other point to this point. The other point may be this same instance.
+     *
+     * @param other   The other point.
+     * @param scratch The scratch space.
+     */
+    void add(final MutablePoint other, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        // A = X1*X2, B = Y1*Y2, C = d*T1*T2, D = Z1*Z2, E = (X1+Y1)*(X2+Y2)-A-B, F = D-C, G = D+C, H = B-A,
+        // X3 = E*F, Y3 = G*H, T3 = E*H, Z3 = F*G
+        // All coordinates of the other point are read before this point is modified.
+        FieldElement.multiply(t[0], this.x, other.x);
+        FieldElement.multiply(t[1], this.y, other.y);
+        FieldElement.multiply(t[2], this.t, other.t);
+        FieldElement.multiply(t[3], D_LIMBS, t[2]);
+        FieldElement.multiply(t[2], this.z, other.z);
+        FieldElement.add(t[4], this.x, this.y);
+        FieldElement.add(t[5], other.x, other.y);
+        FieldElement.multiply(t[6], t[4], t[5]);
+        FieldElement.subtract(t[6], t[6], t[0]);
+        FieldElement.subtract(t[6], t[6], t[1]);
+        FieldElement.subtract(t[4], t[2], t[3]);
+        FieldElement.add(t[5], t[2], t[3]);
+        FieldElement.subtract(t[7], t[1], t[0]);
+        setProducts(t[6], t[4], t[5], t[7]);
+    }
+
+    /**
+     * Double this point.
+     *
+     * @param scratch The scratch space.
+     */
+    void doubling(final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        // A = X1^2, B = Y1^2, C = 2*Z1^2, E = (X1+Y1)^2-A-B, G = A+B, F = G-C, H = A-B,
+        // X3 = E*F, Y3 = G*H, T3 = E*H, Z3 = F*G
+        FieldElement.square(t[0], this.x);
+        FieldElement.square(t[1], this.y);
+        FieldElement.square(t[2], this.z);
+        FieldElement.add(t[2], t[2], t[2]);
+        FieldElement.add(t[3], this.x, this.y);
+        FieldElement.square(t[6], t[3]);
+        FieldElement.subtract(t[6], t[6], t[0]);
+        FieldElement.subtract(t[6], t[6], t[1]);
+        FieldElement.add(t[5], t[0], t[1]);
+        FieldElement.subtract(t[4], t[5], t[2]);
+        FieldElement.subtract(t[7], t[0], t[1]);
+        setProducts(t[6], t[4], t[5], t[7]);
+    }
+
+    /**
+     * Set X = E*F, Y = G*H, T = E*H and Z = F*G, the common final step of addition and doubling.
+     */
+    private void setProducts(final long[] e, final long[] f, final long[] g, final long[] h) {
+        FieldElement.multiply(this.x, e, f);
+        FieldElement.multiply(this.y, g, h);
+        FieldElement.multiply(this.t, e, h);
+        FieldElement.multiply(this.z, f, g);
+    }
+
+    /**
+     * Multiply base point by scalar and store the result in this point.
+     * <p>
+     * The multiplication is performed on the 4-isogenous twisted curve, where addition is cheaper. (See
+     * {@link TwistedPoint}.) With scalar = 4m + r and r in [0, 4): [scalar]P = dual([m]phi(P)) + [r]P. This holds for
+     * any point, including points that are not in the prime-order subgroup. The base point is not modified. It must not
+     * be the same instance as this point.
+     *
+     * @param base    The base point.
+     * @param scalar  The non-negative scalar value.
+     * @param scratch The scratch space.
+     */
+    void multiply(final MutablePoint base, final BigInteger scalar, final Scratch scratch) {
+        assert this != base : "Result must not overlap with base point.";
+        // See Point#multiply(BigInteger) for a description of Double-and-Add.
+        base.isogenyTo(scratch.q1, scratch);
+        scratch.q0.multiply(scratch.q1, scalar.shiftRight(2), scratch);
+        setDualIsogeny(scratch.q0, scratch);
+        for (int r = scalar.intValue() & 3; r > 0; r--) {
+            add(base, scratch);
+        }
+    }
+
+    /**
+     * Compute [s]B - [k]A for public scalars s and k modulo q and store the result in this point, with B the base
+     * point. Both multiplications are performed in a single pass on the twisted curve. (See
+     * {@link TwistedPoint#multiplyDoubleVariableTime(byte[], TwistedPoint, byte[], Scratch)}.)
+     * <p>
+     * With k = 4m + r: [s]B - [k]A = dual([s/4 mod q]phi(B) - [m]phi(A)) - [r]A. As k is smaller than q, m is
+     * floor(k/4) and r is k mod 4, and the non-adjacent forms are computed from the limbs of the scalars directly. The
+     * result is exact for any point A, including points that are not in the prime-order subgroup. The sequence of
+     * operations depends on the scalars, therefore this method must not be used with secret scalars.
+     *
+     * @param s       The scalar for the base point.
+     * @param a       The point A. It is not modified, and must not be the same instance as this point.
+     * @param k       The scalar for A.
+     * @param scratch The scratch space.
+     */
+    void multiplyDoubleVariableTime(final Scalar s, final MutablePoint a, final Scalar k, final Scratch scratch) {
+        assert this != a : "Result must not overlap with point A.";
+        a.isogenyTo(scratch.q1, scratch);
+        scratch.q0.multiplyDoubleVariableTime(Scalars.nonAdjacentForm(s.multiply(QUARTER), BaseMultiples.WIDTH),
+            scratch.q1, Scalars.nonAdjacentForm(k.shiftRight(2), TwistedPoint.WNAF_WIDTH), scratch);
+        setDualIsogeny(scratch.q0, scratch);
+        subtractSmallMultiple(a, k.intValue() & 3, scratch);
+    }
+
+    /**
+     * Compute [s]B - [k]A for public scalars s and k modulo q and store the result in this point, with precomputed odd
+     * multiples of phi(A). Otherwise identical to
+     * {@link #multiplyDoubleVariableTime(Scalar, MutablePoint, Scalar, Scratch)}.
+     *
+     * @param s         The scalar for the base point.
+     * @param a         The point A. It is not modified, and must not be the same instance as this point.
+     * @param multiples The odd multiples phi([2i+1]A) for i in [0, 2^(width-2)).
+     * @param width     The window width corresponding to the number of multiples.
+     * @param k         The scalar for A.
+     * @param scratch   The scratch space.
+     */
+    void multiplyDoubleVariableTime(final Scalar s, final MutablePoint a, final NielsPoint[] multiples,
+            final int width, final Scalar k, final Scratch scratch) {
+        assert this != a : "Result must not overlap with point A.";
+        assert multiples.length == 1 << (width - 2) : "Number of multiples does not match window width.";
+        scratch.q0.multiplyDoubleVariableTime(Scalars.nonAdjacentForm(s.multiply(QUARTER), BaseMultiples.WIDTH),
+            multiples, Scalars.nonAdjacentForm(k.shiftRight(2), width), scratch);
+        setDualIsogeny(scratch.q0, scratch);
+        subtractSmallMultiple(a, k.intValue() & 3, scratch);
+    }
+
+    /**
+     * Subtract [r]A from this point, for small r, using P - [r]A = -(-P + [r]A).
+     */
+    private void subtractSmallMultiple(final MutablePoint a, final int r, final Scratch scratch) {
+        if (r == 0) {
+            return;
+        }
+        negate(scratch);
+        for (int i = 0; i < r; i++) {
+            add(a, scratch);
+        }
+        negate(scratch);
+    }
+
+    /**
+     * Negate this point: the negation of (X:Y:Z:T) is (-X:Y:Z:-T).
+     *
+     * @param scratch The scratch space.
+     */
+    void negate(final Scratch scratch) {
+        final long[] zero = scratch.temp[0];
+        Arrays.fill(zero, 0L);
+        FieldElement.subtract(this.x, zero, this.x);
+        FieldElement.subtract(this.t, zero, this.t);
+    }
+
+    /**
+     * Multiply the base point by scalar and store the result in this point.
+     * <p>
+     * The base point has prime order q, therefore [scalar]B = dual([scalar/4 mod q]phi(B)) without correction. The
+     * multiplication uses the precomputed comb tables of phi(B). (See {@link BaseComb}.)
+     *
+     * @param scalar  The scalar value.
+     * @param scratch The scratch space.
+     */
+    void multiplyByBase(final BigInteger scalar, final Scratch scratch) {
+        final Scalar reduced = Scalar.valueOf(scalar);
+        try {
+            multiplyByBase(reduced, scratch);
+        } finally {
+            reduced.clear();
+        }
+    }
+
+    /**
+     * Multiply the base point by scalar and store the result in this point. (See
+     * {@link #multiplyByBase(BigInteger, Scratch)}.)
+     *
+     * @param scalar  The scalar value.
+     * @param scratch The scratch space.
+     */
+    void multiplyByBase(final Scalar scalar, final Scratch scratch) {
+        final Scalar quarter = scalar.multiply(QUARTER);
+        try {
+            BaseComb.multiply(scratch.q0, quarter, scratch);
+        } finally {
+            quarter.clear();
+        }
+        setDualIsogeny(scratch.q0, scratch);
+    }
+
+    /**
+     * Multiply point by scalar in constant time and store the result in this point, up to a point of small order.
+     * <p>
+     * The result is dual([scalar/4 mod q]phi(P)) = [scalar + kq]P for some k, as phi(P) has order q. For points in the
+     * prime-order subgroup, this is exactly [scalar]P. For other points, the result differs from [scalar]P by a point
+     * of order dividing 4, which is irrelevant for e.g. Decaf448 elements. The multiplication uses a signed fixed
+     * window over the odd multiples of phi(P). (See {@link TwistedPoint#multiply(NielsPoint[], Scalar, Scratch)}.)
+     *
+     * @param base    The point P.
+     * @param scalar  The scalar value.
+     * @param scratch The scratch space.
+     */
+    void multiplyPrimeOrder(final Point base, final Scalar scalar, final Scratch scratch) {
+        final NielsPoint[] multiples = NielsPoint.oddMultiples(base, TwistedPoint.FIXED_WINDOW_MULTIPLES);
+        final Scalar quarter = scalar.multiply(QUARTER);
+        try {
+            scratch.q0.multiply(multiples, quarter, scratch);
+        } finally {
+            quarter.clear();
+        }
+        setDualIsogeny(scratch.q0, scratch);
+    }
+
+    /**
+     * Map this point to the twisted curve, using the isogeny phi(x, y) = (2xy/(y^2-x^2), (x^2+y^2)/(2-x^2-y^2)). The
+     * denominators are non-zero for every point on Ed448.
+     *
+     * @param dst     The destination point on the twisted curve.
+     * @param scratch The scratch space.
+     */
+    void isogenyTo(final TwistedPoint dst, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.square(t[0], this.x);
+        FieldElement.square(t[1], this.y);
+        // t2 = x^2+y^2, t4 = 2xy, t5 = y^2-x^2, t6 = 2z^2-x^2-y^2
+        FieldElement.add(t[2], t[0], t[1]);
+        FieldElement.add(t[3], this.x, this.y);
+        FieldElement.square(t[4], t[3]);
+        FieldElement.subtract(t[4], t[4], t[2]);
+        FieldElement.subtract(t[5], t[1], t[0]);
+        FieldElement.square(t[6], this.z);
+        FieldElement.add(t[6], t[6], t[6]);
+        FieldElement.subtract(t[6], t[6], t[2]);
+        FieldElement.multiply(dst.x, t[6], t[4]);
+        FieldElement.multiply(dst.y, t[5], t[2]);
+        FieldElement.multiply(dst.z, t[5], t[6]);
+        FieldElement.multiply(dst.t, t[4], t[2]);
+    }
+
+    /**
+     * Set this point to the image of a point on the twisted curve, using the dual isogeny
+     * dual(x, y) = (2xy/(x^2+y^2), (y^2-x^2)/(2+x^2-y^2)). The denominators are non-zero for every point of odd order.
+     *
+     * @param src     The source point on the twisted curve.
+     * @param scratch The scratch space.
+     */
+    void setDualIsogeny(final TwistedPoint src, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.square(t[0], src.x);
+        FieldElement.square(t[1], src.y);
+        // t2 = x^2+y^2, t4 = 2xy, t5 = y^2-x^2, t6 = 2z^2-y^2+x^2
+        FieldElement.add(t[2], t[0], t[1]);
+        FieldElement.add(t[3], src.x, src.y);
+        FieldElement.square(t[4], t[3]);
+        FieldElement.subtract(t[4], t[4], t[2]);
+        FieldElement.subtract(t[5], t[1], t[0]);
+        FieldElement.square(t[6], src.z);
+        FieldElement.add(t[6], t[6], t[6]);
+        FieldElement.subtract(t[6], t[6], t[5]);
+        FieldElement.multiply(this.x, t[6], t[4]);
+        FieldElement.multiply(this.y, t[5], t[2]);
+        FieldElement.multiply(this.z, t[2], t[6]);
+        FieldElement.multiply(this.t, t[4], t[5]);
+    }
+
+    /**
+     * Test whether this point is the identity, i.e. X == 0 and Y == Z.
+     *
+     * @param scratch The scratch space.
+     * @return Returns true iff this point is the identity.
+     */
+    boolean isIdentity(final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        Arrays.fill(t[0], 0L);
+        final boolean zeroX = FieldElement.equal(this.x, t[0], t[1], t[2]);
+        final boolean equalYZ = FieldElement.equal(this.y, this.z, t[1], t[2]);
+        return zeroX & equalYZ;
+    }
+
+    /**
+     * Test equality with other point without converting to affine coordinates, i.e. X1*Z2 == X2*Z1 and
+     * Y1*Z2 == Y2*Z1.
+     *
+     * @param other   The other point.
+     * @param scratch The scratch space.
+     * @return Returns true iff both points represent the same Edwards point.
+     */
+    boolean isEqual(final MutablePoint other, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.multiply(t[0], this.x, other.z);
+        FieldElement.multiply(t[1], other.x, this.z);
+        FieldElement.multiply(t[2], this.y, other.z);
+        FieldElement.multiply(t[3], other.y, this.z);
+        final boolean equalX = FieldElement.equal(t[0], t[1], t[4], t[5]);
+        final boolean equalY = FieldElement.equal(t[2], t[3], t[4], t[5]);
+        return equalX & equalY;
+    }
+
+    /**
+     * Encode point according to RFC 8032 into destination array. One inversion is performed to acquire affine
+     * coordinates.
+     *
+     * @param dst     The destination array.
+     * @param offset  The offset at which to start writing.
+     * @param scratch The scratch space.
+     */
+    void encodeTo(final byte[] dst, final int offset, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.invert(t[0], this.z, t[1], t[2], t[3], t[4]);
+        encodeTo(dst, offset, t[0], scratch);
+    }
+
+    /**
+     * Encode point according to RFC 8032 into destination array, using a precomputed inverse of Z.
+     *
+     * @param dst      The destination array.
+     * @param offset   The offset at which to start writing.
+     * @param zInverse The inverse of Z. Must not be one of the temporaries 1 to 3 of the scratch space.
+     * @param scratch  The scratch space.
+     */
+    void encodeTo(final byte[] dst, final int offset, final long[] zInverse, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        assert zInverse != t[1] && zInverse != t[2] && zInverse != t[3] : "zInverse must not overlap with temporaries.";
+        FieldElement.multiply(t[1], this.x, zInverse);
+        FieldElement.multiply(t[2], this.y, zInverse);
+        // See Point#encodeTo(byte[], int) for RFC 8032 description of the encoding.
+        FieldElement.encode(dst, offset, t[2], t[3]);
+        dst[offset + ENCODED_LENGTH_BYTES - 1] = (byte) (FieldElement.isOdd(t[1], t[3]) ? 0x80 : 0x00);
+    }
+
+    /**
+     * Encode the u-coordinate of the image of this point on curve448, according to RFC 7748: 56 bytes little-endian.
+     * The 4-isogeny of RFC 7748, section 4.2, maps (x, y) to u = y^2/x^2, and maps the Ed448 base point to the curve448
+     * base point u = 5. One inversion is performed.
+     *
+     * @param dst     The destination array.
+     * @param offset  The offset at which to start writing.
+     * @param scratch The scratch space.
+     */
+    void encodeMontgomeryTo(final byte[] dst, final int offset, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.square(t[0], this.x);
+        FieldElement.invert(t[1], t[0], t[2], t[3], t[4], t[5]);
+        FieldElement.square(t[0], this.y);
+        FieldElement.multiply(t[2], t[0], t[1]);
+        FieldElement.encode(dst, offset, t[2], t[3]);
+    }
+
+    /**
+     * Decode point according to RFC 8032 from source array, and set this point to the result.
+     *
+     * @param src     The source array.
+     * @param offset  The offset at which the encoded point starts.
+     * @param scratch The scratch space.
+     * @throws Points.InvalidDataException In case of illegal point encoding.
+     */
+    void decodeFrom(final byte[] src, final int offset, final Scratch scratch) throws Points.InvalidDataException {
+        final long[][] t = scratch.temp;
+        final int last = src[offset + ENCODED_LENGTH_BYTES - 1] & 0xff;
+        final boolean xBit = (last & MOST_SIGNIFICANT_BIT_OF_BYTE) != 0;
+        FieldElement.decodeLimbs(this.y, src, offset);
+        if ((last & ~MOST_SIGNIFICANT_BIT_OF_BYTE) != 0 || !FieldElement.isCanonical(this.y)) {
+            throw new Points.InvalidDataException("Illegal value for Edwards coordinate y.");
+        }
+        ONE.copyTo(this.z);
+        // "Let
+        //       num = y^2 - 1
+        //     denom = d * y^2 - 1
+        //
+        // To compute the square root of (num/denom), compute the candidate root x = (num/denom)^((p+1)/4).
+        // This can be done using a single modular powering for both the inversion of denom and the square root:
+        //
+        //     x = ((num ^ 3) * denom * (num^5 * denom^3) ^ ((p-3)/4)) (mod p)
+        //
+        // If
+        //     denom * x^2 = num
+        //
+        // then the recovered x-coordinate is x. Otherwise, no square root exists, and the decoding fails."
+        //
+        // Equivalently, and with fewer multiplications, the candidate root is computed as:
+        //
+        //     x = num * (num * denom) ^ ((p-3)/4) (mod p)
+        FieldElement.square(t[0], this.y);
+        FieldElement.subtract(t[1], t[0], this.z);
+        FieldElement.multiply(t[2], D_LIMBS, t[0]);
+        FieldElement.subtract(t[2], t[2], this.z);
+        FieldElement.multiply(t[3], t[1], t[2]);
+        FieldElement.inverseSquareRoot(t[4], t[3], t[5], t[6], t[7]);
+        FieldElement.multiply(this.x, t[1], t[4]);
+        FieldElement.square(t[3], this.x);
+        FieldElement.multiply(t[4], t[3], t[2]);
+        if (!FieldElement.equal(t[1], t[4], t[5], t[6])) {
+            throw new Points.InvalidDataException("No square root exists.");
+        }
+        Arrays.fill(t[0], 0L);
+        if (FieldElement.equal(this.x, t[0], t[5], t[6]) && xBit) {
+            throw new Points.InvalidDataException("Sign bit is 1 for x = 0.");
+        }
+        if (xBit != FieldElement.isOdd(this.x, t[5])) {
+            FieldElement.subtract(this.x, t[0], this.x);
+        }
+        FieldElement.multiply(this.t, this.x, this.y);
+    }
+
+    /**
+     * Convert to immutable point.
+     *
+     * @return Returns point in extended representation.
+     */
+    @Nonnull
+    ExtendedPoint toPoint() {
+        return new ExtendedPoint(FieldElement.fromLimbs(this.x), FieldElement.fromLimbs(this.y),
+            FieldElement.fromLimbs(this.z), FieldElement.fromLimbs(this.t));
+    }
+
+    /**
+     * Convert to immutable affine point. Only applicable to points with Z = 1, such as decoded points.
+     *
+     * @return Returns point in affine representation.
+     */
+    @Nonnull
+    AffinePoint toAffine() {
+        assert ONE.equals(FieldElement.fromLimbs(this.z)) : "Point must be normalized.";
+        return new AffinePoint(FieldElement.fromLimbs(this.x), FieldElement.fromLimbs(this.y));
+    }
+
+    /**
+     * Convert normalized point to affine representation that retains the provided encoding, e.g. after decoding.
+     *
+     * @param encoded The RFC 8032 encoding of this point.
+     * @return Returns point in affine representation.
+     */
+    @Nonnull
+    AffinePoint toAffine(final byte[] encoded) {
+        assert ONE.equals(FieldElement.fromLimbs(this.z)) : "Point must be normalized.";
+        return new AffinePoint(FieldElement.fromLimbs(this.x), FieldElement.fromLimbs(this.y), encoded);
+    }
+
+    /**
+     * Clear coordinates.
+     */
+    void clear() {
+        Arrays.fill(this.x, 0L);
+        Arrays.fill(this.y, 0L);
+        Arrays.fill(this.z, 0L);
+        Arrays.fill(this.t, 0L);
+    }
+}
@@ -0,0 +1,182 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static nl.dannyvanheumen.joldilocks.TwistedPoint.MINUS_TWO_D;
+
+/**
+ * NielsPoint is a precomputed point on the twisted curve (see {@link TwistedPoint}), in the normalized form
+ * (y+x, y-x, -2(d-1)xy), for use in tables of points.
+ * <p>
+ * Adding a NielsPoint to a twisted point in extended coordinates ("mixed addition") costs 7 multiplications instead of
+ * 8, as Z = 1 and the factor 2d is already applied. Conversion from a point requires an inversion, therefore this form
+ * only pays off for points that are added many times, such as the base point or cached public keys. Use
+ * {@link #fromPoints(Point[])} to convert many points at the cost of a single inversion.
+ * <p>
+ * A NielsPoint stores phi(P), the image of a point on Ed448 under the 4-isogeny. As the 4-torsion is the kernel of phi,
+ * a NielsPoint is not a {@link Point}. Converted points are never modified. Instances in scratch space serve as the
+ * destination of constant-time table lookups (see {@link #select(NielsPoint[], int)}).
+ */
+final class NielsPoint {
+
+    final long[] yPlusX = new long[LIMBS];
+    final long[] yMinusX = new long[LIMBS];
+    final long[] xy2d = new long[LIMBS];
+
+    /**
+     * Construct instance with all components zero, for use as scratch space.
+     */
+    NielsPoint() {
+        // Instances are created by conversion from points, or as scratch space.
+    }
+
+    /**
+     * Convert point to precomputed form.
+     *
+     * @param p The point.
+     * @return Returns precomputed form of phi(p).
+     */
+    @Nonnull
+    static NielsPoint fromPoint(final Point p) {
+        return fromPoints(new Point[]{p})[0];
+    }
+
+    /**
+     * Convert many points to precomputed form at the cost of a single inversion, using Montgomery's trick. (See
+     * {@link FieldElement#invertAll(FieldElement[])}.)
+     *
+     * @param points The points.
+     * @return Returns precomputed forms of phi(p), in the same order.
+     */
+    @Nonnull
+    static NielsPoint[] fromPoints(final Point[] points) {
+        final int count = points.length;
+        final NielsPoint[] results = new NielsPoint[count];
+        if (count == 0) {
+            return results;
+        }
+        final long[][] xs = new long[count][LIMBS];
+        final long[][] ys = new long[count][LIMBS];
+        final long[][] zs = new long[count][LIMBS];
+        // products[i] = z[0] * ... * z[i]
+        final long[][] products = new long[count][LIMBS];
+        // A separate scratch instance, as conversion may happen during initialization of tables in the middle of a
+        // computation that uses the thread-local scratch space.
+        final Scratch scratch = new Scratch();
+        final long[][] t = scratch.temp;
+        try {
+            for (int i = 0; i < count; i++) {
+                scratch.p0.set(requireNonNull(points[i]));
+                scratch.p0.isogenyTo(scratch.q0, scratch);
+                System.arraycopy(scratch.q0.x, 0, xs[i], 0, LIMBS);
+                System.arraycopy(scratch.q0.y, 0, ys[i], 0, LIMBS);
+                System.arraycopy(scratch.q0.z, 0, zs[i], 0, LIMBS);
+                if (i == 0) {
+                    System.arraycopy(zs[0], 0, products[0], 0, LIMBS);
+                } else {
+                    FieldElement.multiply(products[i], products[i - 1], zs[i]);
+                }
+            }
+            // t[5] = 1 / (z[0] * ... * z[i]), starting at the last index.
+            FieldElement.invert(t[5], products[count - 1], t[1], t[2], t[3], t[4]);
+            for (int i = count - 1; i > 0; i--) {
+                FieldElement.multiply(t[6], t[5], products[i - 1]);
+                results[i] = normalize(xs[i], ys[i], t[6], t);
+                FieldElement.multiply(t[7], t[5], zs[i]);
+                System.arraycopy(t[7], 0, t[5], 0, LIMBS);
+            }
+            results[0] = normalize(xs[0], ys[0], t[5], t);
+        } finally {
+            scratch.clear();
+        }
+        return results;
+    }
+
+    /**
+     * Compute the odd multiples of a point in precomputed form, for use as table of a non-adjacent form.
+     *
+     * @param p     The point.
+     * @param count The number of odd multiples.
+     * @return Returns precomputed forms of phi([2i+1]p), for i in [0, count).
+     */
+    @Nonnull
+    static NielsPoint[] oddMultiples(final Point p, final int count) {
+        final Point[] multiples = new Point[count];
+        final ExtendedPoint base = ExtendedPoint.fromPoint(p);
+        final ExtendedPoint twice = base.doubling();
+        ExtendedPoint current = base;
+        for (int i = 0; i < count; i++) {
+            multiples[i] = current;
+            current = current.add(twice);
+        }
+        return fromPoints(multiples);
+    }
+
+    /**
+     * Compute the precomputed form from projective coordinates X, Y and the inverse of Z. Temporaries 0 to 2 are used.
+     */
+    @Nonnull
+    private static NielsPoint normalize(final long[] x, final long[] y, final long[] zInverse, final long[][] t) {
+        final NielsPoint result = new NielsPoint();
+        FieldElement.multiply(t[0], x, zInverse);
+        FieldElement.multiply(t[1], y, zInverse);
+        FieldElement.add(result.yPlusX, t[1], t[0]);
+        FieldElement.subtract(result.yMinusX, t[1], t[0]);
+        FieldElement.multiply(t[2], t[0], t[1]);
+        FieldElement.multiplySmall(result.xy2d, t[2], MINUS_TWO_D);
+        return result;
+    }
+
+    /**
+     * Set this point to table[index] in constant time: every entry of the table is read, and the entry is selected
+     * using masks, such that neither the memory access pattern nor the timing depends on the index.
+     *
+     * @param table The table of points.
+     * @param index The index of the entry to select, in range [0, table.length).
+     */
+    void select(final NielsPoint[] table, final int index) {
+        Arrays.fill(this.yPlusX, 0L);
+        Arrays.fill(this.yMinusX, 0L);
+        Arrays.fill(this.xy2d, 0L);
+        for (int i = 0; i < table.length; i++) {
+            // mask is all ones iff i == index, otherwise zero.
+            final long mask = -(long) (((i ^ index) - 1) >>> 31);
+            final NielsPoint entry = table[i];
+            for (int j = 0; j < LIMBS; j++) {
+                this.yPlusX[j] |= entry.yPlusX[j] & mask;
+                this.yMinusX[j] |= entry.yMinusX[j] & mask;
+                this.xy2d[j] |= entry.xy2d[j] & mask;
+            }
+        }
+    }
+
+    /**
+     * Negate this point in constant time iff negate is 1. The negation of (y+x, y-x, 2dxy) is (y-x, y+x, -2dxy).
+     *
+     * @param negate 1 to negate, 0 to leave this point unchanged.
+     * @param temp   Temporary array.
+     */
+    void conditionalNegate(final int negate, final long[] temp) {
+        final long mask = -(long) negate;
+        Arrays.fill(temp, 0L);
+        FieldElement.subtract(temp, temp, this.xy2d);
+        for (int j = 0; j < LIMBS; j++) {
+            final long swap = (this.yPlusX[j] ^ this.yMinusX[j]) & mask;
+            this.yPlusX[j] ^= swap;
+            this.yMinusX[j] ^= swap;
+            this.xy2d[j] ^= (this.xy2d[j] ^ temp[j]) & mask;
+        }
+    }
+
+    /**
+     * Clear components.
+     */
+    void clear() {
+        Arrays.fill(this.yPlusX, 0L);
+        Arrays.fill(this.yMinusX, 0L);
+        Arrays.fill(this.xy2d, 0L);
+    }
+}
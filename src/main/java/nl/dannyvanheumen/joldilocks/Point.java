@@ -1,11 +1,14 @@
 package nl.dannyvanheumen.joldilocks;
 
+import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
 
+import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.ZERO;
+import static java.util.Objects.requireNonNull;
 import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
 import static nl.dannyvanheumen.joldilocks.Points.LEAST_SIGNIFICANT_BIT_OF_BYTE;
 import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndian;
@@ -19,7 +22,6 @@ import static org.bouncycastle.util.Arrays.clear;
  * <p>
  * Several implementations of the Point interface exist for efficiency reasons.
  */
-// TODO add 'isIdentity' method such that implementations can define their own identity-check logic. (Different implementations have different checking logic.)
 public interface Point {
 
     /**
@@ -72,6 +74,18 @@ public interface Point {
     @Nonnull
     Point doubling();
 
+    /**
+     * Test whether this point is the identity point (0, 1).
+     * <p>
+     * Implementations may override this method to test without conversion to affine coordinates.
+     *
+     * @return Returns true iff this point is the identity.
+     */
+    @CheckReturnValue
+    default boolean isIdentity() {
+        return ZERO.equals(x()) && ONE.equals(y());
+    }
+
     /**
      * Equality of Edwards points.
      * <p>
@@ -91,26 +105,41 @@ public interface Point {
     // TODO Consider replacing with Montgomery Ladder or some other safer multiplication algorithm.
     @Nonnull
     default Point multiply(final BigInteger scalar) {
+        return multiply(scalar, Scratch.local());
+    }
+
+    /**
+     * Multiply the point with given scalar value, using provided scratch space for intermediate values.
+     *
+     * @param scalar  the scalar value
+     * @param scratch the scratch space, for use by the current thread only
+     * @return Returns new point that is result of multiplication.
+     */
+    @Nonnull
+    default Point multiply(final BigInteger scalar, final Scratch scratch) {
         //
         // Current implementation is based on Double-and-Add, as described in Wikipedia. (And RFC 8032)
         // https://en.wikipedia.org/wiki/Elliptic_curve_point_multiplication#Double-and-add
         //
-        //     N ← P
         //     Q ← 0
-        //     for i from 0 to m do
+        //     for i from m downto 0 do
+        //         Q ← point_double(Q)
         //         if di = 1 then
-        //             Q ← point_add(Q, N)
-        //         N ← point_double(N)
+        //             Q ← point_add(Q, P)
         //     return Q
-        Point p = this;
-        Point q = Points.identity();
-        for (int i = 0; i < scalar.bitLength(); i++) {
-            if (scalar.testBit(i)) {
-                q = q.add(p);
-            }
-            p = p.add(p);
+        //
+        // Computation is performed in extended coordinates on the 4-isogenous twisted curve (see
+        // MutablePoint#multiply), such that no inversions are needed. The resulting point is converted to affine
+        // coordinates only when needed. Intermediate values are computed in place in the
+        // scratch space, such that no memory is allocated apart from the resulting point.
+        requireNonNull(scalar);
+        try {
+            scratch.p1.set(this);
+            scratch.p0.multiply(scratch.p1, scalar, scratch);
+            return scratch.p0.toPoint();
+        } finally {
+            scratch.clear();
         }
-        return q;
     }
 
     /**
@@ -0,0 +1,335 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+
+import static java.util.Objects.requireNonNull;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
+
+/**
+ * PointBatch is a fixed-size container of Edwards points for bulk operations, such as decoding many stored public keys
+ * or deriving many public keys.
+ * <p>
+ * Points are stored in extended coordinates as structure-of-arrays: one contiguous array of limbs per coordinate,
+ * instead of an array of {@link Point} instances. Batch operations work on this storage directly, one point at a time
+ * in the thread-local {@link Scratch} space, such that no objects are created per point. Encoding the batch costs a
+ * single inversion in total.
+ * <p>
+ * PointBatch is mutable and NOT thread-safe.
+ */
+public final class PointBatch {
+
+    private final int size;
+
+    private final long[] x;
+    private final long[] y;
+    private final long[] z;
+    private final long[] t;
+
+    /**
+     * Construct a new batch, with every point initialized to the identity.
+     *
+     * @param size The number of points.
+     */
+    public PointBatch(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be non-negative.");
+        }
+        this.size = size;
+        this.x = new long[size * LIMBS];
+        this.y = new long[size * LIMBS];
+        this.z = new long[size * LIMBS];
+        this.t = new long[size * LIMBS];
+        for (int i = 0; i < size; i++) {
+            this.y[i * LIMBS] = 1;
+            this.z[i * LIMBS] = 1;
+        }
+    }
+
+    /**
+     * Construct a new batch containing provided points.
+     *
+     * @param points The points.
+     * @return Returns batch with the points at the corresponding indices.
+     */
+    @Nonnull
+    public static PointBatch of(final Point... points) {
+        final PointBatch batch = new PointBatch(points.length);
+        for (int i = 0; i < points.length; i++) {
+            batch.set(i, points[i]);
+        }
+        return batch;
+    }
+
+    /**
+     * Construct a new batch containing the base point multiplied by each scalar, e.g. to derive many public keys.
+     *
+     * @param scalars The scalar values.
+     * @return Returns batch with the multiples of the base point at the corresponding indices.
+     */
+    @Nonnull
+    public static PointBatch multiplyByBase(final BigInteger[] scalars) {
+        final PointBatch batch = new PointBatch(scalars.length);
+        final Scratch scratch = Scratch.local();
+        try {
+            for (int i = 0; i < scalars.length; i++) {
+                scratch.p0.multiplyByBase(requireNonNull(scalars[i]), scratch);
+                scratch.p0.copyTo(batch.x, batch.y, batch.z, batch.t, i * LIMBS);
+            }
+        } finally {
+            scratch.clear();
+        }
+        return batch;
+    }
+
+    /**
+     * Decode a number of consecutive encoded points.
+     *
+     * @param src    The source array.
+     * @param offset The offset at which the first encoded point starts.
+     * @param count  The number of encoded points, each of 57 bytes.
+     * @return Returns batch with the decoded points.
+     * @throws Points.InvalidDataException In case any of the encoded points is illegal.
+     */
+    @Nonnull
+    public static PointBatch decode(final byte[] src, final int offset, final int count)
+        throws Points.InvalidDataException {
+        requireNonNull(src);
+        if (offset < 0 || count < 0 || src.length - offset < count * ENCODED_LENGTH_BYTES) {
+            throw new IllegalArgumentException("Insufficient data for " + count + " encoded points.");
+        }
+        final PointBatch batch = new PointBatch(count);
+        final Scratch scratch = Scratch.local();
+        try {
+            final MutablePoint point = scratch.p0;
+            for (int i = 0; i < count; i++) {
+                point.decodeFrom(src, offset + i * ENCODED_LENGTH_BYTES, scratch);
+                point.copyTo(batch.x, batch.y, batch.z, batch.t, i * LIMBS);
+            }
+        } finally {
+            scratch.clear();
+        }
+        return batch;
+    }
+
+    /**
+     * The number of points in the batch.
+     *
+     * @return Returns the size.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Set point at index.
+     *
+     * @param index The index.
+     * @param p     The point.
+     */
+    public void set(final int index, final Point p) {
+        checkIndex(index);
+        requireNonNull(p);
+        final Scratch scratch = Scratch.local();
+        try {
+            scratch.p0.set(p);
+            scratch.p0.copyTo(this.x, this.y, this.z, this.t, index * LIMBS);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Set every point in the batch to the same point.
+     *
+     * @param p The point.
+     */
+    public void fill(final Point p) {
+        requireNonNull(p);
+        final Scratch scratch = Scratch.local();
+        try {
+            scratch.p0.set(p);
+            for (int i = 0; i < this.size; i++) {
+                scratch.p0.copyTo(this.x, this.y, this.z, this.t, i * LIMBS);
+            }
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Get point at index.
+     *
+     * @param index The index.
+     * @return Returns a (new) point instance.
+     */
+    @Nonnull
+    public Point get(final int index) {
+        checkIndex(index);
+        final Scratch scratch = Scratch.local();
+        try {
+            scratch.p0.copyFrom(this.x, this.y, this.z, this.t, index * LIMBS);
+            return scratch.p0.toPoint();
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Add the points of the other batch to the points of this batch, index by index.
+     *
+     * @param other The other batch, of the same size.
+     */
+    public void add(final PointBatch other) {
+        if (other.size != this.size) {
+            throw new IllegalArgumentException("Batches must be of the same size.");
+        }
+        final Scratch scratch = Scratch.local();
+        try {
+            for (int i = 0; i < this.size; i++) {
+                scratch.p0.copyFrom(this.x, this.y, this.z, this.t, i * LIMBS);
+                scratch.p1.copyFrom(other.x, other.y, other.z, other.t, i * LIMBS);
+                scratch.p0.add(scratch.p1, scratch);
+                scratch.p0.copyTo(this.x, this.y, this.z, this.t, i * LIMBS);
+            }
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Double every point in the batch.
+     */
+    public void doubling() {
+        final Scratch scratch = Scratch.local();
+        try {
+            for (int i = 0; i < this.size; i++) {
+                scratch.p0.copyFrom(this.x, this.y, this.z, this.t, i * LIMBS);
+                scratch.p0.doubling(scratch);
+                scratch.p0.copyTo(this.x, this.y, this.z, this.t, i * LIMBS);
+            }
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Multiply every point in the batch with the same scalar.
+     * <p>
+     * The multiplication uses Double-and-Add (see {@link Point#multiply(BigInteger)}), such that the sequence of
+     * operations depends on the scalar. Use this method only for public scalars. For secret scalars, such as the
+     * derivation of public keys, use {@link #multiplyByBase(BigInteger[])}.
+     *
+     * @param scalar The non-negative, public scalar value.
+     */
+    public void multiply(final BigInteger scalar) {
+        requireNonNull(scalar);
+        final Scratch scratch = Scratch.local();
+        try {
+            for (int i = 0; i < this.size; i++) {
+                multiply(i, scalar, scratch);
+            }
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Multiply every point in the batch with the scalar at the corresponding index.
+     * <p>
+     * As with {@link #multiply(BigInteger)}, the sequence of operations depends on the scalars. Use this method only
+     * for public scalars.
+     *
+     * @param scalars The non-negative, public scalar values. The number of scalars must be equal to the size of the
+     *                batch.
+     */
+    public void multiply(final BigInteger[] scalars) {
+        if (scalars.length != this.size) {
+            throw new IllegalArgumentException("Expected exactly one scalar per point.");
+        }
+        final Scratch scratch = Scratch.local();
+        try {
+            for (int i = 0; i < this.size; i++) {
+                multiply(i, requireNonNull(scalars[i]), scratch);
+            }
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    private void multiply(final int index, final BigInteger scalar, final Scratch scratch) {
+        scratch.p1.copyFrom(this.x, this.y, this.z, this.t, index * LIMBS);
+        scratch.p0.multiply(scratch.p1, scalar, scratch);
+        scratch.p0.copyTo(this.x, this.y, this.z, this.t, index * LIMBS);
+    }
+
+    /**
+     * Encode all points according to RFC 8032.
+     *
+     * @return Returns the concatenation of the encoded points, 57 bytes per point.
+     */
+    @Nonnull
+    public byte[] encode() {
+        final byte[] result = new byte[this.size * ENCODED_LENGTH_BYTES];
+        encodeTo(result, 0);
+        return result;
+    }
+
+    /**
+     * Encode all points according to RFC 8032 into destination array.
+     * <p>
+     * All Z-coordinates are inverted at the cost of a single inversion, using Montgomery's trick. (See
+     * {@link FieldElement#invertAll(FieldElement[])}.)
+     *
+     * @param dst    The destination array, with at least 57 bytes per point available starting at offset.
+     * @param offset The offset at which to start writing.
+     */
+    public void encodeTo(final byte[] dst, final int offset) {
+        if (offset < 0 || dst.length - offset < this.size * ENCODED_LENGTH_BYTES) {
+            throw new IllegalArgumentException("Insufficient space for " + this.size + " encoded points.");
+        }
+        if (this.size == 0) {
+            return;
+        }
+        final Scratch scratch = Scratch.local();
+        final long[][] t = scratch.temp;
+        // products[i] = z[0] * ... * z[i]
+        final long[] products = new long[this.size * LIMBS];
+        System.arraycopy(this.z, 0, products, 0, LIMBS);
+        try {
+            for (int i = 1; i < this.size; i++) {
+                System.arraycopy(products, (i - 1) * LIMBS, t[0], 0, LIMBS);
+                System.arraycopy(this.z, i * LIMBS, t[1], 0, LIMBS);
+                FieldElement.multiply(t[2], t[0], t[1]);
+                System.arraycopy(t[2], 0, products, i * LIMBS, LIMBS);
+            }
+            // t[5] = 1 / (z[0] * ... * z[i]), starting at the last index.
+            System.arraycopy(products, (this.size - 1) * LIMBS, t[0], 0, LIMBS);
+            FieldElement.invert(t[5], t[0], t[1], t[2], t[3], t[4]);
+            for (int i = this.size - 1; i > 0; i--) {
+                System.arraycopy(products, (i - 1) * LIMBS, t[0], 0, LIMBS);
+                FieldElement.multiply(t[6], t[5], t[0]);
+                encodeTo(i, dst, offset, t[6], scratch);
+                System.arraycopy(this.z, i * LIMBS, t[0], 0, LIMBS);
+                FieldElement.multiply(t[7], t[5], t[0]);
+                System.arraycopy(t[7], 0, t[5], 0, LIMBS);
+            }
+            encodeTo(0, dst, offset, t[5], scratch);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    private void encodeTo(final int index, final byte[] dst, final int offset, final long[] zInverse,
+            final Scratch scratch) {
+        scratch.p0.copyFrom(this.x, this.y, this.z, this.t, index * LIMBS);
+        scratch.p0.encodeTo(dst, offset + index * ENCODED_LENGTH_BYTES, zInverse, scratch);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+    }
+}
@@ -3,15 +3,15 @@ package nl.dannyvanheumen.joldilocks;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.ZERO;
-import static nl.dannyvanheumen.joldilocks.BigIntegers.FOUR;
-import static nl.dannyvanheumen.joldilocks.BigIntegers.TWO;
-import static nl.dannyvanheumen.joldilocks.Ed448.D;
-import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
 import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
-import static nl.dannyvanheumen.joldilocks.Scalars.decodeLittleEndian;
 
 /**
  * Utility methods for managing points and point representation conversions.
@@ -25,7 +25,7 @@ public final class Points {
 
     static final int LEAST_SIGNIFICANT_BIT_OF_BYTE = 0x01;
 
-    private static final int MOST_SIGNIFICANT_BIT_OF_BYTE = 0x80;
+    static final int MOST_SIGNIFICANT_BIT_OF_BYTE = 0x80;
 
     private Points() {
         // No need to instantiate utility class.
@@ -72,10 +72,11 @@ public final class Points {
      *
      * @param p point
      * @return Returns true if p is identity, or false otherwise.
+     * @see Point#isIdentity()
      */
     @CheckReturnValue
     public static boolean checkIdentity(final Point p) {
-        return ZERO.equals(p.x()) && ONE.equals(p.y());
+        return p.isIdentity();
     }
 
     /**
@@ -89,59 +90,159 @@ public final class Points {
         if (point instanceof AffinePoint) {
             return (AffinePoint) point;
         }
+        if (point instanceof ExtendedPoint) {
+            return ((ExtendedPoint) point).toAffine();
+        }
         return new AffinePoint(point.x(), point.y());
     }
 
     /**
-     * Decode encoded Point according to RFC8032.
+     * Convert many points to Affine point representation at once.
+     * <p>
+     * Points in extended representation need an inversion to acquire affine coordinates. Conversion of all points is
+     * performed at the cost of a single inversion in total, using Montgomery's trick. Converted points retain their
+     * affine coordinates, such that subsequent encoding and coordinate access are cheap.
+     *
+     * @param points Arbitrary types of Edwards points.
+     * @return Returns points in affine representation with same Edwards coordinates, in the same order.
+     */
+    @Nonnull
+    public static Point[] toAffineAll(final Point[] points) {
+        final Point[] results = new Point[points.length];
+        final ExtendedPoint[] extended = new ExtendedPoint[points.length];
+        final FieldElement[] denominators = new FieldElement[points.length];
+        int count = 0;
+        for (int i = 0; i < points.length; i++) {
+            final Point p = requireNonNull(points[i]);
+            if (p instanceof ExtendedPoint && !((ExtendedPoint) p).isNormalized()) {
+                extended[count] = (ExtendedPoint) p;
+                denominators[count] = extended[count].zElement();
+                count++;
+            } else {
+                results[i] = toAffine(p);
+            }
+        }
+        final FieldElement[] inverses = FieldElement.invertAll(Arrays.copyOf(denominators, count));
+        for (int i = 0; i < count; i++) {
+            extended[i].toAffine(inverses[i]);
+        }
+        for (int i = 0; i < points.length; i++) {
+            if (results[i] == null) {
+                results[i] = toAffine(points[i]);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Convert many points to Affine point representation at once.
+     *
+     * @param points Arbitrary types of Edwards points.
+     * @return Returns points in affine representation with same Edwards coordinates, in iteration order of the
+     * collection.
+     * @see #toAffineAll(Point[])
+     */
+    @Nonnull
+    public static List<Point> toAffineAll(final Collection<? extends Point> points) {
+        return asList(toAffineAll(points.toArray(new Point[0])));
+    }
+
+    /**
+     * Encode many points according to RFC8032 at once. Points are converted to affine representation at the cost of a
+     * single inversion in total.
+     *
+     * @param points Arbitrary types of Edwards points.
+     * @return Returns encoded points, in the same order.
+     * @see #toAffineAll(Point[])
+     */
+    @Nonnull
+    public static byte[][] encodeAll(final Point[] points) {
+        final Point[] affine = toAffineAll(points);
+        final byte[][] encoded = new byte[affine.length][];
+        for (int i = 0; i < affine.length; i++) {
+            encoded[i] = affine[i].encode();
+        }
+        return encoded;
+    }
+
+    /**
+     * Encode many points according to RFC8032 at once.
+     *
+     * @param points Arbitrary types of Edwards points.
+     * @return Returns encoded points, in iteration order of the collection.
+     * @see #encodeAll(Point[])
+     */
+    @Nonnull
+    public static List<byte[]> encodeAll(final Collection<? extends Point> points) {
+        return asList(encodeAll(points.toArray(new Point[0])));
+    }
+
+    /**
+     * Compute the sum of scalar multiples sum [k_i]P_i, for many points at once.
+     * <p>
+     * All multiplications share the same doublings. For fewer than 128 points, Straus' method is used, otherwise
+     * Pippenger's bucket method. This is considerably faster than n separate multiplications, e.g. for ring signatures
+     * or batch verification. The scalars may be of any size, and the points may be outside of the prime-order
+     * subgroup.
+     * <p>
+     * NOTE: the computation is not constant-time. Use only for public scalars.
+     *
+     * @param scalars The scalars k_i.
+     * @param points  The points P_i, with as many points as scalars.
+     * @return Returns the sum of scalar multiples.
+     * @throws IllegalArgumentException In case the number of scalars and points differs.
+     */
+    @Nonnull
+    public static Point multiScalarMultiply(final BigInteger[] scalars, final Point[] points) {
+        final Scratch scratch = Scratch.local();
+        final MutablePoint result = new MutablePoint();
+        try {
+            MultiScalar.multiply(result, scalars, points, scratch);
+        } finally {
+            scratch.clear();
+        }
+        return result.toPoint();
+    }
+
+    /**
+     * Compute the sum of scalar multiples sum [k_i]P_i, for many points at once.
+     *
+     * @param scalars The scalars k_i.
+     * @param points  The points P_i, in the same order as the scalars.
+     * @return Returns the sum of scalar multiples.
+     * @see #multiScalarMultiply(BigInteger[], Point[])
+     */
+    @Nonnull
+    public static Point multiScalarMultiply(final List<BigInteger> scalars, final List<? extends Point> points) {
+        return multiScalarMultiply(scalars.toArray(new BigInteger[0]), points.toArray(new Point[0]));
+    }
+
+    /**
+     * Decode encoded Point according to RFC8032. The returned point retains a copy of the encoded point.
      *
      * @param encodedPoint Encoded Edwards point
      * @return Returns point instance.
      */
     @Nonnull
     public static Point decode(final byte[] encodedPoint) throws InvalidDataException {
-        // Make a copy first, as we have the flip a bit and we do not want to modify the input data.
-        final byte[] encodedBytes = encodedPoint.clone();
-        if (encodedBytes.length != ENCODED_LENGTH_BYTES) {
+        if (encodedPoint.length != ENCODED_LENGTH_BYTES) {
             throw new InvalidDataException("Signature has invalid length. Expected exactly 57 bytes.");
         }
-        final int xBit = (encodedBytes[ENCODED_LENGTH_BYTES - 1] & MOST_SIGNIFICANT_BIT_OF_BYTE) >> 7;
-        encodedBytes[ENCODED_LENGTH_BYTES - 1] ^= (encodedBytes[ENCODED_LENGTH_BYTES - 1] & MOST_SIGNIFICANT_BIT_OF_BYTE);
-        final BigInteger y = decodeLittleEndian(encodedBytes);
-        if (y.compareTo(MODULUS) >= 0) {
-            throw new InvalidDataException("Illegal value for Edwards coordinate y.");
-        }
-        // "Let
-        //       num = y^2 - 1
-        //     denom = d * y^2 - 1
-        //
-        // To compute the square root of (num/denom), compute the candidate root x = (num/denom)^((p+1)/4).
-        // This can be done using a single modular powering for both the inversion of denom and the square root:
-        //
-        //     x = ((num ^ 3) * denom * (num^5 * denom^3) ^ ((p-3)/4)) (mod p)
-        //
-        // If
-        //     denom * x^2 = num
-        //
-        // then the recovered x-coordinate is x. Otherwise, no square root exists, and the decoding fails."
-        final BigInteger num = y.multiply(y).subtract(ONE);
-        final BigInteger denom = D.multiply(y.multiply(y)).subtract(ONE);
-        final BigInteger x2 = num.multiply(denom.modInverse(MODULUS));
-        final BigInteger prelimX = x2.modPow(MODULUS.add(ONE).divide(FOUR), MODULUS);
-        if (num.mod(MODULUS).compareTo(prelimX.multiply(prelimX).multiply(denom).mod(MODULUS)) != 0) {
-            throw new InvalidDataException("No square root exists.");
-        }
-        if (prelimX.equals(ZERO) && xBit != 0) {
-            throw new InvalidDataException("Sign bit is 1 for x = 0.");
-        }
-        final BigInteger x = xBit == prelimX.mod(TWO).intValue() ? prelimX : MODULUS.subtract(prelimX);
-        return new AffinePoint(x, y);
+        final Scratch scratch = Scratch.local();
+        try {
+            final MutablePoint point = scratch.p0;
+            point.decodeFrom(encodedPoint, 0, scratch);
+            return point.toAffine(encodedPoint);
+        } finally {
+            scratch.clear();
+        }
     }
 
     /**
      * Test equality of points.
      * <p>
-     * Equals iff a.x == b.x and a.y == b.y.
+     * Equals iff a.x == b.x and a.y == b.y. Points in extended representation are compared without conversion to
+     * affine coordinates.
      *
      * @param a The first point.
      * @param b The second point.
@@ -149,6 +250,12 @@ public final class Points {
      */
     @CheckReturnValue
     public static boolean equals(@Nonnull final Point a, @Nonnull final Point b) {
+        if (a instanceof ExtendedPoint && (b instanceof ExtendedPoint || b instanceof AffinePoint)) {
+            return a.equals(b);
+        }
+        if (b instanceof ExtendedPoint && a instanceof AffinePoint) {
+            return b.equals(a);
+        }
         return a.x().equals(b.x()) && a.y().equals(b.y());
     }
 
@@ -170,6 +277,11 @@ public final class Points {
             return ONE;
         }
 
+        @Override
+        public boolean isIdentity() {
+            return true;
+        }
+
         @Nonnull
         @Override
         public Point negate() {
@@ -194,7 +306,9 @@ public final class Points {
      */
     public static final class InvalidDataException extends Exception {
 
-        private InvalidDataException(final String message) {
+        private static final long serialVersionUID = 1L;
+
+        InvalidDataException(final String message) {
             super("Illegal point data: " + message);
         }
     }
@@ -0,0 +1,255 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * PublicKeyCache is a bounded, thread-safe cache of decoded public keys with precomputed tables, for verification of
+ * many signatures by a limited set of signers. (See
+ * {@link Ed448#verify(byte[], byte[], byte[], byte[], PublicKeyCache)}.)
+ * <p>
+ * Entries are keyed by the encoded public key. On a hit, verification skips decoding of the public key and
+ * computation of its odd multiples for the double-scalar multiplication. The cached multiples are normalized (see
+ * {@link NielsPoint}), and use a wider window than multiples computed during verification, so verification with a
+ * cached key is faster still. On a miss, the public key is decoded and its multiples are computed, at the cost of a
+ * single inversion. Public keys that fail to decode are not cached.
+ * <p>
+ * The number of entries is bounded by the capacity. When an entry is added to a full cache, an approximately least
+ * recently used entry is evicted: the least recently used of a sample of {@value #SAMPLE} entries. For a capacity of
+ * at most {@value #SAMPLE} entries, eviction is exactly least recently used. Otherwise, an evicted entry is never one
+ * of the {@value #SAMPLE} - 1 most recently used entries. Eviction inspects at most {@value #SAMPLE} entries,
+ * regardless of the capacity.
+ * <p>
+ * Lookups of cached public keys do not block: a hit only reads the concurrent map and stamps the entry with the
+ * current value of a logical clock. Insertion and eviction are synchronized, but only happen on a miss, which is
+ * expensive regardless. Decoding and computation of multiples on a miss are performed outside of the lock, such that
+ * concurrent misses do not wait for each other. The number of hits and misses is counted, e.g. for monitoring the
+ * effectiveness of the cache.
+ * <p>
+ * The cache holds only public data.
+ */
+public final class PublicKeyCache {
+
+    /**
+     * Window width of the non-adjacent form of scalars for cached public keys.
+     */
+    static final int WIDTH = 7;
+
+    /**
+     * Number of entries sampled for eviction.
+     */
+    static final int SAMPLE = 8;
+
+    private final int capacity;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The keys of the entries, in arbitrary order, for sampling on eviction. Guarded by itself. Every key is present
+     * in the map of entries, and entries are only added or removed while holding this lock.
+     */
+    private final ArrayList<Key> keys = new ArrayList<>();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create new cache.
+     *
+     * @param capacity The maximum number of public keys in the cache, at least 1.
+     */
+    public PublicKeyCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Acquire the decoded public key, from the cache if present.
+     *
+     * @param encodedPublicKey The encoded public key of 57 bytes.
+     * @return Returns the decoded public key.
+     * @throws Points.InvalidDataException In case the public key cannot be decoded.
+     */
+    @Nonnull
+    public Point get(final byte[] encodedPublicKey) throws Points.InvalidDataException {
+        return lookup(encodedPublicKey).point;
+    }
+
+    /**
+     * Acquire the entry for public key, and add it to the cache if not present.
+     *
+     * @param encodedPublicKey The encoded public key of 57 bytes.
+     * @return Returns the entry.
+     * @throws Points.InvalidDataException In case the public key cannot be decoded.
+     */
+    @Nonnull
+    Entry lookup(final byte[] encodedPublicKey) throws Points.InvalidDataException {
+        requireNonNull(encodedPublicKey);
+        final Entry cached = this.entries.get(new Key(encodedPublicKey));
+        if (cached != null) {
+            this.hits.increment();
+            cached.lastUsed = this.clock.incrementAndGet();
+            return cached;
+        }
+        this.misses.increment();
+        final Point point = Points.decode(encodedPublicKey);
+        final Entry entry = new Entry(point, NielsPoint.oddMultiples(point, 1 << (WIDTH - 2)));
+        final Key key = new Key(encodedPublicKey.clone());
+        synchronized (this.keys) {
+            final Entry existing = this.entries.get(key);
+            if (existing != null) {
+                // Another thread added the same public key concurrently.
+                existing.lastUsed = this.clock.incrementAndGet();
+                return existing;
+            }
+            if (this.keys.size() < this.capacity) {
+                this.keys.add(key);
+            } else {
+                final int slot = sampleLeastRecentlyUsed();
+                this.entries.remove(this.keys.get(slot));
+                this.keys.set(slot, key);
+            }
+            entry.lastUsed = this.clock.incrementAndGet();
+            this.entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Find the least recently used of {@link #SAMPLE} consecutive keys, starting at a random position, or of all keys
+     * if there are fewer. Must be called while holding the lock of the keys.
+     *
+     * @return Returns the position of the key to evict.
+     */
+    private int sampleLeastRecentlyUsed() {
+        final int size = this.keys.size();
+        final int count = Math.min(SAMPLE, size);
+        final int start = size > SAMPLE ? ThreadLocalRandom.current().nextInt(size) : 0;
+        int oldest = start;
+        long oldestUsed = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            final int slot = (start + i) % size;
+            final long used = this.entries.get(this.keys.get(slot)).lastUsed;
+            if (used < oldestUsed) {
+                oldest = slot;
+                oldestUsed = used;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Test whether public key is present in the cache. The entry's use is not updated.
+     *
+     * @param encodedPublicKey The encoded public key.
+     * @return Returns true iff the public key is cached.
+     */
+    @CheckReturnValue
+    public boolean contains(final byte[] encodedPublicKey) {
+        return this.entries.containsKey(new Key(encodedPublicKey));
+    }
+
+    /**
+     * The maximum number of entries.
+     *
+     * @return Returns the capacity.
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * The current number of entries.
+     *
+     * @return Returns the number of cached public keys.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * The number of lookups that found the public key in the cache.
+     *
+     * @return Returns the number of hits.
+     */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * The number of lookups that did not find the public key in the cache, including lookups of invalid public keys.
+     *
+     * @return Returns the number of misses.
+     */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Remove all entries. The hit and miss counters are not reset.
+     */
+    public void clear() {
+        synchronized (this.keys) {
+            this.entries.clear();
+            this.keys.clear();
+        }
+    }
+
+    /**
+     * Cached public key: the decoded point and the odd multiples phi([2i+1]A), for i in [0, 2^(WIDTH-2)).
+     */
+    static final class Entry {
+
+        final Point point;
+
+        final NielsPoint[] multiples;
+
+        /**
+         * The value of the logical clock at the most recent use.
+         */
+        volatile long lastUsed;
+
+        private Entry(final Point point, final NielsPoint[] multiples) {
+            this.point = point;
+            this.multiples = multiples;
+        }
+    }
+
+    /**
+     * Encoded public key as map key, compared by content.
+     */
+    private static final class Key {
+
+        private final byte[] encoded;
+
+        private final int hash;
+
+        private Key(final byte[] encoded) {
+            this.encoded = encoded;
+            this.hash = Arrays.hashCode(encoded);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Key && Arrays.equals(this.encoded, ((Key) o).encoded);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+
+/**
+ * Scalar is an element of the scalar field GF(q), with q the prime order of the Ed448 base point.
+ * <p>
+ * The value is stored in 16 limbs of 28 bits, least significant limb first, and is always fully reduced, i.e. in range
+ * [0, q). Reduction uses the shape of q: with c = 2^446 - q, a value of approximately 224 bits, 2^448 = 4c (mod q).
+ * Anything above limb 16 is folded back by multiplication with 4c, reducing the length of the value by 222 bits per
+ * fold, until a final fold at bit 446 and a conditional subtraction of q. This allows reducing the 114-byte digests of
+ * signing and verification (see {@link #decode(byte[], int, int)}) without BigInteger arithmetic.
+ * <p>
+ * Arithmetic and encoding are constant-time: the sequence of operations depends only on the lengths of inputs, not on
+ * their values. Exceptions are {@link #isCanonical(byte[], int)} and {@link #testBit(int)}, which are intended for
+ * public values.
+ * <p>
+ * Scalar is immutable, except for {@link #clear()}.
+ */
+final class Scalar {
+
+    /**
+     * Length of the little-endian encoding of a scalar in signatures in bytes. The final byte is always zero.
+     */
+    static final int ENCODED_LENGTH_BYTES = 57;
+
+    /**
+     * Number of bits of q.
+     */
+    static final int BITS = 446;
+
+    private static final int LIMBS = 16;
+
+    private static final int LIMB_BITS = 28;
+
+    private static final long LIMB_MASK = (1L << LIMB_BITS) - 1;
+
+    /**
+     * Number of bits of q in the top limb.
+     */
+    private static final int TOP_BITS = BITS - (LIMBS - 1) * LIMB_BITS;
+
+    private static final long[] Q_LIMBS = limbs(Q, LIMBS);
+
+    /**
+     * c = 2^446 - q, i.e. 2^446 = c (mod q).
+     */
+    private static final long[] C = limbs(BigInteger.ONE.shiftLeft(BITS).subtract(Q), 8);
+
+    /**
+     * 4c = 2^448 - 4q, i.e. 2^448 = 4c (mod q).
+     */
+    private static final long[] FOUR_C = limbs(BigInteger.ONE.shiftLeft(LIMBS * LIMB_BITS).subtract(Q.shiftLeft(2)),
+        9);
+
+    /**
+     * The exponent q - 2 for inversion by Fermat's little theorem.
+     */
+    private static final BigInteger INVERSE_EXPONENT = Q.subtract(BigInteger.valueOf(2L));
+
+    static final Scalar ZERO = new Scalar(new long[LIMBS]);
+
+    static final Scalar ONE = new Scalar(new long[]{1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+
+    private final long[] limbs;
+
+    private Scalar(final long[] limbs) {
+        assert limbs.length == LIMBS;
+        this.limbs = limbs;
+    }
+
+    /**
+     * Convert BigInteger to scalar. The value is reduced modulo q first, so any value is accepted.
+     *
+     * @param value The value.
+     * @return Returns scalar representing value (mod q).
+     */
+    @Nonnull
+    static Scalar valueOf(final BigInteger value) {
+        return new Scalar(limbs(value.mod(Q), LIMBS));
+    }
+
+    /**
+     * Decode little-endian encoded value of arbitrary length, and reduce it modulo q. The encoding need not be canonical,
+     * e.g. the 114-byte digest of SHAKE256 is accepted.
+     *
+     * @param src    The source array.
+     * @param offset The offset at which the encoded value starts.
+     * @param length The length of the encoded value in bytes.
+     * @return Returns scalar representing the value (mod q).
+     */
+    @Nonnull
+    static Scalar decode(final byte[] src, final int offset, final int length) {
+        final long[] wide = new long[Math.max(LIMBS + 1, (8 * length + LIMB_BITS - 1) / LIMB_BITS)];
+        long buffer = 0;
+        int bits = 0;
+        int limb = 0;
+        for (int i = 0; i < length; i++) {
+            buffer |= (src[offset + i] & 0xffL) << bits;
+            bits += 8;
+            if (bits >= LIMB_BITS) {
+                wide[limb++] = buffer & LIMB_MASK;
+                buffer >>>= LIMB_BITS;
+                bits -= LIMB_BITS;
+            }
+        }
+        if (limb < wide.length) {
+            wide[limb] = buffer;
+        }
+        final Scalar result = new Scalar(reduce(wide));
+        Arrays.fill(wide, 0L);
+        return result;
+    }
+
+    /**
+     * Verify that the little-endian encoded value of 57 bytes is the canonical representation, i.e. it is smaller than
+     * q. RFC 8032 requires this of the scalar S of a signature.
+     *
+     * @param src    The source array.
+     * @param offset The offset at which the encoded scalar starts.
+     * @return Returns true iff the encoded value is smaller than q.
+     */
+    @CheckReturnValue
+    static boolean isCanonical(final byte[] src, final int offset) {
+        // q < 2^446, therefore the final byte must be zero. The other bytes are canonical iff they survive reduction.
+        if (src[offset + ENCODED_LENGTH_BYTES - 1] != 0) {
+            return false;
+        }
+        final Scalar value = decode(src, offset, ENCODED_LENGTH_BYTES - 1);
+        final byte[] reencoded = new byte[ENCODED_LENGTH_BYTES - 1];
+        value.encode(reencoded, 0);
+        for (int i = 0; i < reencoded.length; i++) {
+            if (reencoded[i] != src[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encode scalar as 56 bytes little-endian into destination array. (The 57th byte of the encoding in signatures is
+     * zero and is not written.)
+     *
+     * @param dst    The destination array.
+     * @param offset The offset at which to start writing.
+     */
+    void encode(final byte[] dst, final int offset) {
+        for (int i = 0; i < LIMBS / 2; i++) {
+            final long pair = this.limbs[2 * i] | this.limbs[2 * i + 1] << LIMB_BITS;
+            for (int j = 0; j < 7; j++) {
+                dst[offset + 7 * i + j] = (byte) (pair >>> (8 * j));
+            }
+        }
+    }
+
+    /**
+     * Convert scalar to BigInteger.
+     *
+     * @return Returns BigInteger in range [0, q).
+     */
+    @Nonnull
+    BigInteger toBigInteger() {
+        BigInteger result = BigInteger.ZERO;
+        for (int i = LIMBS - 1; i >= 0; i--) {
+            result = result.shiftLeft(LIMB_BITS).or(BigInteger.valueOf(this.limbs[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Copy limbs of 28 bits, least significant limb first, into destination array.
+     *
+     * @param dst The destination array of at least 16 limbs.
+     */
+    void copyTo(final long[] dst) {
+        System.arraycopy(this.limbs, 0, dst, 0, LIMBS);
+    }
+
+    /**
+     * Recode this scalar m into n signed bits s_i in {-1, 1}, for multiplication of a point of order q, in constant
+     * time.
+     * <p>
+     * The recoding requires an odd scalar: m and m + q are equivalent for a point of order q. Let m' be whichever of
+     * the two is odd. Then m' = sum (2 * b_(i+1) - 1) * 2^i for i in [0, n), with b_j bit j of m' + 2^n - 1, as
+     * (m' + 2^n - 1) / 2 = sum b_(i+1) * 2^i. (See {@link BaseComb}.)
+     *
+     * @param bits The number of signed bits n, at least {@link #BITS} + 1 such that m' fits.
+     * @return Returns the limbs of 28 bits of m' + 2^n - 1, least significant limb first. (See
+     * {@link #bit(long[], int)}.) The caller should clear the limbs after use.
+     */
+    @Nonnull
+    long[] recodeSigned(final int bits) {
+        assert bits > BITS : "Recoding requires more bits than the bit length of q.";
+        final long[] recoded = new long[bits / LIMB_BITS + 1];
+        // mask is all ones iff m is even.
+        final long mask = (this.limbs[0] & 1) - 1;
+        for (int i = 0; i < LIMBS; i++) {
+            recoded[i] = this.limbs[i] + (Q_LIMBS[i] & mask);
+        }
+        // Add 2^n - 1: all bits below n set.
+        for (int i = 0; i < recoded.length; i++) {
+            final int remaining = bits - i * LIMB_BITS;
+            recoded[i] += remaining >= LIMB_BITS ? LIMB_MASK : (1L << remaining) - 1;
+        }
+        for (int i = 0; i < recoded.length - 1; i++) {
+            recoded[i + 1] += recoded[i] >>> LIMB_BITS;
+            recoded[i] &= LIMB_MASK;
+        }
+        return recoded;
+    }
+
+    /**
+     * Bit of a value in limbs of 28 bits, such as the result of {@link #recodeSigned(int)}. The memory access depends
+     * only on the index.
+     *
+     * @param limbs The limbs, least significant limb first.
+     * @param index The index of the bit.
+     * @return Returns the bit, 0 or 1.
+     */
+    static int bit(final long[] limbs, final int index) {
+        return (int) (limbs[index / LIMB_BITS] >>> (index % LIMB_BITS)) & 1;
+    }
+
+    @Nonnull
+    Scalar add(final Scalar other) {
+        final long[] result = new long[LIMBS];
+        for (int i = 0; i < LIMBS; i++) {
+            result[i] = this.limbs[i] + other.limbs[i];
+        }
+        carry(result);
+        subtractModulusIfGreaterOrEqual(result);
+        return new Scalar(result);
+    }
+
+    @Nonnull
+    Scalar negate() {
+        final long[] result = new long[LIMBS];
+        long borrow = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            final long value = Q_LIMBS[i] - this.limbs[i] + borrow;
+            result[i] = value & LIMB_MASK;
+            borrow = value >> LIMB_BITS;
+        }
+        // q - 0 = q, which reduces to zero.
+        subtractModulusIfGreaterOrEqual(result);
+        return new Scalar(result);
+    }
+
+    @Nonnull
+    Scalar subtract(final Scalar other) {
+        return add(other.negate());
+    }
+
+    @Nonnull
+    Scalar multiply(final Scalar other) {
+        return multiplyAdd(other, ZERO);
+    }
+
+    /**
+     * Compute this * factor + addend (mod q), with a single reduction.
+     *
+     * @param factor The factor.
+     * @param addend The addend.
+     * @return Returns the result.
+     */
+    @Nonnull
+    Scalar multiplyAdd(final Scalar factor, final Scalar addend) {
+        final long[] product = new long[2 * LIMBS];
+        for (int i = 0; i < LIMBS; i++) {
+            for (int j = 0; j < LIMBS; j++) {
+                product[i + j] += this.limbs[i] * factor.limbs[j];
+            }
+            product[i] += addend.limbs[i];
+        }
+        carry(product);
+        final Scalar result = new Scalar(reduce(product));
+        Arrays.fill(product, 0L);
+        return result;
+    }
+
+    /**
+     * Compute the multiplicative inverse, by Fermat's little theorem. (x^(q-2))
+     * <p>
+     * The exponent is public, therefore the sequence of operations does not depend on this scalar. The inverse of zero
+     * is zero.
+     *
+     * @return Returns the inverse.
+     */
+    @Nonnull
+    Scalar invert() {
+        Scalar result = ONE;
+        for (int i = INVERSE_EXPONENT.bitLength() - 1; i >= 0; i--) {
+            result = result.multiply(result);
+            if (INVERSE_EXPONENT.testBit(i)) {
+                result = result.multiply(this);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Integer division by 2^n, i.e. the result is not a multiple of the inverse of 2^n modulo q.
+     *
+     * @param n The number of bits to shift, in range [0, 28).
+     * @return Returns the scalar floor(this / 2^n).
+     */
+    @Nonnull
+    Scalar shiftRight(final int n) {
+        assert n >= 0 && n < LIMB_BITS : "Shift must be in range [0, 28).";
+        final long[] result = new long[LIMBS];
+        for (int i = 0; i < LIMBS - 1; i++) {
+            result[i] = (this.limbs[i] >>> n | this.limbs[i + 1] << (LIMB_BITS - n)) & LIMB_MASK;
+        }
+        result[LIMBS - 1] = this.limbs[LIMBS - 1] >>> n;
+        return new Scalar(result);
+    }
+
+    /**
+     * The least significant 28 bits of this scalar.
+     *
+     * @return Returns the least significant limb.
+     */
+    int intValue() {
+        return (int) this.limbs[0];
+    }
+
+    /**
+     * Test bit of the value. The result is not constant-time, use only for public scalars.
+     *
+     * @param index The index of the bit.
+     * @return Returns true iff bit is set.
+     */
+    @CheckReturnValue
+    boolean testBit(final int index) {
+        return index < LIMBS * LIMB_BITS && (this.limbs[index / LIMB_BITS] >>> (index % LIMB_BITS) & 1) == 1;
+    }
+
+    /**
+     * Test whether scalar is zero.
+     *
+     * @return Returns true iff zero.
+     */
+    @CheckReturnValue
+    boolean isZero() {
+        long bits = 0;
+        for (final long limb : this.limbs) {
+            bits |= limb;
+        }
+        return bits == 0;
+    }
+
+    /**
+     * Clear the limbs of a scalar that was derived from secret data. The scalar must not be used afterwards.
+     */
+    void clear() {
+        Arrays.fill(this.limbs, 0L);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(this.limbs, ((Scalar) o).limbs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.limbs);
+    }
+
+    @Override
+    public String toString() {
+        return toBigInteger().toString();
+    }
+
+    /**
+     * Convert non-negative BigInteger to limbs of 28 bits. For use with constants and conversions only.
+     *
+     * @param value The non-negative value.
+     * @param count The number of limbs.
+     * @return Returns the limbs, least significant limb first.
+     */
+    @Nonnull
+    static long[] limbs(final BigInteger value, final int count) {
+        assert value.signum() >= 0 && value.bitLength() <= count * LIMB_BITS : "Value does not fit in limbs.";
+        final long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = value.shiftRight(i * LIMB_BITS).longValue() & LIMB_MASK;
+        }
+        return result;
+    }
+
+    /**
+     * Propagate carries, such that every limb except for the last one fits in 28 bits. All limbs must be non-negative.
+     */
+    private static void carry(final long[] z) {
+        for (int i = 0; i < z.length - 1; i++) {
+            z[i + 1] += z[i] >>> LIMB_BITS;
+            z[i] &= LIMB_MASK;
+        }
+    }
+
+    /**
+     * Reduce a carried value of at least 17 limbs modulo q. The number of folds depends only on the number of limbs.
+     *
+     * @param wide The carried value.
+     * @return Returns the 16 limbs of the reduced value.
+     */
+    @Nonnull
+    private static long[] reduce(final long[] wide) {
+        assert wide.length > LIMBS;
+        long[] z = wide;
+        while (z.length > LIMBS + 1) {
+            z = fold(z);
+        }
+        // z < 2^476. Fold the bits from 446 with 2^446 = c, such that z < 2^446 + 2^254 < 2q.
+        final long top = z[LIMBS - 1] >>> TOP_BITS | z[LIMBS] << (LIMB_BITS - TOP_BITS);
+        final long[] result = Arrays.copyOf(z, LIMBS);
+        result[LIMBS - 1] &= (1L << TOP_BITS) - 1;
+        for (int j = 0; j < C.length; j++) {
+            result[j] += top * C[j];
+        }
+        if (z != wide) {
+            Arrays.fill(z, 0L);
+        }
+        carry(result);
+        subtractModulusIfGreaterOrEqual(result);
+        return result;
+    }
+
+    /**
+     * Fold the limbs from 16 upwards into the lower limbs, using 2^448 = 4c (mod q).
+     */
+    @Nonnull
+    private static long[] fold(final long[] z) {
+        final int high = z.length - LIMBS;
+        final long[] result = new long[Math.max(LIMBS, high + FOUR_C.length) + 1];
+        System.arraycopy(z, 0, result, 0, LIMBS);
+        for (int i = 0; i < high; i++) {
+            for (int j = 0; j < FOUR_C.length; j++) {
+                result[i + j] += z[LIMBS + i] * FOUR_C[j];
+            }
+        }
+        carry(result);
+        return result;
+    }
+
+    /**
+     * Subtract q from a carried value in range [0, 2q) in constant time iff the value is at least q.
+     */
+    private static void subtractModulusIfGreaterOrEqual(final long[] z) {
+        final long[] difference = new long[LIMBS];
+        long borrow = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            final long value = z[i] - Q_LIMBS[i] + borrow;
+            difference[i] = value & LIMB_MASK;
+            borrow = value >> LIMB_BITS;
+        }
+        // borrow is -1 iff z < q, in which case z is retained.
+        for (int i = 0; i < LIMBS; i++) {
+            z[i] = z[i] & borrow | difference[i] & ~borrow;
+        }
+    }
+}
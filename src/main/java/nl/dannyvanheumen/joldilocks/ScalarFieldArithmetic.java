@@ -0,0 +1,105 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMB_PHI;
+
+/**
+ * Portable field arithmetic: schoolbook multiplication on 16 limbs of 28 bits.
+ * <p>
+ * This implementation is always available and serves as fallback for the platform-specific implementations.
+ */
+final class ScalarFieldArithmetic implements FieldArithmetic {
+
+    static final ScalarFieldArithmetic INSTANCE = new ScalarFieldArithmetic();
+
+    private ScalarFieldArithmetic() {
+        // No need to instantiate, use INSTANCE.
+    }
+
+    @Nonnull
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public int priority() {
+        return 0;
+    }
+
+    /**
+     * Multiply x and y. The destination z must not be the same array as either x or y.
+     * <p>
+     * Partial products for limb position k = i + j beyond 448 bits are folded back into the lower limbs:
+     * 2^(28k) for 16 <= k < 24 is congruent to 2^(28(k-16)) + 2^(28(k-8)). For k >= 24 the second term again exceeds
+     * 448 bits, which results in 2^(28(k-24)) + 2 * 2^(28(k-16)).
+     */
+    @Override
+    public void multiply(final long[] z, final long[] x, final long[] y) {
+        assert z != x && z != y : "Destination must not overlap with operands.";
+        Arrays.fill(z, 0L);
+        for (int i = 0; i < LIMBS; i++) {
+            final long xi = x[i];
+            int j = 0;
+            for (; j < LIMBS - i; j++) {
+                z[i + j] += xi * y[j];
+            }
+            for (; j < LIMBS + LIMB_PHI - i && j < LIMBS; j++) {
+                final long product = xi * y[j];
+                z[i + j - LIMBS] += product;
+                z[i + j - LIMB_PHI] += product;
+            }
+            for (; j < LIMBS; j++) {
+                final long product = xi * y[j];
+                z[i + j - LIMBS - LIMB_PHI] += product;
+                z[i + j - LIMBS] += product << 1;
+            }
+        }
+        FieldElement.carry(z);
+    }
+
+    /**
+     * Square x. The destination z must not be the same array as x.
+     * <p>
+     * Identical to {@link #multiply(long[], long[], long[])}, except that symmetric partial products are computed
+     * once and doubled.
+     */
+    @Override
+    public void square(final long[] z, final long[] x) {
+        assert z != x : "Destination must not overlap with operand.";
+        Arrays.fill(z, 0L);
+        for (int i = 0; i < LIMBS; i++) {
+            final long xi = x[i];
+            final long xi2 = xi << 1;
+            final long diagonal = xi * xi;
+            final int k = 2 * i;
+            if (k < LIMBS) {
+                z[k] += diagonal;
+            } else if (k < LIMBS + LIMB_PHI) {
+                z[k - LIMBS] += diagonal;
+                z[k - LIMB_PHI] += diagonal;
+            } else {
+                z[k - LIMBS - LIMB_PHI] += diagonal;
+                z[k - LIMBS] += diagonal << 1;
+            }
+            int j = i + 1;
+            for (; j < LIMBS - i; j++) {
+                z[i + j] += xi2 * x[j];
+            }
+            for (; j < LIMBS + LIMB_PHI - i && j < LIMBS; j++) {
+                final long product = xi2 * x[j];
+                z[i + j - LIMBS] += product;
+                z[i + j - LIMB_PHI] += product;
+            }
+            for (; j < LIMBS; j++) {
+                final long product = xi2 * x[j];
+                z[i + j - LIMBS - LIMB_PHI] += product;
+                z[i + j - LIMBS] += product << 1;
+            }
+        }
+        FieldElement.carry(z);
+    }
+}
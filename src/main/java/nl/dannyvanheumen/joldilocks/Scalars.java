@@ -4,6 +4,7 @@ import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.util.function.IntPredicate;
 
 import static java.math.BigInteger.ZERO;
 import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
@@ -137,4 +138,99 @@ public final class Scalars {
         }
         return value;
     }
+
+    /**
+     * Compute the width-w non-adjacent form (wNAF) of a non-negative scalar: digits d_i such that
+     * scalar = sum d_i * 2^i, where every non-zero digit is odd, |d_i| < 2^(w-1), and any w consecutive digits contain
+     * at most one non-zero digit.
+     * <p>
+     * The computation is not constant-time. Use only for public scalars.
+     *
+     * @param scalar The non-negative scalar value.
+     * @param width  The window width w, in range [2, 8].
+     * @return Returns the digits, least significant digit first.
+     */
+    @Nonnull
+    static byte[] nonAdjacentForm(final BigInteger scalar, final int width) {
+        assert scalar.signum() >= 0 : "Scalar must be non-negative.";
+        return nonAdjacentForm(scalar.bitLength(), scalar::testBit, width);
+    }
+
+    /**
+     * Compute the width-w non-adjacent form of a scalar. (See {@link #nonAdjacentForm(BigInteger, int)}.) The number of
+     * digits does not depend on the value of the scalar.
+     * <p>
+     * The computation is not constant-time. Use only for public scalars.
+     *
+     * @param scalar The scalar value.
+     * @param width  The window width w, in range [2, 8].
+     * @return Returns the digits, least significant digit first.
+     */
+    @Nonnull
+    static byte[] nonAdjacentForm(final Scalar scalar, final int width) {
+        return nonAdjacentForm(Scalar.BITS, scalar::testBit, width);
+    }
+
+    @Nonnull
+    private static byte[] nonAdjacentForm(final int bitLength, final IntPredicate testBit, final int width) {
+        assert width >= 2 && width <= 8 : "Width must be in range [2, 8].";
+        final int windowSize = 1 << width;
+        final byte[] naf = new byte[bitLength + 1];
+        int carry = 0;
+        int pos = 0;
+        while (pos < naf.length) {
+            int window = carry;
+            for (int b = 0; b < width; b++) {
+                window += (testBit.test(pos + b) ? 1 : 0) << b;
+            }
+            if ((window & 1) == 0) {
+                // Digit is zero. The carry is retained, as (bit + carry) is even iff bit == carry.
+                pos++;
+                continue;
+            }
+            if (window < windowSize / 2) {
+                carry = 0;
+                naf[pos] = (byte) window;
+            } else {
+                carry = 1;
+                naf[pos] = (byte) (window - windowSize);
+            }
+            pos += width;
+        }
+        return naf;
+    }
+
+    /**
+     * Recode a non-negative scalar into signed windows of c bits: digits d_j such that scalar = sum d_j * 2^(c*j),
+     * with d_j in range [-2^(c-1), 2^(c-1)].
+     * <p>
+     * The computation is not constant-time. Use only for public scalars.
+     *
+     * @param scalar The non-negative scalar value.
+     * @param width  The window width c, in range [2, 30].
+     * @param count  The number of windows. Must satisfy c * count > bit length of scalar.
+     * @return Returns the digits, least significant digit first.
+     */
+    @Nonnull
+    static int[] signedWindows(final BigInteger scalar, final int width, final int count) {
+        assert scalar.signum() >= 0 : "Scalar must be non-negative.";
+        assert width >= 2 && width <= 30 : "Width must be in range [2, 30].";
+        assert (long) width * count > scalar.bitLength() : "Number of windows is insufficient.";
+        final int windowSize = 1 << width;
+        final int[] digits = new int[count];
+        BigInteger remaining = scalar;
+        int carry = 0;
+        for (int j = 0; j < count; j++) {
+            final int window = (remaining.intValue() & (windowSize - 1)) + carry;
+            remaining = remaining.shiftRight(width);
+            if (window > windowSize / 2) {
+                digits[j] = window - windowSize;
+                carry = 1;
+            } else {
+                digits[j] = window;
+                carry = 0;
+            }
+        }
+        return digits;
+    }
 }
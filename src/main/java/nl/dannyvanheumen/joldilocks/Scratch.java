@@ -0,0 +1,74 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+
+/**
+ * Scratch space for allocation-free point arithmetic.
+ * <p>
+ * Scalar multiplication, signing and verification perform all intermediate computations in the arrays of a scratch
+ * instance, such that no memory is allocated while computing. Callers that perform many operations can create a
+ * scratch instance once and reuse it for every call. Methods that do not take a scratch instance use a thread-local
+ * instance.
+ * <p>
+ * Instances are NOT thread-safe. Use one instance per thread. The scratch space is cleared after every operation, such
+ * that no intermediate values of secret computations are retained.
+ */
+public final class Scratch {
+
+    private static final int TEMPORARIES = 8;
+
+    private static final ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+
+    final long[][] temp = new long[TEMPORARIES][LIMBS];
+
+    final MutablePoint p0 = new MutablePoint();
+    final MutablePoint p1 = new MutablePoint();
+    final MutablePoint p2 = new MutablePoint();
+
+    final TwistedPoint q0 = new TwistedPoint();
+    final TwistedPoint q1 = new TwistedPoint();
+
+    final NielsPoint n0 = new NielsPoint();
+
+    final TwistedPoint[] multiples = new TwistedPoint[TwistedPoint.WNAF_MULTIPLES];
+
+    /**
+     * Create new scratch space.
+     */
+    public Scratch() {
+        for (int i = 0; i < this.multiples.length; i++) {
+            this.multiples[i] = new TwistedPoint();
+        }
+    }
+
+    /**
+     * Acquire the scratch instance of the current thread.
+     *
+     * @return Returns the thread-local scratch instance.
+     */
+    @Nonnull
+    static Scratch local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Clear all scratch space.
+     */
+    void clear() {
+        for (final long[] t : this.temp) {
+            Arrays.fill(t, 0L);
+        }
+        this.p0.clear();
+        this.p1.clear();
+        this.p2.clear();
+        this.q0.clear();
+        this.q1.clear();
+        this.n0.clear();
+        for (final TwistedPoint multiple : this.multiples) {
+            multiple.clear();
+        }
+    }
+}
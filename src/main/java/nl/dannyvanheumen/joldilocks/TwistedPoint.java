@@ -0,0 +1,385 @@
+package nl.dannyvanheumen.joldilocks;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.ONE;
+
+/**
+ * TwistedPoint is a point on the twisted Edwards curve -x^2 + y^2 = 1 + (d-1)*x^2*y^2, in extended homogeneous
+ * coordinates (X:Y:Z:T), that is modified in place.
+ * <p>
+ * The twisted curve is 4-isogenous to Ed448-Goldilocks. (See "Ed448-Goldilocks, a new elliptic curve", section on
+ * isogenies.) With a = -1, the addition formula "add-2008-hwcd-3" needs 8 multiplications instead of 9. The isogeny
+ * phi (Ed448 to twisted) and its dual (twisted to Ed448) are implemented in {@link MutablePoint}. As phi(dual(P)) =
+ * [4]P, scalar multiplication by k on Ed448 is performed as [k]P = dual([k/4]phi(P)) + [k mod 4]P.
+ * <p>
+ * The twisted formulas are not complete, as -1 is not a square. However, the kernel of phi is the 4-torsion of Ed448,
+ * so every point in the image of phi has odd order. The formulas are complete for points of odd order.
+ */
+final class TwistedPoint {
+
+    /**
+     * The constant 2 * (1 - d) = -2 * (d - 1), with (d - 1) the Edwards constant of the twisted curve.
+     */
+    static final int MINUS_TWO_D = 78164;
+
+    /**
+     * Window width of the non-adjacent form of the scalar for the variable point in
+     * {@link #multiplyDoubleVariableTime(byte[], TwistedPoint, byte[], Scratch)}.
+     */
+    static final int WNAF_WIDTH = 5;
+
+    /**
+     * Number of precomputed odd multiples P, 3P, ..., (2^(w-1) - 1)P.
+     */
+    static final int WNAF_MULTIPLES = 1 << (WNAF_WIDTH - 2);
+
+    /**
+     * Window width of the signed fixed window in {@link #multiply(NielsPoint[], Scalar, Scratch)}.
+     */
+    static final int FIXED_WINDOW_WIDTH = 4;
+
+    /**
+     * Number of precomputed odd multiples P, 3P, ..., (2^w - 1)P for the signed fixed window.
+     */
+    static final int FIXED_WINDOW_MULTIPLES = 1 << (FIXED_WINDOW_WIDTH - 1);
+
+    /**
+     * Number of signed bits of the recoded scalar for the signed fixed window: a multiple of the window width that
+     * exceeds the bit length of q.
+     */
+    private static final int FIXED_WINDOW_BITS = 448;
+
+    final long[] x = new long[LIMBS];
+    final long[] y = new long[LIMBS];
+    final long[] z = new long[LIMBS];
+    final long[] t = new long[LIMBS];
+
+    /**
+     * Set point to the identity (0:1:1:0).
+     */
+    void setIdentity() {
+        Arrays.fill(this.x, 0L);
+        ONE.copyTo(this.y);
+        ONE.copyTo(this.z);
+        Arrays.fill(this.t, 0L);
+    }
+
+    /**
+     * Copy coordinates of other point to this point.
+     *
+     * @param other The other point.
+     */
+    void set(final TwistedPoint other) {
+        System.arraycopy(other.x, 0, this.x, 0, LIMBS);
+        System.arraycopy(other.y, 0, this.y, 0, LIMBS);
+        System.arraycopy(other.z, 0, this.z, 0, LIMBS);
+        System.arraycopy(other.t, 0, this.t, 0, LIMBS);
+    }
+
+    /**
+     * Add other point to this point. The other point may be this same instance.
+     *
+     * @param other   The other point.
+     * @param scratch The scratch space.
+     */
+    void add(final TwistedPoint other, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        // A = (Y1-X1)*(Y2-X2), B = (Y1+X1)*(Y2+X2), C = T1*2*(d-1)*T2, D = Z1*2*Z2, E = B-A, F = D-C, G = D+C, H = B+A,
+        // X3 = E*F, Y3 = G*H, T3 = E*H, Z3 = F*G
+        // As 2*(d-1) is negative, C' = -C is computed instead: F = D+C', G = D-C'.
+        FieldElement.subtract(t[0], this.y, this.x);
+        FieldElement.subtract(t[1], other.y, other.x);
+        FieldElement.multiply(t[2], t[0], t[1]);
+        FieldElement.add(t[0], this.y, this.x);
+        FieldElement.add(t[1], other.y, other.x);
+        FieldElement.multiply(t[3], t[0], t[1]);
+        FieldElement.multiply(t[0], this.t, other.t);
+        FieldElement.multiplySmall(t[0], t[0], MINUS_TWO_D);
+        FieldElement.multiply(t[1], this.z, other.z);
+        FieldElement.add(t[1], t[1], t[1]);
+        FieldElement.subtract(t[4], t[3], t[2]);
+        FieldElement.add(t[5], t[1], t[0]);
+        FieldElement.subtract(t[6], t[1], t[0]);
+        FieldElement.add(t[7], t[3], t[2]);
+        setProducts(t[4], t[5], t[6], t[7]);
+    }
+
+    /**
+     * Subtract other point from this point. The negation of (X:Y:Z:T) is (-X:Y:Z:-T), so compared to addition
+     * Y2-X2 and Y2+X2 swap roles and the sign of C' is inverted. The other point must not be this same instance.
+     *
+     * @param other   The other point.
+     * @param scratch The scratch space.
+     */
+    void subtract(final TwistedPoint other, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.subtract(t[0], this.y, this.x);
+        FieldElement.add(t[1], other.y, other.x);
+        FieldElement.multiply(t[2], t[0], t[1]);
+        FieldElement.add(t[0], this.y, this.x);
+        FieldElement.subtract(t[1], other.y, other.x);
+        FieldElement.multiply(t[3], t[0], t[1]);
+        FieldElement.multiply(t[0], this.t, other.t);
+        FieldElement.multiplySmall(t[0], t[0], MINUS_TWO_D);
+        FieldElement.multiply(t[1], this.z, other.z);
+        FieldElement.add(t[1], t[1], t[1]);
+        FieldElement.subtract(t[4], t[3], t[2]);
+        FieldElement.subtract(t[5], t[1], t[0]);
+        FieldElement.add(t[6], t[1], t[0]);
+        FieldElement.add(t[7], t[3], t[2]);
+        setProducts(t[4], t[5], t[6], t[7]);
+    }
+
+    /**
+     * Add precomputed point to this point ("mixed addition"), i.e. the addition formula with Z2 = 1 and the factor
+     * 2*(d-1) already applied.
+     *
+     * @param other   The precomputed point.
+     * @param scratch The scratch space.
+     */
+    void add(final NielsPoint other, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.subtract(t[0], this.y, this.x);
+        FieldElement.multiply(t[2], t[0], other.yMinusX);
+        FieldElement.add(t[0], this.y, this.x);
+        FieldElement.multiply(t[3], t[0], other.yPlusX);
+        FieldElement.multiply(t[0], this.t, other.xy2d);
+        FieldElement.add(t[1], this.z, this.z);
+        FieldElement.subtract(t[4], t[3], t[2]);
+        FieldElement.add(t[5], t[1], t[0]);
+        FieldElement.subtract(t[6], t[1], t[0]);
+        FieldElement.add(t[7], t[3], t[2]);
+        setProducts(t[4], t[5], t[6], t[7]);
+    }
+
+    /**
+     * Subtract precomputed point from this point. The negation of (y+x, y-x, 2dxy) is (y-x, y+x, -2dxy), so compared
+     * to addition the first two components swap roles and the sign of the third component is inverted.
+     *
+     * @param other   The precomputed point.
+     * @param scratch The scratch space.
+     */
+    void subtract(final NielsPoint other, final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        FieldElement.subtract(t[0], this.y, this.x);
+        FieldElement.multiply(t[2], t[0], other.yPlusX);
+        FieldElement.add(t[0], this.y, this.x);
+        FieldElement.multiply(t[3], t[0], other.yMinusX);
+        FieldElement.multiply(t[0], this.t, other.xy2d);
+        FieldElement.add(t[1], this.z, this.z);
+        FieldElement.subtract(t[4], t[3], t[2]);
+        FieldElement.subtract(t[5], t[1], t[0]);
+        FieldElement.add(t[6], t[1], t[0]);
+        FieldElement.add(t[7], t[3], t[2]);
+        setProducts(t[4], t[5], t[6], t[7]);
+    }
+
+    /**
+     * Double this point.
+     *
+     * @param scratch The scratch space.
+     */
+    void doubling(final Scratch scratch) {
+        final long[][] t = scratch.temp;
+        // A = X1^2, B = Y1^2, C = 2*Z1^2, D = -A, E = (X1+Y1)^2-A-B, G = D+B, F = G-C, H = D-B,
+        // X3 = E*F, Y3 = G*H, T3 = E*H, Z3 = F*G
+        // Both F and H are negated, i.e. F' = C-G and H' = A+B, which multiplies every coordinate by -1.
+        FieldElement.square(t[0], this.x);
+        FieldElement.square(t[1], this.y);
+        FieldElement.square(t[2], this.z);
+        FieldElement.add(t[2], t[2], t[2]);
+        FieldElement.add(t[3], this.x, this.y);
+        FieldElement.square(t[4], t[3]);
+        FieldElement.subtract(t[4], t[4], t[0]);
+        FieldElement.subtract(t[4], t[4], t[1]);
+        FieldElement.subtract(t[6], t[1], t[0]);
+        FieldElement.subtract(t[5], t[2], t[6]);
+        FieldElement.add(t[7], t[0], t[1]);
+        setProducts(t[4], t[5], t[6], t[7]);
+    }
+
+    /**
+     * Set X = E*F, Y = G*H, T = E*H and Z = F*G, the common final step of addition and doubling.
+     */
+    private void setProducts(final long[] e, final long[] f, final long[] g, final long[] h) {
+        FieldElement.multiply(this.x, e, f);
+        FieldElement.multiply(this.y, g, h);
+        FieldElement.multiply(this.t, e, h);
+        FieldElement.multiply(this.z, f, g);
+    }
+
+    /**
+     * Multiply base point by scalar and store the result in this point, using Double-and-Add from the most significant
+     * bit. The base point is not modified. It must not be the same instance as this point.
+     *
+     * @param base    The base point.
+     * @param scalar  The non-negative scalar value.
+     * @param scratch The scratch space.
+     */
+    void multiply(final TwistedPoint base, final BigInteger scalar, final Scratch scratch) {
+        assert this != base : "Result must not overlap with base point.";
+        setIdentity();
+        for (int i = scalar.bitLength() - 1; i >= 0; i--) {
+            doubling(scratch);
+            if (scalar.testBit(i)) {
+                add(base, scratch);
+            }
+        }
+    }
+
+    /**
+     * Multiply point P of order q by scalar m in constant time and store the result in this point, using a signed
+     * fixed window.
+     * <p>
+     * The scalar is recoded into signed bits (see {@link Scalar#recodeSigned(int)}). Every window of w signed bits
+     * forms an odd digit in [-(2^w - 1), 2^w - 1], such that only the odd multiples of P need to be precomputed, and
+     * the digit is processed as for the comb: the multiple is selected in constant time and negated if the most
+     * significant signed bit is negative. (See {@link BaseComb#multiply(TwistedPoint, Scalar, Scratch)}.) This costs 444
+     * doublings and 112 mixed additions, and the sequence of operations does not depend on the scalar.
+     *
+     * @param multiples The odd multiples [2i+1]P for i in [0, {@link #FIXED_WINDOW_MULTIPLES}), in precomputed form.
+     * @param scalar    The scalar value m.
+     * @param scratch   The scratch space. (This point may be part of the scratch space, except for n0.)
+     */
+    void multiply(final NielsPoint[] multiples, final Scalar scalar, final Scratch scratch) {
+        assert multiples.length == FIXED_WINDOW_MULTIPLES : "Expected table of odd multiples for the fixed window.";
+        final long[] recoded = scalar.recodeSigned(FIXED_WINDOW_BITS);
+        final NielsPoint entry = scratch.n0;
+        setIdentity();
+        for (int i = FIXED_WINDOW_BITS - FIXED_WINDOW_WIDTH; i >= 0; i -= FIXED_WINDOW_WIDTH) {
+            if (i < FIXED_WINDOW_BITS - FIXED_WINDOW_WIDTH) {
+                for (int j = 0; j < FIXED_WINDOW_WIDTH; j++) {
+                    doubling(scratch);
+                }
+            }
+            int index = 0;
+            for (int j = 0; j < FIXED_WINDOW_WIDTH - 1; j++) {
+                index |= Scalar.bit(recoded, i + j + 1) << j;
+            }
+            // If the most significant signed bit is negative, the digit is -(2 * (index ^ (2^(w-1) - 1)) + 1).
+            final int negate = Scalar.bit(recoded, i + FIXED_WINDOW_WIDTH) ^ 1;
+            index ^= -negate & (FIXED_WINDOW_MULTIPLES - 1);
+            entry.select(multiples, index);
+            entry.conditionalNegate(negate, scratch.temp[0]);
+            add(entry, scratch);
+        }
+        Arrays.fill(recoded, 0L);
+    }
+
+    /**
+     * Compute [a]phi(B) - [b]P and store the result in this point, with B the Ed448 base point and the scalars given
+     * as non-adjacent forms, using Straus-Shamir interleaving: both non-adjacent forms are processed in a single pass,
+     * such that both multiplications share the same doublings. Odd multiples of phi(B) are precomputed (see
+     * {@link BaseMultiples}), odd multiples of P are computed on the fly. This costs approximately one doubling per bit
+     * and one addition per 8 and 6 bits respectively, instead of one doubling per bit for each scalar separately.
+     * <p>
+     * The sequence of operations depends on the scalars. Use this method only for public scalars, e.g. in signature
+     * verification.
+     *
+     * @param nafA    The non-adjacent form of a, of width {@link BaseMultiples#WIDTH}.
+     * @param point   The point P. It is not modified, and must not be the same instance as this point.
+     * @param nafB    The non-adjacent form of b, of width {@link #WNAF_WIDTH}.
+     * @param scratch The scratch space. The odd multiples of P are stored in its wNAF table.
+     */
+    void multiplyDoubleVariableTime(final byte[] nafA, final TwistedPoint point, final byte[] nafB,
+            final Scratch scratch) {
+        assert this != point : "Result must not overlap with point.";
+        final TwistedPoint[] multiples = precomputeMultiples(point, scratch);
+        for (int i = startDoubleScalar(nafA, nafB); i >= 0; i--) {
+            doubling(scratch);
+            addBaseDigit(digit(nafA, i), scratch);
+            final int digitB = digit(nafB, i);
+            if (digitB > 0) {
+                subtract(multiples[digitB >> 1], scratch);
+            } else if (digitB < 0) {
+                add(multiples[-digitB >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * Compute [a]phi(B) - [b]P and store the result in this point, with precomputed odd multiples of phi(P), e.g. of a
+     * cached public key (see {@link PublicKeyCache}), and the scalars given as non-adjacent forms. Otherwise identical
+     * to {@link #multiplyDoubleVariableTime(byte[], TwistedPoint, byte[], Scratch)}, but without the computation of
+     * multiples and with mixed additions only.
+     *
+     * @param nafA      The non-adjacent form of a, of width {@link BaseMultiples#WIDTH}.
+     * @param multiples The odd multiples phi([2i+1]P) for i in [0, 2^(w-2)). (See
+     *                  {@link NielsPoint#oddMultiples(Point, int)}.)
+     * @param nafB      The non-adjacent form of b, of the width w that corresponds to the number of multiples.
+     * @param scratch   The scratch space.
+     */
+    void multiplyDoubleVariableTime(final byte[] nafA, final NielsPoint[] multiples, final byte[] nafB,
+            final Scratch scratch) {
+        for (int i = startDoubleScalar(nafA, nafB); i >= 0; i--) {
+            doubling(scratch);
+            addBaseDigit(digit(nafA, i), scratch);
+            final int digitB = digit(nafB, i);
+            if (digitB > 0) {
+                subtract(multiples[digitB >> 1], scratch);
+            } else if (digitB < 0) {
+                add(multiples[-digitB >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * Set this point to the identity, and return the index of the most significant non-zero digit of either
+     * non-adjacent form, or -1 if both are zero.
+     */
+    private int startDoubleScalar(final byte[] nafA, final byte[] nafB) {
+        setIdentity();
+        int i = Math.max(nafA.length, nafB.length) - 1;
+        while (i >= 0 && digit(nafA, i) == 0 && digit(nafB, i) == 0) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Add digit * phi(B) to this point, using the precomputed odd multiples of the base point.
+     */
+    private void addBaseDigit(final int digit, final Scratch scratch) {
+        if (digit > 0) {
+            add(BaseMultiples.TABLE[digit >> 1], scratch);
+        } else if (digit < 0) {
+            subtract(BaseMultiples.TABLE[-digit >> 1], scratch);
+        }
+    }
+
+    /**
+     * Store the odd multiples P, 3P, ..., (2^(w-1) - 1)P in the wNAF table of the scratch space, using this point as
+     * temporary for 2P.
+     */
+    private TwistedPoint[] precomputeMultiples(final TwistedPoint base, final Scratch scratch) {
+        final TwistedPoint[] multiples = scratch.multiples;
+        multiples[0].set(base);
+        set(base);
+        doubling(scratch);
+        for (int i = 1; i < WNAF_MULTIPLES; i++) {
+            multiples[i].set(multiples[i - 1]);
+            multiples[i].add(this, scratch);
+        }
+        return multiples;
+    }
+
+    /**
+     * The digit at index i of a non-adjacent form, or zero beyond its most significant digit.
+     */
+    private static int digit(final byte[] naf, final int i) {
+        return i < naf.length ? naf[i] : 0;
+    }
+
+    /**
+     * Clear coordinates.
+     */
+    void clear() {
+        Arrays.fill(this.x, 0L);
+        Arrays.fill(this.y, 0L);
+        Arrays.fill(this.z, 0L);
+        Arrays.fill(this.t, 0L);
+    }
+}
@@ -0,0 +1,194 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.ByteArrays.requireLengthExactly;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static org.bouncycastle.util.Arrays.clear;
+
+/**
+ * X448 Diffie-Hellman function on curve448, according to RFC 7748.
+ * <p>
+ * Keys and shared secrets are 56-byte little-endian values: private keys are scalars, public keys and shared secrets
+ * are u-coordinates on the Montgomery curve. No point decompression is needed. Shared secrets are computed with the
+ * Montgomery ladder of RFC 7748, section 5, which performs the same sequence of field operations and conditional swaps
+ * for every bit of the scalar. Public keys are computed with the precomputed tables for the Ed448 base point (see
+ * {@link BaseComb}), as the 4-isogeny of RFC 7748, section 4.2, maps the Ed448 base point to the curve448 base point.
+ */
+public final class X448 {
+
+    /**
+     * Length in bytes of private keys, public keys and shared secrets.
+     */
+    public static final int KEY_LENGTH_BYTES = 56;
+
+    /**
+     * The constant (A - 2) / 4, with A = 156326 the Montgomery curve constant.
+     */
+    private static final int A24 = 39081;
+
+    private X448() {
+        // No need to instantiate utility class.
+    }
+
+    /**
+     * Generate private key.
+     *
+     * @param random Secure random instance
+     * @return Returns random private key of 56 bytes.
+     */
+    @Nonnull
+    public static byte[] generatePrivateKey(final SecureRandom random) {
+        final byte[] key = new byte[KEY_LENGTH_BYTES];
+        random.nextBytes(key);
+        return key;
+    }
+
+    /**
+     * Derive public key from private key, i.e. X448(k, 5).
+     *
+     * @param privateKey The private key of 56 bytes.
+     * @return Returns the public key of 56 bytes.
+     */
+    @Nonnull
+    public static byte[] publicKey(final byte[] privateKey) {
+        final byte[] k = decodeScalar(privateKey);
+        final Scalar scalar = Scalar.decode(k, 0, KEY_LENGTH_BYTES);
+        clear(k);
+        final byte[] result = new byte[KEY_LENGTH_BYTES];
+        final Scratch scratch = Scratch.local();
+        try {
+            scratch.p0.multiplyByBase(scalar, scratch);
+            scratch.p0.encodeMontgomeryTo(result, 0, scratch);
+        } finally {
+            scratch.clear();
+            scalar.clear();
+        }
+        return result;
+    }
+
+    /**
+     * Compute shared secret, i.e. X448(k, u) for private key k and the other party's public key u.
+     * <p>
+     * As described in RFC 7748, section 6.2, the shared secret is checked for the all-zero value, which results from
+     * public keys of small order.
+     *
+     * @param privateKey The private key of 56 bytes.
+     * @param publicKey  The other party's public key of 56 bytes.
+     * @return Returns the shared secret of 56 bytes.
+     * @throws Points.InvalidDataException In case the public key is of small order, i.e. the shared secret is zero.
+     */
+    @Nonnull
+    public static byte[] sharedSecret(final byte[] privateKey, final byte[] publicKey)
+            throws Points.InvalidDataException {
+        final byte[] secret = x448(privateKey, publicKey);
+        int bits = 0;
+        for (final byte b : secret) {
+            bits |= b;
+        }
+        if (bits == 0) {
+            throw new Points.InvalidDataException("Public key is of small order.");
+        }
+        return secret;
+    }
+
+    /**
+     * The X448 function of RFC 7748, section 5: multiply the point with u-coordinate u by the decoded scalar k, using
+     * the Montgomery ladder.
+     *
+     * @param scalar The scalar of 56 bytes. Decoded according to RFC 7748 ("decodeScalar448").
+     * @param u      The u-coordinate of 56 bytes. Non-canonical values are accepted.
+     * @return Returns the resulting u-coordinate of 56 bytes.
+     */
+    @Nonnull
+    public static byte[] x448(final byte[] scalar, final byte[] u) {
+        final byte[] k = decodeScalar(scalar);
+        final long[][] v = new long[15][LIMBS];
+        final long[] x1 = v[0];
+        final long[] x2 = v[1];
+        final long[] z2 = v[2];
+        final long[] x3 = v[3];
+        final long[] z3 = v[4];
+        final long[] a = v[5];
+        final long[] aa = v[6];
+        final long[] b = v[7];
+        final long[] bb = v[8];
+        final long[] e = v[9];
+        final long[] c = v[10];
+        final long[] d = v[11];
+        final long[] da = v[12];
+        final long[] cb = v[13];
+        final long[] t = v[14];
+        final byte[] result = new byte[KEY_LENGTH_BYTES];
+        try {
+            FieldElement.decodeLimbs(x1, requireLengthExactly(KEY_LENGTH_BYTES, u), 0);
+            x2[0] = 1;
+            System.arraycopy(x1, 0, x3, 0, LIMBS);
+            z3[0] = 1;
+            int swap = 0;
+            for (int i = 8 * KEY_LENGTH_BYTES - 1; i >= 0; i--) {
+                final int bit = k[i >>> 3] >>> (i & 7) & 1;
+                swap ^= bit;
+                conditionalSwap(x2, x3, swap);
+                conditionalSwap(z2, z3, swap);
+                swap = bit;
+                FieldElement.add(a, x2, z2);
+                FieldElement.square(aa, a);
+                FieldElement.subtract(b, x2, z2);
+                FieldElement.square(bb, b);
+                FieldElement.subtract(e, aa, bb);
+                FieldElement.add(c, x3, z3);
+                FieldElement.subtract(d, x3, z3);
+                FieldElement.multiply(da, d, a);
+                FieldElement.multiply(cb, c, b);
+                FieldElement.add(t, da, cb);
+                FieldElement.square(x3, t);
+                FieldElement.subtract(t, da, cb);
+                FieldElement.square(d, t);
+                FieldElement.multiply(z3, x1, d);
+                FieldElement.multiply(x2, aa, bb);
+                FieldElement.multiplySmall(t, e, A24);
+                FieldElement.add(t, aa, t);
+                FieldElement.multiply(z2, e, t);
+            }
+            conditionalSwap(x2, x3, swap);
+            conditionalSwap(z2, z3, swap);
+            // x2 / z2. For z2 = 0, the inverse is zero and so is the result.
+            FieldElement.invert(x3, z2, a, b, c, d);
+            FieldElement.multiply(t, x2, x3);
+            FieldElement.encode(result, 0, t, a);
+        } finally {
+            for (final long[] value : v) {
+                Arrays.fill(value, 0L);
+            }
+            clear(k);
+        }
+        return result;
+    }
+
+    /**
+     * Decode scalar according to RFC 7748 ("decodeScalar448"): the two least significant bits are cleared and the most
+     * significant bit is set.
+     */
+    @Nonnull
+    private static byte[] decodeScalar(final byte[] scalar) {
+        final byte[] k = requireLengthExactly(KEY_LENGTH_BYTES, scalar).clone();
+        k[0] &= (byte) 252;
+        k[KEY_LENGTH_BYTES - 1] |= (byte) 128;
+        return k;
+    }
+
+    /**
+     * Swap a and b in constant time iff swap is 1.
+     */
+    private static void conditionalSwap(final long[] a, final long[] b, final int swap) {
+        final long mask = -(long) swap;
+        for (int i = 0; i < LIMBS; i++) {
+            final long diff = (a[i] ^ b[i]) & mask;
+            a[i] ^= diff;
+            b[i] ^= diff;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Field arithmetic using the Vector API, computing 4 limbs of the product in the lanes of a single vector.
+ * <p>
+ * The 31 limb positions of the product are accumulated in 8 vectors of 4 lanes. Limbs of x are processed in 4 rounds
+ * of x[r], x[4 + r], x[8 + r], x[12 + r], multiplied with y shifted up by r lanes, such that every partial product
+ * lands in an aligned vector. The upper 4 vectors (limb positions 16..31) are folded into the lower 4 vectors the same
+ * way as in {@link ScalarFieldArithmetic#multiply(long[], long[], long[])}. As positions are aligned to multiples of
+ * 4, folding works on whole vectors.
+ * <p>
+ * This class is part of the multi-release overlay for Java 17 and requires module jdk.incubator.vector.
+ */
+final class VectorFieldArithmetic implements FieldArithmetic {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_256;
+
+    private static final int LANES = 4;
+
+    VectorFieldArithmetic() {
+        if (SPECIES.length() != LANES) {
+            throw new IllegalStateException("Unexpected number of lanes.");
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    @Override
+    public int priority() {
+        return 20;
+    }
+
+    @Override
+    public void multiply(final long[] z, final long[] x, final long[] y) {
+        assert z != x && z != y : "Destination must not overlap with operands.";
+        final LongVector zero = LongVector.zero(SPECIES);
+        final LongVector y0 = LongVector.fromArray(SPECIES, y, 0);
+        final LongVector y1 = LongVector.fromArray(SPECIES, y, 4);
+        final LongVector y2 = LongVector.fromArray(SPECIES, y, 8);
+        final LongVector y3 = LongVector.fromArray(SPECIES, y, 12);
+        LongVector c0 = zero;
+        LongVector c1 = zero;
+        LongVector c2 = zero;
+        LongVector c3 = zero;
+        LongVector c4 = zero;
+        LongVector c5 = zero;
+        LongVector c6 = zero;
+        LongVector c7 = zero;
+        for (int r = 0; r < LANES; r++) {
+            // y shifted up by r lanes: x[4m + r] * s[j] contributes to limb positions 4(m + j) .. 4(m + j) + 3.
+            final LongVector s0 = zero.slice(LANES - r, y0);
+            final LongVector s1 = y0.slice(LANES - r, y1);
+            final LongVector s2 = y1.slice(LANES - r, y2);
+            final LongVector s3 = y2.slice(LANES - r, y3);
+            final LongVector s4 = y3.slice(LANES - r, zero);
+            final long x0 = x[r];
+            final long x1 = x[LANES + r];
+            final long x2 = x[2 * LANES + r];
+            final long x3 = x[3 * LANES + r];
+            c0 = c0.add(s0.mul(x0));
+            c1 = c1.add(s1.mul(x0)).add(s0.mul(x1));
+            c2 = c2.add(s2.mul(x0)).add(s1.mul(x1)).add(s0.mul(x2));
+            c3 = c3.add(s3.mul(x0)).add(s2.mul(x1)).add(s1.mul(x2)).add(s0.mul(x3));
+            c4 = c4.add(s4.mul(x0)).add(s3.mul(x1)).add(s2.mul(x2)).add(s1.mul(x3));
+            c5 = c5.add(s4.mul(x1)).add(s3.mul(x2)).add(s2.mul(x3));
+            c6 = c6.add(s4.mul(x2)).add(s3.mul(x3));
+            c7 = c7.add(s4.mul(x3));
+        }
+        // Positions 16..23 fold into k-16 and k-8. Positions 24..31 fold into k-24 and twice into k-16.
+        c0.add(c4).add(c6).intoArray(z, 0);
+        c1.add(c5).add(c7).intoArray(z, 4);
+        c2.add(c4).add(c6.add(c6)).intoArray(z, 8);
+        c3.add(c5).add(c7.add(c7)).intoArray(z, 12);
+        FieldElement.carry(z);
+    }
+
+    @Override
+    public void square(final long[] z, final long[] x) {
+        multiply(z, x, x);
+    }
+}
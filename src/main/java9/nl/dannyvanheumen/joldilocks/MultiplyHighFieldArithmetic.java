@@ -0,0 +1,113 @@
+package nl.dannyvanheumen.joldilocks;
+
+import javax.annotation.Nonnull;
+
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMB_BITS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMB_MASK;
+
+/**
+ * Field arithmetic on 8 words of 56 bits, using {@link Math#multiplyHigh(long, long)} for full 128-bit products.
+ * <p>
+ * Every pair of 28-bit limbs forms one word, such that a multiplication takes 64 partial products instead of 256 and
+ * squaring takes 36. Each 128-bit partial product is split at 56 bits and accumulated into 16 columns. With at most 8
+ * products per column, the columns cannot overflow, so carries are propagated only once at the end. Words have enough
+ * headroom that weakly reduced limbs can be combined without normalization, and signed multiplyHigh suffices.
+ * <p>
+ * The 16 columns are reduced to 8 using 2^448 = 2^224 + 1, which conveniently is 2^(56*8) = 2^(56*4) + 1. The result
+ * is split into 16 limbs again. All intermediate values are stored in the destination array.
+ * <p>
+ * This class is part of the multi-release overlay for Java 9.
+ */
+final class MultiplyHighFieldArithmetic implements FieldArithmetic {
+
+    private static final int WORDS = 8;
+
+    private static final int WORD_BITS = 2 * LIMB_BITS;
+
+    private static final long WORD_MASK = (1L << WORD_BITS) - 1;
+
+    private static final int WORD_PHI = 4;
+
+    @Nonnull
+    @Override
+    public String name() {
+        return "multiply-high";
+    }
+
+    @Override
+    public int priority() {
+        return 10;
+    }
+
+    @Override
+    public void multiply(final long[] z, final long[] x, final long[] y) {
+        assert z != x && z != y : "Destination must not overlap with operands.";
+        for (int k = 0; k < 2 * WORDS; k++) {
+            z[k] = 0;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            final long xi = word(x, i);
+            for (int j = 0; j < WORDS; j++) {
+                accumulate(z, i + j, xi, word(y, j));
+            }
+        }
+        reduce(z);
+    }
+
+    @Override
+    public void square(final long[] z, final long[] x) {
+        assert z != x : "Destination must not overlap with operand.";
+        for (int k = 0; k < 2 * WORDS; k++) {
+            z[k] = 0;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            final long xi = word(x, i);
+            accumulate(z, 2 * i, xi, xi);
+            final long xi2 = xi << 1;
+            for (int j = i + 1; j < WORDS; j++) {
+                accumulate(z, i + j, xi2, word(x, j));
+            }
+        }
+        reduce(z);
+    }
+
+    private static long word(final long[] limbs, final int i) {
+        return limbs[2 * i] + (limbs[2 * i + 1] << LIMB_BITS);
+    }
+
+    /**
+     * Add a * b to columns k and k + 1.
+     */
+    private static void accumulate(final long[] columns, final int k, final long a, final long b) {
+        final long low = a * b;
+        final long high = Math.multiplyHigh(a, b);
+        columns[k] += low & WORD_MASK;
+        columns[k + 1] += (high << (Long.SIZE - WORD_BITS)) | (low >>> WORD_BITS);
+    }
+
+    /**
+     * Reduce 16 columns to 8 words, then split the words into 16 limbs of (at most) 28 bits, and carry.
+     */
+    private static void reduce(final long[] z) {
+        for (int k = 0; k < 2 * WORDS - 1; k++) {
+            z[k + 1] += z[k] >>> WORD_BITS;
+            z[k] &= WORD_MASK;
+        }
+        // Column 15 has at most a few bits beyond 56, which is fine as it is folded immediately.
+        for (int k = WORDS + WORD_PHI; k < 2 * WORDS; k++) {
+            z[k - WORDS - WORD_PHI] += z[k];
+            z[k - WORDS] += z[k] << 1;
+        }
+        for (int k = WORDS; k < WORDS + WORD_PHI; k++) {
+            z[k - WORDS] += z[k];
+            z[k - WORD_PHI] += z[k];
+        }
+        // Split words into limbs, starting at the top such that no word is overwritten before it is read.
+        for (int k = WORDS - 1; k >= 0; k--) {
+            final long word = z[k];
+            z[2 * k + 1] = word >>> LIMB_BITS;
+            z[2 * k] = word & LIMB_MASK;
+        }
+        FieldElement.carry(z);
+    }
+}
@@ -0,0 +1,56 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class BaseCombTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static Point multiplyByComb(final BigInteger scalar) {
+        final Scratch scratch = new Scratch();
+        final TwistedPoint twisted = new TwistedPoint();
+        BaseComb.multiply(twisted, Scalar.valueOf(scalar), scratch);
+        final MutablePoint result = new MutablePoint();
+        result.setDualIsogeny(twisted, scratch);
+        return result.toPoint();
+    }
+
+    @Test
+    public void testCombCoversScalars() {
+        assertTrue(BaseComb.BITS >= Q.bitLength() + 1);
+    }
+
+    @Test
+    public void testMultiplySmallScalars() {
+        assertTrue(multiplyByComb(ZERO).isIdentity());
+        for (int k = 1; k < 8; k++) {
+            final BigInteger scalar = BigInteger.valueOf(k);
+            assertEquals(P.multiply(scalar.shiftLeft(2)), multiplyByComb(scalar));
+        }
+    }
+
+    @Test
+    public void testMultiplyLargestScalar() {
+        final BigInteger scalar = Q.subtract(ONE);
+        assertEquals(P.multiply(BigInteger.valueOf(4)).negate(), multiplyByComb(scalar));
+    }
+
+    @Test
+    public void testMultiplyRandomScalars() {
+        for (int i = 0; i < 10; i++) {
+            final BigInteger scalar = new BigInteger(446, RANDOM).mod(Q);
+            assertEquals(P.multiply(scalar.shiftLeft(2)), multiplyByComb(scalar));
+        }
+    }
+}
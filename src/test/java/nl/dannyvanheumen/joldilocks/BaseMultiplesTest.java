@@ -0,0 +1,30 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings("WeakerAccess")
+public class BaseMultiplesTest {
+
+    @Test
+    public void testTableSize() {
+        assertEquals(1 << (BaseMultiples.WIDTH - 2), BaseMultiples.TABLE.length);
+    }
+
+    @Test
+    public void testTableContainsOddMultiplesOfBase() {
+        final Scratch scratch = new Scratch();
+        final TwistedPoint twisted = new TwistedPoint();
+        final MutablePoint result = new MutablePoint();
+        for (int i = 0; i < BaseMultiples.TABLE.length; i++) {
+            twisted.setIdentity();
+            twisted.add(BaseMultiples.TABLE[i], scratch);
+            result.setDualIsogeny(twisted, scratch);
+            assertEquals(P.multiply(BigInteger.valueOf(4L * (2 * i + 1))), result.toPoint());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("WeakerAccess")
+public class BaseTablesTest {
+
+    @Test
+    public void testCombResourceMatchesComputation() {
+        final byte[] resource = BaseTables.read(BaseTables.COMB_RESOURCE);
+        assertNotNull(resource, "Resource is generated during the build.");
+        assertArrayEquals(BaseTables.encode(BaseComb.computeTable()), resource);
+    }
+
+    @Test
+    public void testMultiplesResourceMatchesComputation() {
+        final byte[] resource = BaseTables.read(BaseTables.MULTIPLES_RESOURCE);
+        assertNotNull(resource, "Resource is generated during the build.");
+        assertArrayEquals(BaseTables.encode(BaseMultiples.computeTable()), resource);
+        assertArrayEquals(resource, BaseTables.encode(BaseMultiples.TABLE));
+    }
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        final NielsPoint[] table = BaseMultiples.computeTable();
+        final byte[] encoded = BaseTables.encode(table);
+        assertEquals(table.length * 168, encoded.length);
+        assertArrayEquals(encoded, BaseTables.encode(BaseTables.decode(encoded)));
+    }
+
+    @Test
+    public void testLoadMissingResourceComputes() {
+        final NielsPoint[] computed = new NielsPoint[0];
+        assertNull(BaseTables.read("missing.bin"));
+        assertSame(computed, BaseTables.load("missing.bin", 0, () -> computed));
+    }
+
+    @Test
+    public void testLoadRejectsUnexpectedLength() {
+        assertThrows(IllegalStateException.class, () -> BaseTables.load(BaseTables.MULTIPLES_RESOURCE, 31,
+            BaseMultiples::computeTable));
+    }
+}
@@ -0,0 +1,155 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndian;
+import static org.bouncycastle.util.encoders.Hex.decode;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class DecafPointTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * RFC 9496, appendix B.2: multiples of the generator, from 0 up to and including 3.
+     */
+    private static final String[] MULTIPLES_OF_GENERATOR = new String[]{
+        "0000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000",
+        "6666666666666666666666666666666666666666666666666666666633333333333333333333333333333333333333333333333333333333",
+        "c898eb4f87f97c564c6fd61fc7e49689314a1f818ec85eeb3bd5514ac816d38778f69ef347a89fca817e66defdedce178c7cc709b2116e75",
+        "a0c09bf2ba7208fda0f4bfe3d0f5b29a543012306d43831b5adc6fe7f8596fa308763db15468323b11cf6e4aeb8c18fe44678f44545a69bc",
+    };
+
+    private static DecafPoint randomElement() {
+        return DecafPoint.multiplyByGenerator(new BigInteger(446, RANDOM));
+    }
+
+    private static byte[] encodeFieldValue(final BigInteger value) {
+        final byte[] result = new byte[DecafPoint.ENCODED_LENGTH_BYTES];
+        final byte[] encoded = encodeLittleEndian(value);
+        System.arraycopy(encoded, 0, result, 0, encoded.length);
+        return result;
+    }
+
+    @Test
+    public void testEncodeMultiplesOfGenerator() {
+        DecafPoint element = DecafPoint.identity();
+        for (final String expected : MULTIPLES_OF_GENERATOR) {
+            assertArrayEquals(decode(expected), element.encode());
+            element = element.add(DecafPoint.generator());
+        }
+    }
+
+    @Test
+    public void testDecodeMultiplesOfGenerator() throws Points.InvalidDataException {
+        for (int i = 0; i < MULTIPLES_OF_GENERATOR.length; i++) {
+            final DecafPoint element = DecafPoint.decode(decode(MULTIPLES_OF_GENERATOR[i]));
+            assertEquals(DecafPoint.multiplyByGenerator(BigInteger.valueOf(i)), element);
+            assertEquals(DecafPoint.generator().multiply(BigInteger.valueOf(i)), element);
+        }
+    }
+
+    @Test
+    public void testEncodeDecodeRandomElements() throws Points.InvalidDataException {
+        for (int i = 0; i < 10; i++) {
+            final DecafPoint element = randomElement();
+            final byte[] encoded = element.encode();
+            final DecafPoint decoded = DecafPoint.decode(encoded);
+            assertEquals(element, decoded);
+            assertArrayEquals(encoded, decoded.multiply(ONE).encode());
+        }
+    }
+
+    @Test
+    public void testEncodingIgnoresPointOfOrderTwo() {
+        final ExtendedPoint p = ExtendedPoint.fromPoint(Ed448.multiplyByBase(new BigInteger(446, RANDOM))).doubling();
+        final ExtendedPoint pPlusTwoTorsion = p.add(new AffinePoint(ZERO, MODULUS.subtract(ONE)));
+        assertNotEquals(p, pPlusTwoTorsion);
+        assertEquals(new DecafPoint(p), new DecafPoint(pPlusTwoTorsion));
+        assertArrayEquals(new DecafPoint(p).encode(), new DecafPoint(pPlusTwoTorsion).encode());
+    }
+
+    @Test
+    public void testGroupLaws() {
+        final DecafPoint a = randomElement();
+        final DecafPoint b = randomElement();
+        assertEquals(a.add(b), b.add(a));
+        assertEquals(a, a.add(b).subtract(b));
+        assertEquals(a.doubling(), a.add(a));
+        assertTrue(a.add(a.negate()).isIdentity());
+        assertTrue(a.multiply(Q).isIdentity());
+        assertFalse(a.isIdentity());
+        assertEquals(DecafPoint.identity(), a.subtract(a));
+    }
+
+    @Test
+    public void testMultiply() {
+        final DecafPoint a = randomElement();
+        final BigInteger k = new BigInteger(446, RANDOM);
+        final BigInteger l = new BigInteger(446, RANDOM);
+        assertEquals(a.multiply(k).multiply(l), a.multiply(k.multiply(l)));
+        assertEquals(a.multiply(k).add(a.multiply(l)), a.multiply(k.add(l)));
+        assertEquals(a.add(a).add(a), a.multiply(BigInteger.valueOf(3L)));
+        assertEquals(a.negate(), a.multiply(Q.subtract(ONE)));
+        assertTrue(a.multiply(BigInteger.ZERO).isIdentity());
+        assertTrue(DecafPoint.identity().multiply(k).isIdentity());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final BigInteger k = new BigInteger(446, RANDOM);
+        final DecafPoint a = DecafPoint.multiplyByGenerator(k);
+        final DecafPoint b = DecafPoint.generator().multiply(k);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, a.doubling());
+        assertNotEquals(a, null);
+    }
+
+    @Test
+    public void testDecodeInvalidLength() {
+        assertThrows(Points.InvalidDataException.class, () -> DecafPoint.decode(new byte[55]));
+        assertThrows(Points.InvalidDataException.class, () -> DecafPoint.decode(new byte[57]));
+    }
+
+    @Test
+    public void testDecodeNonCanonical() {
+        assertThrows(Points.InvalidDataException.class, () -> DecafPoint.decode(encodeFieldValue(MODULUS)));
+        assertThrows(Points.InvalidDataException.class,
+            () -> DecafPoint.decode(encodeFieldValue(MODULUS.add(BigInteger.valueOf(2)))));
+    }
+
+    @Test
+    public void testDecodeNegative() {
+        assertThrows(Points.InvalidDataException.class, () -> DecafPoint.decode(encodeFieldValue(ONE)));
+        final BigInteger s = Scalars.decodeLittleEndian(DecafPoint.generator().encode());
+        assertThrows(Points.InvalidDataException.class,
+            () -> DecafPoint.decode(encodeFieldValue(MODULUS.subtract(s))));
+    }
+
+    @Test
+    public void testDecodeNotOnCurve() {
+        assertThrows(Points.InvalidDataException.class, () -> DecafPoint.decode(encodeFieldValue(BigInteger.valueOf(4))));
+    }
+
+    @Test
+    public void testDecodedElementRetainsCopyOfEncoding() throws Points.InvalidDataException {
+        final byte[] encoded = decode(MULTIPLES_OF_GENERATOR[2]);
+        final DecafPoint element = DecafPoint.decode(encoded);
+        encoded[0] ^= 0x02;
+        assertArrayEquals(decode(MULTIPLES_OF_GENERATOR[2]), element.encode());
+    }
+}
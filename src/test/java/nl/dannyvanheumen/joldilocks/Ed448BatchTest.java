@@ -0,0 +1,150 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("WeakerAccess")
+public class Ed448BatchTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final byte[] CONTEXT = new byte[]{0x66, 0x6f, 0x6f};
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] result = new byte[length];
+        RANDOM.nextBytes(result);
+        return result;
+    }
+
+    private static boolean verifySingle(final Point publicKey, final byte[] message, final byte[] signature) {
+        try {
+            Ed448.verify(CONTEXT, publicKey, message, signature);
+            return true;
+        } catch (final Ed448.SignatureVerificationFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fill batch with valid signatures from a few signers.
+     */
+    private static Point[] fill(final Ed448Batch batch, final byte[][] messages, final byte[][] signatures) {
+        final Point[] publicKeys = new Point[messages.length];
+        final byte[][] keys = new byte[][]{randomBytes(57), randomBytes(57), randomBytes(57)};
+        for (int i = 0; i < messages.length; i++) {
+            final byte[] sk = keys[i % keys.length];
+            publicKeys[i] = Ed448KeyPair.create(sk).getPublicKey();
+            messages[i] = randomBytes(i);
+            signatures[i] = Ed448.sign(sk, CONTEXT, messages[i]);
+        }
+        return publicKeys;
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        assertEquals(0, new Ed448Batch(RANDOM).verify().length);
+    }
+
+    @Test
+    public void testAllValid() {
+        final Ed448Batch batch = new Ed448Batch(RANDOM);
+        final byte[][] messages = new byte[20][];
+        final byte[][] signatures = new byte[20][];
+        final Point[] publicKeys = fill(batch, messages, signatures);
+        for (int i = 0; i < messages.length; i++) {
+            assertEquals(i, batch.add(CONTEXT, publicKeys[i], messages[i], signatures[i]));
+        }
+        assertEquals(20, batch.size());
+        final boolean[] expected = new boolean[20];
+        Arrays.fill(expected, true);
+        assertArrayEquals(expected, batch.verify());
+    }
+
+    @Test
+    public void testInvalidSignaturesAreIdentified() {
+        final Ed448Batch batch = new Ed448Batch(RANDOM);
+        final byte[][] messages = new byte[24][];
+        final byte[][] signatures = new byte[24][];
+        final Point[] publicKeys = fill(batch, messages, signatures);
+        // Wrong message, wrong public key, modified S, undecodable R, S out of range.
+        messages[1] = randomBytes(5);
+        publicKeys[7] = publicKeys[8];
+        signatures[10][60] ^= 1;
+        signatures[13] = signatures[13].clone();
+        System.arraycopy(new byte[57], 0, signatures[13], 0, 57);
+        signatures[13][0] = 2;
+        final byte[] s = Scalars.encodeLittleEndian(Q);
+        System.arraycopy(s, 0, signatures[22], 57, s.length);
+        final boolean[] expected = new boolean[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            batch.add(CONTEXT, publicKeys[i], messages[i], signatures[i]);
+            expected[i] = verifySingle(publicKeys[i], messages[i], signatures[i]);
+        }
+        assertEquals(19, countTrue(expected));
+        assertArrayEquals(expected, batch.verify());
+    }
+
+    @Test
+    public void testAllInvalid() {
+        final Ed448Batch batch = new Ed448Batch(RANDOM);
+        final byte[][] messages = new byte[5][];
+        final byte[][] signatures = new byte[5][];
+        final Point[] publicKeys = fill(batch, messages, signatures);
+        for (int i = 0; i < messages.length; i++) {
+            batch.add(CONTEXT, publicKeys[i], randomBytes(3), signatures[i]);
+        }
+        assertArrayEquals(new boolean[5], batch.verify());
+    }
+
+    @Test
+    public void testTorsionComponentAgreesWithSingleVerification() {
+        // R with a point of order 4 added: valid according to the cofactored equation, in batch and single.
+        final BigInteger a = new BigInteger(446, RANDOM).mod(Q);
+        final BigInteger nonce = new BigInteger(446, RANDOM).mod(Q);
+        final Point publicKey = P.multiply(a).add(new AffinePoint(ONE, ZERO).doubling());
+        final Point r = P.multiply(nonce).add(new AffinePoint(ONE, ZERO));
+        final byte[] message = randomBytes(10);
+        final byte[] encodedR = r.encode();
+        final BigInteger k = Ed448.challenge(CONTEXT, encodedR, publicKey.encode(), message).toBigInteger();
+        final byte[] signature = new byte[114];
+        System.arraycopy(encodedR, 0, signature, 0, 57);
+        final byte[] encodedS = Scalars.encodeLittleEndian(nonce.add(k.multiply(a)).mod(Q));
+        System.arraycopy(encodedS, 0, signature, 57, encodedS.length);
+        final Ed448Batch batch = new Ed448Batch(RANDOM);
+        for (int i = 0; i < 8; i++) {
+            batch.add(CONTEXT, publicKey, message, signature);
+        }
+        final boolean[] expected = new boolean[8];
+        Arrays.fill(expected, verifySingle(publicKey, message, signature));
+        assertEquals(true, expected[0]);
+        assertArrayEquals(expected, batch.verify());
+    }
+
+    @Test
+    public void testBadArguments() {
+        final Ed448Batch batch = new Ed448Batch(RANDOM);
+        assertThrows(NullPointerException.class, () -> new Ed448Batch(null));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(CONTEXT, P, new byte[0], new byte[113]));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(new byte[256], P, new byte[0], new byte[114]));
+        assertThrows(NullPointerException.class, () -> batch.add(CONTEXT, null, new byte[0], new byte[114]));
+    }
+
+    private static int countTrue(final boolean[] values) {
+        int count = 0;
+        for (final boolean value : values) {
+            count += value ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,104 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class Ed448BulkTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final byte[] CONTEXT = new byte[]{0x62, 0x61, 0x72};
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] result = new byte[length];
+        RANDOM.nextBytes(result);
+        return result;
+    }
+
+    /**
+     * Create jobs with valid signatures from a few signers, except for the jobs with index multiple of 5.
+     */
+    private static List<Ed448Bulk.Job> jobs(final int count) {
+        final byte[][] keys = new byte[][]{randomBytes(57), randomBytes(57), randomBytes(57)};
+        final Point[] publicKeys = new Point[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            publicKeys[i] = Ed448KeyPair.create(keys[i]).getPublicKey();
+        }
+        final List<Ed448Bulk.Job> jobs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final byte[] message = randomBytes(i);
+            final byte[] signature = Ed448.sign(keys[i % keys.length], CONTEXT, message);
+            if (i % 5 == 0) {
+                signature[60] ^= 1;
+            }
+            jobs.add(new Ed448Bulk.Job(CONTEXT, publicKeys[i % keys.length], message, signature));
+        }
+        return jobs;
+    }
+
+    private static BitSet expected(final int count) {
+        final BitSet expected = new BitSet();
+        for (int i = 0; i < count; i++) {
+            if (i % 5 != 0) {
+                expected.set(i);
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTrue(Ed448Bulk.verify(Collections.<Ed448Bulk.Job>emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testVerifyCommonPool() {
+        final List<Ed448Bulk.Job> jobs = jobs(41);
+        final BitSet results = Ed448Bulk.verify(jobs);
+        assertEquals(expected(41), results);
+        assertEquals(32, results.cardinality());
+    }
+
+    @Test
+    public void testVerifyProvidedPool() {
+        final List<Ed448Bulk.Job> jobs = jobs(70);
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertEquals(expected(70), Ed448Bulk.verify(jobs, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testVerifySingleWorker() {
+        final List<Ed448Bulk.Job> jobs = jobs(7);
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            assertEquals(expected(7), Ed448Bulk.verify(jobs, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Ed448Bulk.Job(CONTEXT, P, new byte[0], new byte[113]));
+        assertThrows(IllegalArgumentException.class, () -> new Ed448Bulk.Job(new byte[256], P, new byte[0], new byte[114]));
+        assertThrows(NullPointerException.class, () -> new Ed448Bulk.Job(CONTEXT, null, new byte[0], new byte[114]));
+        assertThrows(NullPointerException.class, () -> Ed448Bulk.verify(Collections.<Ed448Bulk.Job>singletonList(null)));
+        assertThrows(NullPointerException.class, () -> Ed448Bulk.verify(Collections.<Ed448Bulk.Job>emptyList(), null));
+    }
+}
@@ -10,6 +10,7 @@ import static nl.dannyvanheumen.joldilocks.Ed448.multiplyByBase;
 import static nl.dannyvanheumen.joldilocks.Points.decode;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -116,4 +117,26 @@ public final class Ed448KeyPairTest {
         final Ed448KeyPair keypair = Ed448KeyPair.create(expected);
         assertSame(expected, keypair.getSymmetricKey());
     }
+
+    @Test
+    public void testSecretKeyMatchesGenerateSecretScalar() {
+        final byte[] symmetricKey = Ed448.generateSymmetricKey(RANDOM);
+        final Ed448KeyPair keypair = Ed448KeyPair.create(symmetricKey);
+        assertEquals(Ed448.generateSecretScalar(symmetricKey), keypair.getSecretKey());
+        assertEquals(multiplyByBase(keypair.getSecretKey()), keypair.getPublicKey());
+    }
+
+    @Test
+    public void testClear() throws Ed448.SignatureVerificationFailedException {
+        final byte[] symmetricKey = Ed448.generateSymmetricKey(RANDOM);
+        final Ed448KeyPair keypair = Ed448KeyPair.create(symmetricKey);
+        final byte[] context = new byte[0];
+        final byte[] message = new byte[]{0x03};
+        Ed448.verify(context, keypair.getPublicKey(), message, keypair.sign(context, message));
+        keypair.clear();
+        assertArrayEquals(new byte[57], symmetricKey);
+        assertArrayEquals(new byte[57], keypair.getSymmetricKey());
+        assertThrows(IllegalStateException.class, () -> keypair.sign(context, message));
+        assertNotNull(keypair.getPublicKey().encode());
+    }
 }
@@ -0,0 +1,67 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static nl.dannyvanheumen.joldilocks.Crypto.shake256;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static nl.dannyvanheumen.joldilocks.Ed448.generateSecretScalar;
+import static nl.dannyvanheumen.joldilocks.Ed448.multiplyByBase;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings({"WeakerAccess", "ConstantConditions"})
+public class Ed448SigningKeyTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] result = new byte[length];
+        RANDOM.nextBytes(result);
+        return result;
+    }
+
+    @Test
+    public void testCreate() {
+        final byte[] symmetricKey = randomBytes(57);
+        final Ed448SigningKey key = Ed448SigningKey.create(symmetricKey, new Scratch());
+        assertEquals(generateSecretScalar(symmetricKey).mod(Q), key.secret.toBigInteger());
+        assertArrayEquals(Arrays.copyOfRange(shake256(symmetricKey, 114), 57, 114), key.prefix);
+        assertEquals(multiplyByBase(generateSecretScalar(symmetricKey)), key.publicKey);
+        assertArrayEquals(key.publicKey.encode(), key.encodedPublicKey);
+    }
+
+    @Test
+    public void testCreateBadArguments() {
+        assertThrows(NullPointerException.class, () -> Ed448SigningKey.create(null, new Scratch()));
+        assertThrows(IllegalArgumentException.class, () -> Ed448SigningKey.create(new byte[56], new Scratch()));
+        assertThrows(NullPointerException.class, () -> Ed448SigningKey.create(new byte[57], null));
+        assertThrows(IllegalArgumentException.class, () -> Ed448SigningKey.expand(new byte[57], new Scratch()));
+    }
+
+    @Test
+    public void testSignMatchesSignWithSymmetricKey() throws Ed448.SignatureVerificationFailedException {
+        final byte[] symmetricKey = randomBytes(57);
+        final Scratch scratch = new Scratch();
+        final Ed448SigningKey key = Ed448SigningKey.create(symmetricKey, scratch);
+        final byte[] context = randomBytes(7);
+        for (int i = 0; i < 5; i++) {
+            final byte[] message = randomBytes(i * 13);
+            final byte[] signature = Ed448.sign(key, context, message, scratch);
+            assertArrayEquals(Ed448.sign(symmetricKey, context, message), signature);
+            Ed448.verify(context, key.publicKey, message, signature);
+        }
+    }
+
+    @Test
+    public void testClear() {
+        final Ed448SigningKey key = Ed448SigningKey.create(randomBytes(57), new Scratch());
+        key.clear();
+        assertTrue(key.secret.isZero());
+        assertArrayEquals(new byte[57], key.prefix);
+    }
+}
@@ -278,5 +278,75 @@ public class Ed448Test {
         verify(context, pk, message, signature);
     }
 
+    @Test
+    public void testSignVerifyWithReusedScratch() throws Ed448.SignatureVerificationFailedException {
+        final Scratch scratch = new Scratch();
+        final byte[] context = new byte[0];
+        for (int i = 0; i < 3; i++) {
+            final byte[] sk = new byte[57];
+            RANDOM.nextBytes(sk);
+            final Point pk = Ed448KeyPair.create(sk).getPublicKey();
+            final byte[] message = new byte[i * 10];
+            RANDOM.nextBytes(message);
+            final byte[] signature = sign(sk, context, message, scratch);
+            assertArrayEquals(sign(sk, context, message), signature);
+            verify(context, pk, message, signature, scratch);
+            signature[0] ^= 1;
+            assertThrows(Ed448.SignatureVerificationFailedException.class,
+                () -> verify(context, pk, message, signature, scratch));
+        }
+    }
+
+    @Test
+    public void testSignVerifyWithPublicKeyCache() throws Ed448.SignatureVerificationFailedException {
+        final PublicKeyCache cache = new PublicKeyCache(2);
+        final byte[] context = new byte[0];
+        final byte[] sk = new byte[57];
+        RANDOM.nextBytes(sk);
+        final byte[] pk = Ed448KeyPair.create(sk).getPublicKey().encode();
+        for (int i = 0; i < 3; i++) {
+            final byte[] message = new byte[i * 10];
+            RANDOM.nextBytes(message);
+            final byte[] signature = sign(sk, context, message);
+            verify(context, pk, message, signature, cache);
+            signature[0] ^= 1;
+            assertThrows(Ed448.SignatureVerificationFailedException.class,
+                () -> verify(context, pk, message, signature, cache));
+        }
+        assertEquals(1, cache.misses());
+        assertEquals(5, cache.hits());
+    }
+
+    @Test
+    public void testVerifyWithPublicKeyCacheInvalidPublicKey() {
+        final PublicKeyCache cache = new PublicKeyCache(2);
+        final byte[] pk = new byte[57];
+        pk[0] = 2;
+        assertThrows(Ed448.SignatureVerificationFailedException.class,
+            () -> verify(new byte[0], pk, new byte[0], new byte[114], cache));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testVerifyUsesCofactoredEquation() throws Ed448.SignatureVerificationFailedException {
+        // With a point of order 4 added to R, the signature satisfies [4][S]B = [4]R + [4][k]A', but not
+        // [S]B = R + [k]A'.
+        final byte[] context = new byte[0];
+        final byte[] message = new byte[]{1, 2, 3};
+        final BigInteger a = new BigInteger(446, RANDOM).mod(Q);
+        final BigInteger nonce = new BigInteger(446, RANDOM).mod(Q);
+        final Point publicKey = P.multiply(a);
+        final Point r = P.multiply(nonce).add(new AffinePoint(ONE, ZERO));
+        final byte[] encodedR = r.encode();
+        final BigInteger k = Ed448.challenge(context, encodedR, publicKey.encode(), message).toBigInteger();
+        final BigInteger s = nonce.add(k.multiply(a)).mod(Q);
+        final byte[] signature = new byte[114];
+        System.arraycopy(encodedR, 0, signature, 0, 57);
+        final byte[] encodedS = Scalars.encodeLittleEndian(s);
+        System.arraycopy(encodedS, 0, signature, 57, encodedS.length);
+        assertFalse(P.multiply(s).equals(r.add(publicKey.multiply(k))));
+        verify(context, publicKey, message, signature);
+    }
+
     // FIXME write tests for test vectors 256 octets, 64 octets
 }
@@ -0,0 +1,400 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.D_ELEMENT;
+import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMBS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.LIMB_MASK;
+import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class FieldArithmeticsTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final FieldArithmetic BROKEN = new FieldArithmetic() {
+        @Nonnull
+        @Override
+        public String name() {
+            return "broken";
+        }
+
+        @Override
+        public int priority() {
+            return 100;
+        }
+
+        @Override
+        public void multiply(final long[] z, final long[] x, final long[] y) {
+            ScalarFieldArithmetic.INSTANCE.multiply(z, x, y);
+            z[3] ^= 1;
+        }
+
+        @Override
+        public void square(final long[] z, final long[] x) {
+            ScalarFieldArithmetic.INSTANCE.square(z, x);
+        }
+    };
+
+    /**
+     * Field arithmetic that is registered as service provider for the tests (see META-INF/services).
+     */
+    public static final class ServiceProviderArithmetic implements FieldArithmetic {
+
+        @Nonnull
+        @Override
+        public String name() {
+            return "test-provider";
+        }
+
+        @Override
+        public int priority() {
+            return -1;
+        }
+
+        @Override
+        public void multiply(final long[] z, final long[] x, final long[] y) {
+            ScalarFieldArithmetic.INSTANCE.multiply(z, x, y);
+        }
+
+        @Override
+        public void square(final long[] z, final long[] x) {
+            ScalarFieldArithmetic.INSTANCE.square(z, x);
+        }
+    }
+
+    /**
+     * Field arithmetic that delegates to the scalar implementation, for overriding single operations.
+     */
+    private static class DelegatingArithmetic implements FieldArithmetic {
+
+        @Nonnull
+        @Override
+        public String name() {
+            return "delegating";
+        }
+
+        @Override
+        public int priority() {
+            return -1;
+        }
+
+        @Override
+        public void multiply(final long[] z, final long[] x, final long[] y) {
+            ScalarFieldArithmetic.INSTANCE.multiply(z, x, y);
+        }
+
+        @Override
+        public void square(final long[] z, final long[] x) {
+            ScalarFieldArithmetic.INSTANCE.square(z, x);
+        }
+    }
+
+    /**
+     * RFC 8032, section 7.4: secret keys of test vectors "Blank" and "1 octet".
+     */
+    private static final String[] SECRET_KEYS = new String[]{
+        "6c82a562cb808d10d632be89c8513ebf6c929f34ddfa8c9f63c9960ef6e348a3528c8a3fcc2f044e39a3fc5b94492f8f032e7549a20098f95b",
+        "c4eab05d357007c632f3dbb48489924d552b08fe0c353a0d4a1f00acda2c463afbea67c5e8d2877c5e3bc397a659949ef8021e954e0a12274e",
+    };
+
+    /**
+     * RFC 8032, section 7.4: public keys of test vectors "Blank" and "1 octet".
+     */
+    private static final String[] PUBLIC_KEYS = new String[]{
+        "5fd7449b59b461fd2ce787ec616ad46a1da1342485a70e1f8a0ea75d80e96778edf124769b46c7061bd6783df1e50f6cd1fa1abeafe8256180",
+        "43ba28f430cdff456ae531545f7ecd0ac834a55d9358c0372bfa0c6c6798c0866aea01eb00742802b8438ea4cb82169c235160627b4c3a9480",
+    };
+
+    /**
+     * Compute [s]B using double-and-add with the (complete) Edwards addition formula of RFC 8032, section 5.2.4, using
+     * only the provided implementation for multiplication and squaring. The encoded result is returned.
+     */
+    private static byte[] multiplyByBase(final FieldArithmetic f, final BigInteger s) {
+        final long[] d = new long[LIMBS];
+        D_ELEMENT.copyTo(d);
+        final long[][] b = new long[][]{new long[LIMBS], new long[LIMBS], new long[LIMBS]};
+        P.xElement().copyTo(b[0]);
+        P.yElement().copyTo(b[1]);
+        b[2][0] = 1;
+        final long[][] r = new long[][]{new long[LIMBS], new long[LIMBS], new long[LIMBS]};
+        r[1][0] = 1;
+        r[2][0] = 1;
+        final long[][] t = new long[8][LIMBS];
+        for (int i = s.bitLength() - 1; i >= 0; i--) {
+            add(f, r, r, d, t);
+            if (s.testBit(i)) {
+                add(f, r, b, d, t);
+            }
+        }
+        // Z^(p-2) by square-and-multiply, such that inversion also depends only on the provided implementation.
+        final BigInteger exponent = MODULUS.subtract(BigInteger.valueOf(2L));
+        final long[] zInverse = new long[LIMBS];
+        zInverse[0] = 1;
+        for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+            f.square(t[0], zInverse);
+            if (exponent.testBit(i)) {
+                f.multiply(zInverse, t[0], r[2]);
+            } else {
+                System.arraycopy(t[0], 0, zInverse, 0, LIMBS);
+            }
+        }
+        f.multiply(t[1], r[0], zInverse);
+        f.multiply(t[2], r[1], zInverse);
+        final byte[] encoded = new byte[ENCODED_LENGTH_BYTES];
+        FieldElement.encode(encoded, 0, t[2], t[3]);
+        encoded[ENCODED_LENGTH_BYTES - 1] = (byte) (FieldElement.isOdd(t[1], t[3]) ? 0x80 : 0x00);
+        return encoded;
+    }
+
+    /**
+     * Set p to p + q, with p and q in projective coordinates {X, Y, Z}. p and q may be the same point.
+     */
+    private static void add(final FieldArithmetic f, final long[][] p, final long[][] q, final long[] d,
+            final long[][] t) {
+        f.multiply(t[0], p[2], q[2]);           // A = Z1*Z2
+        f.square(t[1], t[0]);                   // B = A^2
+        f.multiply(t[2], p[0], q[0]);           // C = X1*X2
+        f.multiply(t[3], p[1], q[1]);           // D = Y1*Y2
+        f.multiply(t[4], t[2], t[3]);
+        f.multiply(t[5], d, t[4]);              // E = d*C*D
+        FieldElement.subtract(t[4], t[1], t[5]); // F = B-E
+        FieldElement.add(t[6], t[1], t[5]);      // G = B+E
+        FieldElement.add(t[1], p[0], p[1]);
+        FieldElement.add(t[5], q[0], q[1]);
+        f.multiply(t[7], t[1], t[5]);           // H = (X1+Y1)*(X2+Y2)
+        FieldElement.subtract(t[7], t[7], t[2]);
+        FieldElement.subtract(t[7], t[7], t[3]);
+        f.multiply(t[1], t[0], t[4]);
+        f.multiply(p[0], t[1], t[7]);           // X3 = A*F*(H-C-D)
+        FieldElement.subtract(t[7], t[3], t[2]);
+        f.multiply(t[1], t[0], t[6]);
+        f.multiply(p[1], t[1], t[7]);           // Y3 = A*G*(D-C)
+        f.multiply(p[2], t[4], t[6]);           // Z3 = F*G
+    }
+
+    private static long[] randomLimbs() {
+        final long[] limbs = new long[LIMBS];
+        FieldElement.valueOf(new BigInteger(448, RANDOM).mod(MODULUS)).copyTo(limbs);
+        return limbs;
+    }
+
+    /**
+     * Compare with the scalar implementation. Weakly reduced results need not have identical limbs, therefore values
+     * are compared (mod p).
+     */
+    private static void assertMatchesScalar(final FieldArithmetic arithmetic) {
+        final long[] expected = new long[LIMBS];
+        final long[] actual = new long[LIMBS];
+        final long[] max = new long[LIMBS];
+        FieldElement.valueOf(MODULUS.subtract(BigInteger.ONE)).copyTo(max);
+        // Weakly reduced values: limbs may exceed 28 bits after addition.
+        final long[] sum = new long[LIMBS];
+        FieldElement.add(sum, max, max);
+        final long[][] operands = new long[][]{max, sum, randomLimbs(), randomLimbs(), randomLimbs()};
+        for (final long[] x : operands) {
+            for (final long[] y : operands) {
+                ScalarFieldArithmetic.INSTANCE.multiply(expected, x, y);
+                arithmetic.multiply(actual, x, y);
+                assertEquals(FieldElement.fromLimbs(expected), FieldElement.fromLimbs(actual));
+            }
+            ScalarFieldArithmetic.INSTANCE.square(expected, x);
+            arithmetic.square(actual, x);
+            assertEquals(FieldElement.fromLimbs(expected), FieldElement.fromLimbs(actual));
+        }
+        for (int i = 0; i < 1000; i++) {
+            final long[] x = randomLimbs();
+            final long[] y = randomLimbs();
+            ScalarFieldArithmetic.INSTANCE.multiply(expected, x, y);
+            arithmetic.multiply(actual, x, y);
+            assertEquals(FieldElement.fromLimbs(expected), FieldElement.fromLimbs(actual));
+        }
+    }
+
+    @Test
+    public void testLoadUnknownClass() {
+        assertNull(FieldArithmetics.load("nl.dannyvanheumen.joldilocks.DoesNotExist"));
+    }
+
+    @Test
+    public void testVectorMatchesScalar() {
+        final FieldArithmetic vector = FieldArithmetics.load(FieldArithmetics.VECTOR);
+        assumeTrue(vector != null, "Vector API is not available.");
+        assertMatchesScalar(vector);
+    }
+
+    @Test
+    public void testMultiplyHighMatchesScalar() {
+        final FieldArithmetic multiplyHigh = FieldArithmetics.load(FieldArithmetics.MULTIPLY_HIGH);
+        assumeTrue(multiplyHigh != null, "Math.multiplyHigh is not available.");
+        assertMatchesScalar(multiplyHigh);
+    }
+
+    @Test
+    public void testBigIntegerMatchesScalar() {
+        assertMatchesScalar(BigIntegerFieldArithmetic.INSTANCE);
+    }
+
+    @Test
+    public void testSelfTestPassesForAvailableImplementations() {
+        for (final FieldArithmetic arithmetic : FieldArithmetics.candidates()) {
+            assertTrue(FieldArithmeticSelfTest.passes(arithmetic), arithmetic.name());
+        }
+    }
+
+    @Test
+    public void testSelfTestFailsForBrokenImplementation() {
+        assertFalse(FieldArithmeticSelfTest.passes(BROKEN));
+        assertFalse(FieldArithmeticSelfTest.passes(new DelegatingArithmetic() {
+            @Override
+            public void square(final long[] z, final long[] x) {
+                ScalarFieldArithmetic.INSTANCE.square(z, x);
+                z[15] ^= 1L << 27;
+            }
+        }));
+        assertFalse(FieldArithmeticSelfTest.passes(new DelegatingArithmetic() {
+            @Override
+            public void multiply(final long[] z, final long[] x, final long[] y) {
+                // Same value (mod p) as z + 4p, but limbs are not weakly reduced.
+                ScalarFieldArithmetic.INSTANCE.multiply(z, x, y);
+                for (int i = 0; i < LIMBS; i++) {
+                    z[i] += 4 * LIMB_MASK;
+                }
+                z[8] -= 4;
+            }
+        }));
+        assertFalse(FieldArithmeticSelfTest.passes(new DelegatingArithmetic() {
+            @Override
+            public void multiply(final long[] z, final long[] x, final long[] y) {
+                throw new ArithmeticException("Broken.");
+            }
+        }));
+    }
+
+    @Test
+    public void testDerivePublicKeysForAvailableImplementations() {
+        for (final FieldArithmetic arithmetic : FieldArithmetics.candidates()) {
+            for (int i = 0; i < SECRET_KEYS.length; i++) {
+                final BigInteger s = Ed448.generateSecretScalar(Hex.decode(SECRET_KEYS[i]));
+                assertArrayEquals(Hex.decode(PUBLIC_KEYS[i]), multiplyByBase(arithmetic, s), arithmetic.name());
+            }
+        }
+    }
+
+    @Test
+    public void testDerivePublicKeysFailsForBrokenImplementation() {
+        final BigInteger s = Ed448.generateSecretScalar(Hex.decode(SECRET_KEYS[0]));
+        assertFalse(Arrays.equals(Hex.decode(PUBLIC_KEYS[0]), multiplyByBase(BROKEN, s)));
+    }
+
+    @Test
+    public void testServiceProviderIsCandidate() {
+        final List<FieldArithmetic> candidates = FieldArithmetics.candidates();
+        assertTrue(candidates.stream().anyMatch(c -> c instanceof ServiceProviderArithmetic));
+        assertTrue(candidates.contains(ScalarFieldArithmetic.INSTANCE));
+        assertTrue(candidates.contains(BigIntegerFieldArithmetic.INSTANCE));
+    }
+
+    @Test
+    public void testSelectRequested() {
+        assertSame(BigIntegerFieldArithmetic.INSTANCE, FieldArithmetics.select("biginteger",
+            FieldArithmetics.candidates()));
+        assertSame(ServiceProviderArithmetic.class, FieldArithmetics.select("test-provider",
+            FieldArithmetics.candidates()).getClass());
+    }
+
+    @Test
+    public void testSelectUnknownFallsBackToAutomatic() {
+        final List<FieldArithmetic> candidates = FieldArithmetics.candidates();
+        assertSame(FieldArithmetics.select(null, candidates), FieldArithmetics.select("unknown", candidates));
+    }
+
+    @Test
+    public void testSelectSkipsNegativePriority() {
+        assertSame(ScalarFieldArithmetic.INSTANCE, FieldArithmetics.select(null,
+            Arrays.asList(BigIntegerFieldArithmetic.INSTANCE, ScalarFieldArithmetic.INSTANCE)));
+    }
+
+    @Test
+    public void testSelectSkipsImplementationFailingSelfTest() {
+        final List<FieldArithmetic> candidates = Arrays.asList(BROKEN, BigIntegerFieldArithmetic.INSTANCE);
+        assertSame(ScalarFieldArithmetic.INSTANCE, FieldArithmetics.select(null, candidates));
+        assertSame(ScalarFieldArithmetic.INSTANCE, FieldArithmetics.select("broken", candidates));
+    }
+
+    @Test
+    public void testSelectLogsWarningForRejectedRequest() {
+        final List<LogRecord> records = new ArrayList<>();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final Logger logger = Logger.getLogger(FieldArithmetics.class.getName());
+        logger.addHandler(handler);
+        logger.setUseParentHandlers(false);
+        try {
+            final List<FieldArithmetic> candidates = Arrays.asList(BROKEN, ScalarFieldArithmetic.INSTANCE);
+            FieldArithmetics.select("scalar", candidates);
+            assertTrue(records.isEmpty());
+            FieldArithmetics.select("broken", candidates);
+            FieldArithmetics.select("unknown", candidates);
+            assertEquals(2, records.size());
+            for (final LogRecord record : records) {
+                assertEquals(Level.WARNING, record.getLevel());
+            }
+            assertEquals("broken", records.get(0).getParameters()[0]);
+            assertTrue(records.get(0).getMessage().contains("self-test"));
+            assertEquals("unknown", records.get(1).getParameters()[0]);
+            assertTrue(records.get(1).getMessage().contains("not available"));
+        } finally {
+            logger.setUseParentHandlers(true);
+            logger.removeHandler(handler);
+        }
+    }
+
+    @Test
+    public void testFastestAvailableSelected() {
+        assertEquals(FieldArithmetics.SELECTED.name(), FieldArithmetics.selected());
+        final FieldArithmetic vector = FieldArithmetics.load(FieldArithmetics.VECTOR);
+        final FieldArithmetic multiplyHigh = FieldArithmetics.load(FieldArithmetics.MULTIPLY_HIGH);
+        if (vector != null) {
+            assertSame(vector.getClass(), FieldArithmetics.SELECTED.getClass());
+        } else if (multiplyHigh != null) {
+            assertSame(multiplyHigh.getClass(), FieldArithmetics.SELECTED.getClass());
+        } else {
+            assertSame(ScalarFieldArithmetic.INSTANCE, FieldArithmetics.SELECTED);
+        }
+    }
+}
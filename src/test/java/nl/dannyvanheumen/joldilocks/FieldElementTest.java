@@ -0,0 +1,181 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+import static nl.dannyvanheumen.joldilocks.FieldElement.ENCODED_LENGTH_BYTES;
+import static nl.dannyvanheumen.joldilocks.FieldElement.decode;
+import static nl.dannyvanheumen.joldilocks.FieldElement.isCanonical;
+import static nl.dannyvanheumen.joldilocks.FieldElement.valueOf;
+import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndian;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class FieldElementTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final BigInteger MODULUS_MINUS_ONE = MODULUS.subtract(ONE);
+
+    private static BigInteger randomValue() {
+        return new BigInteger(448, RANDOM).mod(MODULUS);
+    }
+
+    @Test
+    public void testConversionRoundTrip() {
+        assertEquals(ZERO, valueOf(ZERO).toBigInteger());
+        assertEquals(ONE, valueOf(ONE).toBigInteger());
+        assertEquals(MODULUS_MINUS_ONE, valueOf(MODULUS_MINUS_ONE).toBigInteger());
+        assertEquals(ZERO, valueOf(MODULUS).toBigInteger());
+        assertEquals(MODULUS_MINUS_ONE, valueOf(-1L).toBigInteger());
+        for (int i = 0; i < 100; i++) {
+            final BigInteger value = randomValue();
+            assertEquals(value, valueOf(value).toBigInteger());
+        }
+    }
+
+    @Test
+    public void testEncodeDecode() {
+        final BigInteger value = randomValue();
+        final byte[] encoded = new byte[ENCODED_LENGTH_BYTES];
+        valueOf(value).encode(encoded, 0);
+        assertArrayEquals(encodeLittleEndian(value), encoded);
+        assertEquals(value, decode(encoded, 0).toBigInteger());
+    }
+
+    @Test
+    public void testIsCanonical() {
+        assertTrue(isCanonical(encodeLittleEndian(ZERO), 0));
+        assertTrue(isCanonical(encodeLittleEndian(MODULUS_MINUS_ONE), 0));
+        assertFalse(isCanonical(encodeLittleEndian(MODULUS), 0));
+        assertFalse(isCanonical(encodeLittleEndian(MODULUS.add(ONE)), 0));
+        final byte[] allOnes = new byte[ENCODED_LENGTH_BYTES];
+        Arrays.fill(allOnes, (byte) 0xff);
+        assertFalse(isCanonical(allOnes, 0));
+    }
+
+    @Test
+    public void testNonCanonicalDecodingReduces() {
+        assertEquals(ZERO, decode(encodeLittleEndian(MODULUS), 0).toBigInteger());
+        assertEquals(ONE, decode(encodeLittleEndian(MODULUS.add(ONE)), 0).toBigInteger());
+    }
+
+    @Test
+    public void testMultiplySmall() {
+        final long[] limbs = new long[FieldElement.LIMBS];
+        for (final BigInteger value : new BigInteger[]{ZERO, ONE, MODULUS_MINUS_ONE, randomValue(), randomValue()}) {
+            valueOf(value).copyTo(limbs);
+            FieldElement.multiplySmall(limbs, limbs, 78164);
+            assertEquals(value.multiply(BigInteger.valueOf(78164L)).mod(MODULUS),
+                FieldElement.fromLimbs(limbs).toBigInteger());
+        }
+    }
+
+    @Test
+    public void testArithmeticMatchesBigInteger() {
+        for (int i = 0; i < 1000; i++) {
+            final BigInteger a = randomValue();
+            final BigInteger b = randomValue();
+            final FieldElement fa = valueOf(a);
+            final FieldElement fb = valueOf(b);
+            assertEquals(a.add(b).mod(MODULUS), fa.add(fb).toBigInteger());
+            assertEquals(a.subtract(b).mod(MODULUS), fa.subtract(fb).toBigInteger());
+            assertEquals(a.negate().mod(MODULUS), fa.negate().toBigInteger());
+            assertEquals(a.multiply(b).mod(MODULUS), fa.multiply(fb).toBigInteger());
+            assertEquals(a.multiply(a).mod(MODULUS), fa.square().toBigInteger());
+        }
+    }
+
+    @Test
+    public void testArithmeticExtremeValues() {
+        final FieldElement max = valueOf(MODULUS_MINUS_ONE);
+        assertEquals(ONE, max.multiply(max).toBigInteger());
+        assertEquals(ONE, max.square().toBigInteger());
+        assertEquals(MODULUS.subtract(BigInteger.valueOf(2L)), max.add(max).toBigInteger());
+        FieldElement accumulated = max;
+        for (int i = 0; i < 100; i++) {
+            accumulated = accumulated.multiply(max).add(max).subtract(FieldElement.ONE);
+        }
+        BigInteger expected = MODULUS_MINUS_ONE;
+        for (int i = 0; i < 100; i++) {
+            expected = expected.multiply(MODULUS_MINUS_ONE).add(MODULUS_MINUS_ONE).subtract(ONE).mod(MODULUS);
+        }
+        assertEquals(expected, accumulated.toBigInteger());
+    }
+
+    @Test
+    public void testInvert() {
+        assertTrue(FieldElement.ZERO.invert().isZero());
+        for (int i = 0; i < 20; i++) {
+            final BigInteger a = randomValue();
+            assertEquals(a.modInverse(MODULUS), valueOf(a).invert().toBigInteger());
+        }
+    }
+
+    @Test
+    public void testInvertAll() {
+        final FieldElement[] elements = new FieldElement[10];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = valueOf(randomValue());
+        }
+        final FieldElement[] inverses = FieldElement.invertAll(elements);
+        assertEquals(elements.length, inverses.length);
+        for (int i = 0; i < elements.length; i++) {
+            assertEquals(elements[i].invert(), inverses[i]);
+        }
+    }
+
+    @Test
+    public void testInvertAllSingleElement() {
+        final FieldElement element = valueOf(randomValue());
+        assertArrayEquals(new FieldElement[]{element.invert()}, FieldElement.invertAll(new FieldElement[]{element}));
+    }
+
+    @Test
+    public void testInvertAllEmpty() {
+        assertEquals(0, FieldElement.invertAll(new FieldElement[0]).length);
+    }
+
+    @Test
+    public void testInverseSquareRoot() {
+        final BigInteger exponent = MODULUS.subtract(BigInteger.valueOf(3L)).shiftRight(2);
+        for (int i = 0; i < 20; i++) {
+            final BigInteger a = randomValue();
+            assertEquals(a.modPow(exponent, MODULUS), valueOf(a).inverseSquareRoot().toBigInteger());
+            final FieldElement square = valueOf(a).square();
+            assertEquals(FieldElement.ONE, square.inverseSquareRoot().square().multiply(square));
+        }
+        assertTrue(FieldElement.ZERO.inverseSquareRoot().isZero());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final BigInteger value = randomValue();
+        final FieldElement a = valueOf(value);
+        final FieldElement b = valueOf(value.add(MODULUS));
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a, a.add(FieldElement.ONE).subtract(FieldElement.ONE));
+        assertNotEquals(a, a.add(FieldElement.ONE));
+    }
+
+    @Test
+    public void testIsZeroAndIsOdd() {
+        assertTrue(FieldElement.ZERO.isZero());
+        assertTrue(valueOf(MODULUS).isZero());
+        assertFalse(FieldElement.ONE.isZero());
+        assertTrue(FieldElement.ONE.isOdd());
+        assertFalse(valueOf(2L).isOdd());
+        assertFalse(valueOf(MODULUS_MINUS_ONE).isOdd());
+    }
+}
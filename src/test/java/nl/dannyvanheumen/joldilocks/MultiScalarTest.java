@@ -0,0 +1,138 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class MultiScalarTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Point of order 4 on Ed448.
+     */
+    private static final Point ORDER_FOUR = new AffinePoint(BigInteger.ONE, BigInteger.ZERO);
+
+    private static Point[] randomPoints(final int n) {
+        final Point[] points = new Point[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = P.multiply(new BigInteger(446, RANDOM));
+        }
+        return points;
+    }
+
+    private static BigInteger[] randomScalars(final int n, final int bits) {
+        final BigInteger[] scalars = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            scalars[i] = new BigInteger(bits, RANDOM);
+        }
+        return scalars;
+    }
+
+    private static Point expected(final BigInteger[] scalars, final Point[] points) {
+        Point sum = Points.identity();
+        for (int i = 0; i < points.length; i++) {
+            sum = sum.add(points[i].multiply(scalars[i].mod(Q.shiftLeft(2))));
+        }
+        return sum;
+    }
+
+    private static Point straus(final BigInteger[] scalars, final Point[] points) {
+        final MutablePoint result = new MutablePoint();
+        MultiScalar.multiplyStraus(result, scalars, points, new Scratch());
+        return result.toPoint();
+    }
+
+    private static Point pippenger(final BigInteger[] scalars, final Point[] points) {
+        final MutablePoint result = new MutablePoint();
+        MultiScalar.multiplyPippenger(result, scalars, points, new Scratch());
+        return result.toPoint();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTrue(straus(new BigInteger[0], new Point[0]).isIdentity());
+        assertTrue(pippenger(new BigInteger[0], new Point[0]).isIdentity());
+    }
+
+    @Test
+    public void testSinglePoint() {
+        final Point[] points = randomPoints(1);
+        final BigInteger[] scalars = randomScalars(1, 446);
+        assertEquals(points[0].multiply(scalars[0]), straus(scalars, points));
+        assertEquals(points[0].multiply(scalars[0]), pippenger(scalars, points));
+    }
+
+    @Test
+    public void testStrausAndPippengerMatchSeparateMultiplications() {
+        final Point[] points = randomPoints(20);
+        final BigInteger[] scalars = randomScalars(20, 446);
+        scalars[3] = BigInteger.ZERO;
+        scalars[4] = BigInteger.ONE;
+        scalars[5] = Q.subtract(BigInteger.ONE);
+        final Point expected = expected(scalars, points);
+        assertEquals(expected, straus(scalars, points));
+        assertEquals(expected, pippenger(scalars, points));
+    }
+
+    @Test
+    public void testPointsOutsidePrimeOrderSubgroupAndLargeScalars() {
+        final Point[] points = randomPoints(6);
+        points[1] = points[1].add(ORDER_FOUR);
+        points[2] = ORDER_FOUR;
+        points[3] = Points.identity();
+        final BigInteger[] scalars = randomScalars(6, 912);
+        scalars[2] = BigInteger.valueOf(7);
+        final Point expected = expected(scalars, points);
+        assertEquals(expected, straus(scalars, points));
+        assertEquals(expected, pippenger(scalars, points));
+    }
+
+    @Test
+    public void testNegativeScalars() {
+        final Point[] points = randomPoints(3);
+        final BigInteger[] scalars = randomScalars(3, 446);
+        scalars[0] = scalars[0].negate();
+        final Point expected = points[0].multiply(scalars[0].negate()).negate()
+            .add(points[1].multiply(scalars[1])).add(points[2].multiply(scalars[2]));
+        assertEquals(expected, straus(scalars, points));
+        assertEquals(expected, pippenger(scalars, points));
+    }
+
+    @Test
+    public void testPippengerAboveThreshold() {
+        // The same point repeatedly, such that the expected value is cheap to compute.
+        final int n = MultiScalar.PIPPENGER_THRESHOLD + 1;
+        final Point base = P.multiply(new BigInteger(446, RANDOM));
+        final Point[] points = new Point[n];
+        final BigInteger[] scalars = randomScalars(n, 446);
+        BigInteger total = BigInteger.ZERO;
+        for (int i = 0; i < n; i++) {
+            points[i] = base;
+            total = total.add(scalars[i]);
+        }
+        assertEquals(base.multiply(total.mod(Q)), Points.multiScalarMultiply(scalars, points));
+    }
+
+    @Test
+    public void testWindowWidth() {
+        assertEquals(2, MultiScalar.windowWidth(1));
+        assertEquals(6, MultiScalar.windowWidth(256));
+        assertEquals(7, MultiScalar.windowWidth(512));
+        assertEquals(16, MultiScalar.windowWidth(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testMismatchedLengths() {
+        assertThrows(IllegalArgumentException.class,
+            () -> Points.multiScalarMultiply(new BigInteger[1], new Point[2]));
+    }
+}
@@ -0,0 +1,188 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class MutablePointTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static Point randomPoint() {
+        return P.multiply(new BigInteger(446, RANDOM));
+    }
+
+    @Test
+    public void testSetAndConvert() {
+        final MutablePoint point = new MutablePoint();
+        point.set(P);
+        assertEquals(P, point.toPoint());
+        final Point extended = randomPoint();
+        point.set(extended);
+        assertEquals(extended, point.toPoint());
+        point.setIdentity();
+        assertEquals(new AffinePoint(BigInteger.ZERO, BigInteger.ONE), point.toPoint());
+    }
+
+    @Test
+    public void testAddMatchesExtendedPoint() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final Point b = randomPoint();
+        final MutablePoint point = new MutablePoint();
+        point.set(a);
+        final MutablePoint other = new MutablePoint();
+        other.set(b);
+        point.add(other, scratch);
+        assertEquals(ExtendedPoint.fromPoint(a).add(b), point.toPoint());
+        assertEquals(b, other.toPoint());
+    }
+
+    @Test
+    public void testAddToSelfEqualsDoubling() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final MutablePoint added = new MutablePoint();
+        added.set(a);
+        added.add(added, scratch);
+        final MutablePoint doubled = new MutablePoint();
+        doubled.set(a);
+        doubled.doubling(scratch);
+        assertEquals(a.add(a), added.toPoint());
+        assertEquals(a.add(a), doubled.toPoint());
+        assertTrue(added.isEqual(doubled, scratch));
+    }
+
+    @Test
+    public void testMultiplyMatchesRepeatedAddition() {
+        final Scratch scratch = new Scratch();
+        final MutablePoint base = new MutablePoint();
+        base.set(P);
+        final MutablePoint result = new MutablePoint();
+        result.multiply(base, BigInteger.valueOf(7L), scratch);
+        assertEquals(P.add(P).add(P).add(P).add(P).add(P).add(P), result.toPoint());
+    }
+
+    @Test
+    public void testMultiplyPrimeOrderIsIdentity() {
+        final Scratch scratch = new Scratch();
+        final MutablePoint base = new MutablePoint();
+        base.set(P);
+        final MutablePoint result = new MutablePoint();
+        result.multiply(base, Q, scratch);
+        final MutablePoint identity = new MutablePoint();
+        identity.setIdentity();
+        assertTrue(result.isEqual(identity, scratch));
+    }
+
+    @Test
+    public void testIsEqual() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final MutablePoint affine = new MutablePoint();
+        affine.set(Points.toAffine(a));
+        final MutablePoint projective = new MutablePoint();
+        projective.set(a);
+        assertTrue(affine.isEqual(projective, scratch));
+        final MutablePoint negated = new MutablePoint();
+        negated.set(a.negate());
+        assertFalse(projective.isEqual(negated, scratch));
+    }
+
+    @Test
+    public void testEncodeToMatchesEncode() {
+        final Scratch scratch = new Scratch();
+        for (int i = 0; i < 5; i++) {
+            final Point a = randomPoint();
+            final MutablePoint point = new MutablePoint();
+            point.set(a);
+            final byte[] encoded = new byte[ENCODED_LENGTH_BYTES];
+            point.encodeTo(encoded, 0, scratch);
+            assertArrayEquals(a.encode(), encoded);
+        }
+    }
+
+    @Test
+    public void testMultiplyWithReusedScratch() {
+        final Scratch scratch = new Scratch();
+        for (int i = 0; i < 5; i++) {
+            final BigInteger scalar = new BigInteger(446, RANDOM);
+            assertEquals(P.multiply(scalar), P.multiply(scalar, scratch));
+        }
+    }
+
+    @Test
+    public void testMultiplyByBaseMatchesMultiply() {
+        final Scratch scratch = new Scratch();
+        for (final BigInteger scalar : new BigInteger[]{BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(3L),
+            Q, new BigInteger(446, RANDOM), new BigInteger(912, RANDOM)}) {
+            final MutablePoint result = new MutablePoint();
+            result.multiplyByBase(scalar, scratch);
+            final MutablePoint base = new MutablePoint();
+            base.set(P);
+            final MutablePoint expected = new MutablePoint();
+            expected.multiply(base, scalar, scratch);
+            assertEquals(expected.toPoint(), result.toPoint());
+        }
+    }
+
+    @Test
+    public void testMultiplyPrimeOrderMatchesMultiply() {
+        final Scratch scratch = new Scratch();
+        final Point order4 = new AffinePoint(BigInteger.ONE, BigInteger.ZERO);
+        final Point a = randomPoint();
+        final Point b = a.add(order4);
+        final BigInteger quarter = BigInteger.valueOf(4L).modInverse(Q);
+        final MutablePoint result = new MutablePoint();
+        for (final BigInteger k : new BigInteger[]{BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(2L),
+            BigInteger.valueOf(15L), BigInteger.valueOf(16L), Q.subtract(BigInteger.ONE), new BigInteger(446, RANDOM)}) {
+            final Scalar scalar = Scalar.valueOf(k);
+            result.multiplyPrimeOrder(a, scalar, scratch);
+            assertEquals(a.multiply(k), result.toPoint());
+            // For points outside the prime-order subgroup, the result is [4 * (k/4 mod q)]b.
+            result.multiplyPrimeOrder(b, scalar, scratch);
+            assertEquals(b.multiply(k.multiply(quarter).mod(Q).shiftLeft(2)), result.toPoint());
+        }
+    }
+
+    @Test
+    public void testMultiplyDoubleVariableTimeScalarsMatchesMultiply() {
+        final Scratch scratch = new Scratch();
+        final Point order4 = new AffinePoint(BigInteger.ONE, BigInteger.ZERO);
+        final Point a = P.multiply(new BigInteger(446, RANDOM)).add(order4);
+        final NielsPoint[] multiples = NielsPoint.oddMultiples(a, 32);
+        final MutablePoint point = new MutablePoint();
+        point.set(a);
+        final MutablePoint result = new MutablePoint();
+        for (final BigInteger k : new BigInteger[]{BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(3),
+            Q.subtract(BigInteger.ONE), new BigInteger(446, RANDOM).mod(Q)}) {
+            final BigInteger s = new BigInteger(446, RANDOM).mod(Q);
+            final Point expected = P.multiply(s).add(a.multiply(k).negate());
+            result.multiplyDoubleVariableTime(Scalar.valueOf(s), point, Scalar.valueOf(k), scratch);
+            assertEquals(expected, result.toPoint());
+            result.multiplyDoubleVariableTime(Scalar.valueOf(s), point, multiples, 7, Scalar.valueOf(k), scratch);
+            assertEquals(expected, result.toPoint());
+        }
+        assertEquals(a, point.toPoint());
+    }
+
+    @Test
+    public void testNegate() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final MutablePoint point = new MutablePoint();
+        point.set(a);
+        point.negate(scratch);
+        assertEquals(a.negate(), point.toPoint());
+    }
+}
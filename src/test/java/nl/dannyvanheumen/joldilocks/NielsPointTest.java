@@ -0,0 +1,134 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings("WeakerAccess")
+public class NielsPointTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static Point randomPoint() {
+        return P.multiply(new BigInteger(446, RANDOM));
+    }
+
+    private static TwistedPoint isogenyOf(final Point p, final Scratch scratch) {
+        final MutablePoint point = new MutablePoint();
+        point.set(p);
+        final TwistedPoint twisted = new TwistedPoint();
+        point.isogenyTo(twisted, scratch);
+        return twisted;
+    }
+
+    private static Point dualOf(final TwistedPoint twisted, final Scratch scratch) {
+        final MutablePoint result = new MutablePoint();
+        result.setDualIsogeny(twisted, scratch);
+        return result.toPoint();
+    }
+
+    @Test
+    public void testMixedAddMatchesAdd() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final Point b = randomPoint();
+        final TwistedPoint expected = isogenyOf(a, scratch);
+        expected.add(isogenyOf(b, scratch), scratch);
+        final TwistedPoint actual = isogenyOf(a, scratch);
+        actual.add(NielsPoint.fromPoint(b), scratch);
+        assertEquals(dualOf(expected, scratch), dualOf(actual, scratch));
+    }
+
+    @Test
+    public void testMixedAddToSelf() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final TwistedPoint actual = isogenyOf(a, scratch);
+        actual.add(NielsPoint.fromPoint(a), scratch);
+        final TwistedPoint expected = isogenyOf(a, scratch);
+        expected.doubling(scratch);
+        assertEquals(dualOf(expected, scratch), dualOf(actual, scratch));
+    }
+
+    @Test
+    public void testSubtract() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final Point b = randomPoint();
+        final TwistedPoint actual = isogenyOf(a, scratch);
+        actual.subtract(NielsPoint.fromPoint(b), scratch);
+        assertEquals(a.add(b.negate()).doubling().doubling(), dualOf(actual, scratch));
+        final TwistedPoint roundTrip = isogenyOf(a, scratch);
+        final NielsPoint niels = NielsPoint.fromPoint(b);
+        roundTrip.add(niels, scratch);
+        roundTrip.subtract(niels, scratch);
+        assertEquals(a.doubling().doubling(), dualOf(roundTrip, scratch));
+    }
+
+    @Test
+    public void testFromPointsMatchesFromPoint() {
+        final Scratch scratch = new Scratch();
+        final Point[] points = new Point[]{randomPoint(), P, randomPoint().negate(), randomPoint()};
+        final NielsPoint[] niels = NielsPoint.fromPoints(points);
+        assertEquals(points.length, niels.length);
+        for (int i = 0; i < points.length; i++) {
+            final TwistedPoint expected = new TwistedPoint();
+            expected.setIdentity();
+            expected.add(NielsPoint.fromPoint(points[i]), scratch);
+            final TwistedPoint actual = new TwistedPoint();
+            actual.setIdentity();
+            actual.add(niels[i], scratch);
+            assertEquals(dualOf(expected, scratch), dualOf(actual, scratch));
+        }
+        assertEquals(0, NielsPoint.fromPoints(new Point[0]).length);
+    }
+
+    @Test
+    public void testSelect() {
+        final Point[] points = new Point[]{randomPoint(), randomPoint(), randomPoint()};
+        final NielsPoint[] table = NielsPoint.fromPoints(points);
+        final NielsPoint selected = new NielsPoint();
+        for (int i = 0; i < table.length; i++) {
+            selected.select(table, i);
+            assertArrayEquals(table[i].yPlusX, selected.yPlusX);
+            assertArrayEquals(table[i].yMinusX, selected.yMinusX);
+            assertArrayEquals(table[i].xy2d, selected.xy2d);
+        }
+    }
+
+    @Test
+    public void testConditionalNegate() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final Point b = randomPoint();
+        final NielsPoint niels = new NielsPoint();
+        niels.select(new NielsPoint[]{NielsPoint.fromPoint(b)}, 0);
+        niels.conditionalNegate(0, scratch.temp[7]);
+        final TwistedPoint unchanged = isogenyOf(a, scratch);
+        unchanged.add(niels, scratch);
+        assertEquals(a.add(b).doubling().doubling(), dualOf(unchanged, scratch));
+        niels.conditionalNegate(1, scratch.temp[7]);
+        final TwistedPoint negated = isogenyOf(a, scratch);
+        negated.add(niels, scratch);
+        assertEquals(a.add(b.negate()).doubling().doubling(), dualOf(negated, scratch));
+    }
+
+    @Test
+    public void testOddMultiples() {
+        final Scratch scratch = new Scratch();
+        final Point a = randomPoint();
+        final NielsPoint[] multiples = NielsPoint.oddMultiples(a, 8);
+        assertEquals(8, multiples.length);
+        for (int i = 0; i < multiples.length; i++) {
+            final TwistedPoint actual = new TwistedPoint();
+            actual.setIdentity();
+            actual.add(multiples[i], scratch);
+            assertEquals(a.multiply(BigInteger.valueOf(4L * (2 * i + 1))), dualOf(actual, scratch));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings({"WeakerAccess", "ConstantConditions"})
+public class PointBatchTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static BigInteger[] randomScalars(final int count) {
+        final BigInteger[] scalars = new BigInteger[count];
+        for (int i = 0; i < count; i++) {
+            scalars[i] = new BigInteger(446, RANDOM);
+        }
+        return scalars;
+    }
+
+    private static Point[] multiplesOfBase(final BigInteger[] scalars) {
+        final Point[] points = new Point[scalars.length];
+        for (int i = 0; i < scalars.length; i++) {
+            points[i] = P.multiply(scalars[i]);
+        }
+        return points;
+    }
+
+    @Test
+    public void testNegativeSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PointBatch(-1));
+    }
+
+    @Test
+    public void testNewBatchContainsIdentity() {
+        final PointBatch batch = new PointBatch(3);
+        assertEquals(3, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(new AffinePoint(BigInteger.ZERO, BigInteger.ONE), batch.get(i));
+        }
+    }
+
+    @Test
+    public void testSetAndGet() {
+        final Point[] points = multiplesOfBase(randomScalars(3));
+        final PointBatch batch = PointBatch.of(points);
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i], batch.get(i));
+        }
+        batch.set(1, P);
+        assertEquals(P, batch.get(1));
+        assertEquals(points[0], batch.get(0));
+        assertEquals(points[2], batch.get(2));
+    }
+
+    @Test
+    public void testIndexOutOfBounds() {
+        final PointBatch batch = new PointBatch(2);
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.set(2, P));
+    }
+
+    @Test
+    public void testAdd() {
+        final Point[] a = multiplesOfBase(randomScalars(3));
+        final Point[] b = multiplesOfBase(randomScalars(3));
+        final PointBatch batch = PointBatch.of(a);
+        batch.add(PointBatch.of(b));
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(a[i].add(b[i]), batch.get(i));
+        }
+    }
+
+    @Test
+    public void testAddDifferentSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PointBatch(2).add(new PointBatch(3)));
+    }
+
+    @Test
+    public void testDoubling() {
+        final Point[] points = multiplesOfBase(randomScalars(3));
+        final PointBatch batch = PointBatch.of(points);
+        batch.doubling();
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i].add(points[i]), batch.get(i));
+        }
+    }
+
+    @Test
+    public void testMultiplySameScalar() {
+        final Point[] points = multiplesOfBase(randomScalars(3));
+        final BigInteger scalar = new BigInteger(446, RANDOM);
+        final PointBatch batch = PointBatch.of(points);
+        batch.multiply(scalar);
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i].multiply(scalar), batch.get(i));
+        }
+    }
+
+    @Test
+    public void testMultiplyByBase() {
+        final BigInteger[] scalars = randomScalars(4);
+        final PointBatch batch = PointBatch.multiplyByBase(scalars);
+        for (int i = 0; i < scalars.length; i++) {
+            assertEquals(P.multiply(scalars[i]), batch.get(i));
+        }
+    }
+
+    @Test
+    public void testMultiplyWrongNumberOfScalars() {
+        assertThrows(IllegalArgumentException.class, () -> new PointBatch(2).multiply(randomScalars(3)));
+    }
+
+    @Test
+    public void testEncodeMatchesEncodeAll() {
+        final Point[] points = multiplesOfBase(randomScalars(5));
+        final byte[][] expected = Points.encodeAll(points);
+        final byte[] encoded = PointBatch.of(points).encode();
+        assertEquals(points.length * ENCODED_LENGTH_BYTES, encoded.length);
+        for (int i = 0; i < points.length; i++) {
+            final byte[] actual = new byte[ENCODED_LENGTH_BYTES];
+            System.arraycopy(encoded, i * ENCODED_LENGTH_BYTES, actual, 0, ENCODED_LENGTH_BYTES);
+            assertArrayEquals(expected[i], actual);
+        }
+    }
+
+    @Test
+    public void testEncodeEmpty() {
+        assertEquals(0, new PointBatch(0).encode().length);
+    }
+
+    @Test
+    public void testEncodeToInsufficientSpace() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new PointBatch(2).encodeTo(new byte[2 * ENCODED_LENGTH_BYTES], 1));
+    }
+
+    @Test
+    public void testDecodeEncodeRoundTrip() throws Points.InvalidDataException {
+        final Point[] points = multiplesOfBase(randomScalars(5));
+        final byte[] encoded = new byte[1 + points.length * ENCODED_LENGTH_BYTES];
+        PointBatch.of(points).encodeTo(encoded, 1);
+        final PointBatch batch = PointBatch.decode(encoded, 1, points.length);
+        assertEquals(points.length, batch.size());
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i], batch.get(i));
+        }
+    }
+
+    @Test
+    public void testDecodeIllegalPoint() {
+        final byte[] encoded = PointBatch.of(P, P).encode();
+        encoded[2 * ENCODED_LENGTH_BYTES - 1] = 0x7f;
+        assertThrows(Points.InvalidDataException.class, () -> PointBatch.decode(encoded, 0, 2));
+    }
+
+    @Test
+    public void testDecodeInsufficientData() {
+        assertThrows(IllegalArgumentException.class, () -> PointBatch.decode(new byte[ENCODED_LENGTH_BYTES], 0, 2));
+    }
+}
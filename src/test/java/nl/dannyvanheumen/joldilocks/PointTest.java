@@ -7,6 +7,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.TEN;
@@ -34,9 +35,11 @@ import static nl.dannyvanheumen.joldilocks.Ed448.multiplyByBase;
 import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SuppressWarnings({"WeakerAccess", "ConstantConditions"})
 public class PointTest {
@@ -245,6 +248,51 @@ public class PointTest {
         assertEquals(p, pNegatedNegated);
     }
 
+    @Test
+    public void testExtendedPointAddMatchesAffine() {
+        final AffinePoint a = Points.toAffine(multiplyByBase(new BigInteger(446, RANDOM)));
+        final AffinePoint b = Points.toAffine(multiplyByBase(new BigInteger(446, RANDOM)));
+        assertEquals(a.add(b), ExtendedPoint.fromPoint(a).add(b));
+        assertEquals(a.add(a), ExtendedPoint.fromPoint(a).add(a));
+        assertEquals(a.add(a.negate()), ExtendedPoint.fromPoint(a).add(a.negate()));
+        assertEquals(a, ExtendedPoint.fromPoint(a).add(ExtendedPoint.IDENTITY));
+    }
+
+    @Test
+    public void testExtendedPointDoublingMatchesAffine() {
+        final AffinePoint a = Points.toAffine(multiplyByBase(new BigInteger(446, RANDOM)));
+        final ExtendedPoint extended = ExtendedPoint.fromPoint(a);
+        assertEquals(a.doubling(), extended.doubling());
+        assertEquals(a.doubling().doubling().add(a), extended.doubling().doubling().add(extended));
+        assertEquals(ExtendedPoint.IDENTITY, ExtendedPoint.IDENTITY.doubling());
+    }
+
+    @Test
+    public void testIsIdentity() {
+        assertTrue(Points.identity().isIdentity());
+        assertTrue(new AffinePoint(ZERO, ONE).isIdentity());
+        assertTrue(ExtendedPoint.IDENTITY.isIdentity());
+        assertTrue(ExtendedPoint.fromPoint(P).add(P.negate()).isIdentity());
+        assertFalse(P.isIdentity());
+        assertFalse(ExtendedPoint.fromPoint(P).isIdentity());
+        // Coordinates are compared (mod p), consistent with equals.
+        assertTrue(new AffinePoint(MODULUS, ONE).isIdentity());
+        assertEquals(new AffinePoint(ZERO, ONE), new AffinePoint(MODULUS, ONE));
+        assertFalse(new AffinePoint(ZERO, MODULUS.subtract(ONE)).isIdentity());
+    }
+
+    @Test
+    public void testExtendedPointEqualsAffinePointSymmetric() {
+        final AffinePoint a = Points.toAffine(multiplyByBase(new BigInteger(446, RANDOM)));
+        final ExtendedPoint extended = ExtendedPoint.fromPoint(a).doubling();
+        final AffinePoint doubled = a.doubling();
+        assertEquals(extended, doubled);
+        assertEquals(doubled, extended);
+        assertNotEquals(extended, a);
+        assertNotEquals(a, extended);
+        assertEquals(doubled.hashCode(), extended.hashCode());
+    }
+
     @Test
     public void testPointEncodeNegativeX() {
         final AffinePoint p = new AffinePoint(BigInteger.valueOf(-1L), ZERO);
@@ -299,4 +347,15 @@ public class PointTest {
         p.encodeTo(dst, 0);
         assertArrayEquals(p.encode(), dst);
     }
+
+    @Test
+    public void testPointRepeatedEncodeToWithOffset() {
+        final Point p = Ed448.P.add(Ed448.P);
+        final byte[] expected = p.encode();
+        final byte[] dst = new byte[ENCODED_LENGTH_BYTES + 3];
+        p.encodeTo(dst, 3);
+        p.encodeTo(dst, 3);
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 3, dst.length));
+        assertArrayEquals(expected, p.encode());
+    }
 }
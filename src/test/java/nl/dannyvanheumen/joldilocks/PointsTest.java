@@ -3,10 +3,12 @@ package nl.dannyvanheumen.joldilocks;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.util.List;
 
 import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.TEN;
 import static java.math.BigInteger.ZERO;
+import static java.util.Arrays.asList;
 import static nl.dannyvanheumen.joldilocks.Ed448.P;
 import static nl.dannyvanheumen.joldilocks.Point.ENCODED_LENGTH_BYTES;
 import static nl.dannyvanheumen.joldilocks.Points.checkIdentity;
@@ -15,10 +17,12 @@ import static nl.dannyvanheumen.joldilocks.Points.decode;
 import static nl.dannyvanheumen.joldilocks.Points.identity;
 import static nl.dannyvanheumen.joldilocks.Points.requireNotIdentity;
 import static nl.dannyvanheumen.joldilocks.Points.toAffine;
+import static nl.dannyvanheumen.joldilocks.Points.toAffineAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -49,6 +53,24 @@ public class PointsTest {
         assertArrayEquals(RFC8032_ED448_PUBLIC_KEY_1023_BYTES_MESSAGE, decode(RFC8032_ED448_PUBLIC_KEY_1023_BYTES_MESSAGE).encode());
     }
 
+    @Test
+    public void testDecodeRetainsCopyOfEncoding() throws Points.InvalidDataException {
+        final byte[] encoded = RFC8032_ED448_PUBLIC_KEY_1023_BYTES_MESSAGE.clone();
+        final Point point = decode(encoded);
+        encoded[0] ^= 0x01;
+        assertArrayEquals(RFC8032_ED448_PUBLIC_KEY_1023_BYTES_MESSAGE, point.encode());
+    }
+
+    @Test
+    public void testRepeatedEncodeReturnsIndependentArrays() throws Points.InvalidDataException {
+        final Point point = decode(RFC8032_ED448_PUBLIC_KEY_1023_BYTES_MESSAGE);
+        final byte[] first = point.encode();
+        first[0] ^= 0x01;
+        final byte[] second = point.encode();
+        assertNotSame(first, second);
+        assertArrayEquals(RFC8032_ED448_PUBLIC_KEY_1023_BYTES_MESSAGE, second);
+    }
+
     @Test
     public void testDecodeNull() {
         assertThrows(NullPointerException.class, () -> decode(null));
@@ -90,6 +112,16 @@ public class PointsTest {
         assertFalse(checkIdentity(new AffinePoint(TEN, TEN)));
     }
 
+    @Test
+    public void testCheckIdentityExtendedPointWithoutNormalization() {
+        final ExtendedPoint p = ExtendedPoint.fromPoint(P).doubling();
+        final ExtendedPoint identity = p.add(p.negate());
+        assertTrue(checkIdentity(identity));
+        assertFalse(checkIdentity(p));
+        assertFalse(identity.isNormalized());
+        assertFalse(p.isNormalized());
+    }
+
     @Test
     public void testRequireNotIdentityNull() {
         assertThrows(NullPointerException.class, () -> requireNotIdentity(null));
@@ -141,6 +173,19 @@ public class PointsTest {
         assertTrue(Points.equals(Points.identity(), new AffinePoint(BigInteger.ZERO, BigInteger.ONE)));
     }
 
+    @Test
+    public void testEqualsExtendedPointsWithoutNormalization() {
+        final ExtendedPoint p = ExtendedPoint.fromPoint(P);
+        final ExtendedPoint a = p.doubling().add(p);
+        final ExtendedPoint b = p.add(p).add(p);
+        assertTrue(Points.equals(a, b));
+        assertTrue(Points.equals(P.multiply(BigInteger.valueOf(3)), a));
+        assertTrue(Points.equals(a, P.add(P).add(P)));
+        assertFalse(Points.equals(a, p.doubling()));
+        assertFalse(a.isNormalized());
+        assertFalse(b.isNormalized());
+    }
+
     @Test
     public void testEqualsDifferentPoints() {
         final AffinePoint p1 = new AffinePoint(BigInteger.ZERO, BigInteger.ONE);
@@ -161,4 +206,61 @@ public class PointsTest {
     public void testCreatePoint() {
         assertNotNull(createPoint(BigInteger.ONE, BigInteger.ONE));
     }
+
+    @Test
+    public void testToAffineMultiplePoints() {
+        final Point[] points = new Point[]{P.multiply(TEN), identity(), P, P.multiply(BigInteger.valueOf(12345L)),
+            P.multiply(ZERO)};
+        final AffinePoint[] expected = new AffinePoint[points.length];
+        for (int i = 0; i < points.length; i++) {
+            expected[i] = new AffinePoint(points[i].x(), points[i].y());
+        }
+        final Point[] fresh = new Point[]{P.multiply(TEN), identity(), P, P.multiply(BigInteger.valueOf(12345L)),
+            P.multiply(ZERO)};
+        final Point[] results = toAffineAll(fresh);
+        assertEquals(points.length, results.length);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(results[i] instanceof AffinePoint);
+            assertEquals(expected[i], results[i]);
+            assertEquals(expected[i].x(), results[i].x());
+            assertEquals(expected[i].y(), results[i].y());
+        }
+        assertSame(P, results[2]);
+    }
+
+    @Test
+    public void testToAffineMultiplePointsEmpty() {
+        assertEquals(0, toAffineAll(new Point[0]).length);
+    }
+
+    @Test
+    public void testToAffineMultiplePointsNullElement() {
+        assertThrows(NullPointerException.class, () -> toAffineAll(new Point[]{P, null}));
+    }
+
+    @Test
+    public void testToAffineCollection() {
+        final List<Point> results = toAffineAll(asList(P.multiply(TEN), P));
+        assertEquals(2, results.size());
+        assertEquals(P.multiply(TEN), results.get(0));
+        assertSame(P, results.get(1));
+    }
+
+    @Test
+    public void testEncodeMultiplePoints() {
+        final Point[] points = new Point[]{P.multiply(TEN), P, P.multiply(BigInteger.valueOf(777L))};
+        final byte[][] encoded = Points.encodeAll(points);
+        assertEquals(points.length, encoded.length);
+        for (int i = 0; i < points.length; i++) {
+            assertArrayEquals(points[i].encode(), encoded[i]);
+        }
+    }
+
+    @Test
+    public void testEncodeCollection() {
+        final List<byte[]> encoded = Points.encodeAll(asList(P.multiply(TEN), P));
+        assertEquals(2, encoded.size());
+        assertArrayEquals(P.multiply(TEN).encode(), encoded.get(0));
+        assertArrayEquals(P.encode(), encoded.get(1));
+    }
 }
@@ -0,0 +1,183 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class PublicKeyCacheTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static byte[] randomPublicKey() {
+        return P.multiply(new BigInteger(446, RANDOM)).encode();
+    }
+
+    @Test
+    public void testIllegalCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PublicKeyCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new PublicKeyCache(-1));
+    }
+
+    @Test
+    public void testHitsAndMisses() throws Points.InvalidDataException {
+        final PublicKeyCache cache = new PublicKeyCache(4);
+        final byte[] encoded = randomPublicKey();
+        final Point first = cache.get(encoded);
+        assertEquals(0, cache.hits());
+        assertEquals(1, cache.misses());
+        assertSame(first, cache.get(encoded.clone()));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(Points.decode(encoded), first);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testCachedKeyIsIndependentOfArgument() throws Points.InvalidDataException {
+        final PublicKeyCache cache = new PublicKeyCache(4);
+        final byte[] encoded = randomPublicKey();
+        final byte[] original = encoded.clone();
+        cache.get(encoded);
+        encoded[0] ^= 1;
+        assertTrue(cache.contains(original));
+        assertFalse(cache.contains(encoded));
+    }
+
+    @Test
+    public void testEntryHasOddMultiples() throws Points.InvalidDataException {
+        final PublicKeyCache cache = new PublicKeyCache(1);
+        final PublicKeyCache.Entry entry = cache.lookup(randomPublicKey());
+        assertEquals(1 << (PublicKeyCache.WIDTH - 2), entry.multiples.length);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Points.InvalidDataException {
+        final PublicKeyCache cache = new PublicKeyCache(2);
+        final byte[] a = randomPublicKey();
+        final byte[] b = randomPublicKey();
+        final byte[] c = randomPublicKey();
+        cache.get(a);
+        cache.get(b);
+        cache.get(a);
+        cache.get(c);
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains(a));
+        assertFalse(cache.contains(b));
+        assertTrue(cache.contains(c));
+    }
+
+    @Test
+    public void testEvictsInAccessOrder() throws Points.InvalidDataException {
+        final PublicKeyCache cache = new PublicKeyCache(3);
+        final byte[][] keys = new byte[5][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomPublicKey();
+        }
+        cache.get(keys[0]);
+        cache.get(keys[1]);
+        cache.get(keys[2]);
+        cache.get(keys[0]);
+        // Test for presence does not count as use.
+        assertTrue(cache.contains(keys[1]));
+        cache.get(keys[3]);
+        assertFalse(cache.contains(keys[1]));
+        cache.get(keys[2]);
+        cache.get(keys[4]);
+        assertFalse(cache.contains(keys[0]));
+        assertTrue(cache.contains(keys[2]));
+        assertTrue(cache.contains(keys[3]));
+        assertTrue(cache.contains(keys[4]));
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.hits());
+        assertEquals(5, cache.misses());
+    }
+
+    @Test
+    public void testSampledEvictionSparesMostRecentlyUsed() throws Points.InvalidDataException {
+        final int capacity = 4 * PublicKeyCache.SAMPLE;
+        final PublicKeyCache cache = new PublicKeyCache(capacity);
+        final byte[][] keys = new byte[capacity + 16][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomPublicKey();
+        }
+        for (int i = 0; i < capacity; i++) {
+            cache.get(keys[i]);
+        }
+        for (int i = capacity; i < keys.length; i++) {
+            // Use the oldest keys again, such that the most recently used keys are not the most recently added.
+            for (int j = 0; j < PublicKeyCache.SAMPLE - 1; j++) {
+                cache.get(keys[j]);
+            }
+            cache.get(keys[i]);
+            assertEquals(capacity, cache.size());
+            for (int j = 0; j < PublicKeyCache.SAMPLE - 1; j++) {
+                assertTrue(cache.contains(keys[j]));
+            }
+            assertTrue(cache.contains(keys[i]));
+        }
+    }
+
+    @Test
+    public void testInvalidPublicKeyIsNotCached() {
+        final PublicKeyCache cache = new PublicKeyCache(2);
+        final byte[] invalid = new byte[Point.ENCODED_LENGTH_BYTES];
+        invalid[0] = 2;
+        assertThrows(Points.InvalidDataException.class, () -> cache.get(invalid));
+        assertThrows(Points.InvalidDataException.class, () -> cache.get(new byte[3]));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void testClear() throws Points.InvalidDataException {
+        final PublicKeyCache cache = new PublicKeyCache(2);
+        cache.get(randomPublicKey());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void testConcurrentUseRemainsBounded() throws Exception {
+        final PublicKeyCache cache = new PublicKeyCache(3);
+        final byte[][] keys = new byte[6][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomPublicKey();
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        final byte[] key = keys[(offset + i) % keys.length];
+                        assertEquals(Points.decode(key), cache.get(key));
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 3);
+        assertEquals(200, cache.hits() + cache.misses());
+    }
+}
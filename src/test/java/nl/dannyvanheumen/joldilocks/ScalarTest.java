@@ -0,0 +1,166 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
+import static nl.dannyvanheumen.joldilocks.Scalars.decodeLittleEndian;
+import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndian;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class ScalarTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static BigInteger random() {
+        return new BigInteger(446, RANDOM).mod(Q);
+    }
+
+    private static byte[] encode57(final BigInteger value) {
+        final byte[] encoded = new byte[Scalar.ENCODED_LENGTH_BYTES];
+        final byte[] bytes = encodeLittleEndian(value);
+        System.arraycopy(bytes, 0, encoded, 0, Math.min(bytes.length, encoded.length));
+        return encoded;
+    }
+
+    @Test
+    public void testValueOfRoundTrip() {
+        assertEquals(ZERO, Scalar.valueOf(ZERO).toBigInteger());
+        assertEquals(ZERO, Scalar.valueOf(Q).toBigInteger());
+        assertEquals(Q.subtract(ONE), Scalar.valueOf(Q.subtract(ONE)).toBigInteger());
+        assertEquals(Q.subtract(ONE), Scalar.valueOf(ONE.negate()).toBigInteger());
+        for (int i = 0; i < 20; i++) {
+            final BigInteger value = random();
+            assertEquals(value, Scalar.valueOf(value).toBigInteger());
+        }
+    }
+
+    @Test
+    public void testDecodeWide() {
+        for (int i = 0; i < 100; i++) {
+            final byte[] digest = new byte[114];
+            RANDOM.nextBytes(digest);
+            assertEquals(decodeLittleEndian(digest).mod(Q), Scalar.decode(digest, 0, 114).toBigInteger());
+        }
+        final byte[] ones = new byte[114];
+        Arrays.fill(ones, (byte) 0xff);
+        assertEquals(decodeLittleEndian(ones).mod(Q), Scalar.decode(ones, 0, 114).toBigInteger());
+    }
+
+    @Test
+    public void testDecodeAnyLength() {
+        for (int length = 0; length <= 120; length++) {
+            final byte[] data = new byte[length + 3];
+            RANDOM.nextBytes(data);
+            final byte[] value = Arrays.copyOfRange(data, 3, data.length);
+            assertEquals(decodeLittleEndian(value).mod(Q), Scalar.decode(data, 3, length).toBigInteger());
+        }
+    }
+
+    @Test
+    public void testEncode() {
+        for (int i = 0; i < 20; i++) {
+            final BigInteger value = random();
+            final byte[] encoded = new byte[Scalar.ENCODED_LENGTH_BYTES];
+            Scalar.valueOf(value).encode(encoded, 0);
+            assertArrayEquals(encode57(value), encoded);
+        }
+    }
+
+    @Test
+    public void testIsCanonical() {
+        assertTrue(Scalar.isCanonical(encode57(ZERO), 0));
+        assertTrue(Scalar.isCanonical(encode57(Q.subtract(ONE)), 0));
+        assertFalse(Scalar.isCanonical(encode57(Q), 0));
+        assertFalse(Scalar.isCanonical(encode57(Q.add(ONE)), 0));
+        assertFalse(Scalar.isCanonical(encode57(ONE.shiftLeft(446)), 0));
+        assertFalse(Scalar.isCanonical(encode57(ONE.shiftLeft(448).subtract(ONE)), 0));
+        final byte[] topByte = encode57(ONE);
+        topByte[56] = 1;
+        assertFalse(Scalar.isCanonical(topByte, 0));
+        final byte[] offset = new byte[60];
+        System.arraycopy(encode57(Q.subtract(ONE)), 0, offset, 3, 57);
+        assertTrue(Scalar.isCanonical(offset, 3));
+    }
+
+    @Test
+    public void testArithmetic() {
+        for (int i = 0; i < 100; i++) {
+            final BigInteger a = random();
+            final BigInteger b = random();
+            final BigInteger c = random();
+            final Scalar sa = Scalar.valueOf(a);
+            final Scalar sb = Scalar.valueOf(b);
+            assertEquals(a.add(b).mod(Q), sa.add(sb).toBigInteger());
+            assertEquals(a.subtract(b).mod(Q), sa.subtract(sb).toBigInteger());
+            assertEquals(a.negate().mod(Q), sa.negate().toBigInteger());
+            assertEquals(a.multiply(b).mod(Q), sa.multiply(sb).toBigInteger());
+            assertEquals(a.multiply(b).add(c).mod(Q), sa.multiplyAdd(sb, Scalar.valueOf(c)).toBigInteger());
+        }
+    }
+
+    @Test
+    public void testArithmeticExtremes() {
+        final Scalar max = Scalar.valueOf(Q.subtract(ONE));
+        assertEquals(Scalar.ONE, max.multiply(max));
+        assertEquals(Scalar.ZERO, max.add(Scalar.ONE));
+        assertEquals(Scalar.ZERO, Scalar.ZERO.negate());
+        assertEquals(Scalar.ZERO, max.multiplyAdd(max, max));
+    }
+
+    @Test
+    public void testInvert() {
+        assertEquals(Scalar.ZERO, Scalar.ZERO.invert());
+        assertEquals(Scalar.ONE, Scalar.ONE.invert());
+        for (int i = 0; i < 5; i++) {
+            final BigInteger value = random();
+            assertEquals(value.modInverse(Q), Scalar.valueOf(value).invert().toBigInteger());
+        }
+    }
+
+    @Test
+    public void testShiftRightAndBits() {
+        for (int i = 0; i < 20; i++) {
+            final BigInteger value = random();
+            final Scalar scalar = Scalar.valueOf(value);
+            assertEquals(value.shiftRight(2), scalar.shiftRight(2).toBigInteger());
+            assertEquals(value.intValue() & 0xfffffff, scalar.intValue());
+            for (int bit = 0; bit < 460; bit++) {
+                assertEquals(value.testBit(bit), scalar.testBit(bit));
+            }
+        }
+    }
+
+    @Test
+    public void testRecodeSigned() {
+        for (final BigInteger m : new BigInteger[]{BigInteger.ZERO, ONE, BigInteger.valueOf(2L), Q.subtract(ONE),
+            new BigInteger(446, RANDOM).mod(Q)}) {
+            for (final int bits : new int[]{448, 450}) {
+                final long[] recoded = Scalar.valueOf(m).recodeSigned(bits);
+                BigInteger sum = BigInteger.ZERO;
+                for (int i = 0; i < bits; i++) {
+                    sum = sum.add(BigInteger.valueOf(2L * Scalar.bit(recoded, i + 1) - 1).shiftLeft(i));
+                }
+                assertTrue(sum.testBit(0));
+                assertEquals(m, sum.mod(Q));
+            }
+        }
+    }
+
+    @Test
+    public void testClear() {
+        final Scalar scalar = Scalar.valueOf(random());
+        assertFalse(scalar.isZero());
+        scalar.clear();
+        assertTrue(scalar.isZero());
+    }
+}
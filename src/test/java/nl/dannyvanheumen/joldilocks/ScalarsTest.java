@@ -6,6 +6,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.TEN;
@@ -13,6 +14,7 @@ import static java.math.BigInteger.ZERO;
 import static nl.dannyvanheumen.joldilocks.BigIntegers.FOUR_TIMES_TWO_POWER_445_MINUS_ONE;
 import static nl.dannyvanheumen.joldilocks.BigIntegers.TWO_POWER_447;
 import static nl.dannyvanheumen.joldilocks.Ed448.MODULUS;
+import static nl.dannyvanheumen.joldilocks.Ed448.Q;
 import static nl.dannyvanheumen.joldilocks.Scalars.decodeLittleEndian;
 import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndian;
 import static nl.dannyvanheumen.joldilocks.Scalars.encodeLittleEndianTo;
@@ -247,4 +249,67 @@ public class ScalarsTest {
         lastByte[56] = (byte) 0b10000000;
         assertThrows(IllegalArgumentException.class, () -> requireValidSourceData(decodeLittleEndian(lastByte)));
     }
+
+    @Test
+    public void testNonAdjacentForm() {
+        final SecureRandom random = new SecureRandom();
+        for (int width = 2; width <= 8; width++) {
+            for (int n = 0; n < 20; n++) {
+                final BigInteger scalar = n < 4 ? BigInteger.valueOf(n) : new BigInteger(448, random);
+                final byte[] naf = Scalars.nonAdjacentForm(scalar, width);
+                BigInteger sum = ZERO;
+                int lastNonZero = -width;
+                for (int i = 0; i < naf.length; i++) {
+                    if (naf[i] == 0) {
+                        continue;
+                    }
+                    assertEquals(1, naf[i] & 1);
+                    assertTrue(Math.abs(naf[i]) < 1 << (width - 1));
+                    assertTrue(i - lastNonZero >= width);
+                    lastNonZero = i;
+                    sum = sum.add(BigInteger.valueOf(naf[i]).shiftLeft(i));
+                }
+                assertEquals(scalar, sum);
+            }
+        }
+    }
+
+    @Test
+    public void testNonAdjacentFormOfScalar() {
+        final SecureRandom random = new SecureRandom();
+        for (int width = 2; width <= 8; width++) {
+            for (int n = 0; n < 10; n++) {
+                final BigInteger scalar = n < 2 ? BigInteger.valueOf(n) : new BigInteger(446, random).mod(Q);
+                final byte[] expected = Scalars.nonAdjacentForm(scalar, width);
+                final byte[] naf = Scalars.nonAdjacentForm(Scalar.valueOf(scalar), width);
+                assertEquals(Scalar.BITS + 1, naf.length);
+                assertArrayEquals(expected, Arrays.copyOf(naf, expected.length));
+                for (int i = expected.length; i < naf.length; i++) {
+                    assertEquals(0, naf[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSignedWindows() {
+        for (int width = 2; width <= 8; width++) {
+            final BigInteger scalar = new BigInteger(446, RANDOM);
+            final int count = 446 / width + 1;
+            final int[] digits = Scalars.signedWindows(scalar, width, count);
+            assertEquals(count, digits.length);
+            BigInteger sum = BigInteger.ZERO;
+            for (int j = digits.length - 1; j >= 0; j--) {
+                assertTrue(Math.abs(digits[j]) <= 1 << (width - 1));
+                sum = sum.shiftLeft(width).add(BigInteger.valueOf(digits[j]));
+            }
+            assertEquals(scalar, sum);
+        }
+    }
+
+    @Test
+    public void testSignedWindowsAllOnes() {
+        final BigInteger scalar = BigInteger.ONE.shiftLeft(12).subtract(BigInteger.ONE);
+        assertArrayEquals(new int[]{-1, 0, 0, 1}, Scalars.signedWindows(scalar, 4, 4));
+    }
 }
@@ -0,0 +1,118 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static nl.dannyvanheumen.joldilocks.Ed448.P;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings("WeakerAccess")
+public class TwistedPointTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Point of order 4 on Ed448.
+     */
+    private static final AffinePoint ORDER_FOUR = new AffinePoint(BigInteger.ONE, BigInteger.ZERO);
+
+    private static Point dualOf(final TwistedPoint twisted, final Scratch scratch) {
+        final MutablePoint result = new MutablePoint();
+        result.setDualIsogeny(twisted, scratch);
+        return result.toPoint();
+    }
+
+    private static TwistedPoint isogenyOf(final Point p, final Scratch scratch) {
+        final MutablePoint point = new MutablePoint();
+        point.set(p);
+        final TwistedPoint twisted = new TwistedPoint();
+        point.isogenyTo(twisted, scratch);
+        return twisted;
+    }
+
+    @Test
+    public void testDualOfIsogenyIsMultiplicationByFour() {
+        final Scratch scratch = new Scratch();
+        final Point a = P.multiply(new BigInteger(446, RANDOM));
+        assertEquals(a.doubling().doubling(), dualOf(isogenyOf(a, scratch), scratch));
+    }
+
+    @Test
+    public void testFourTorsionIsKernelOfIsogeny() {
+        final Scratch scratch = new Scratch();
+        final TwistedPoint identity = new TwistedPoint();
+        identity.setIdentity();
+        final Point expected = dualOf(identity, scratch);
+        assertEquals(expected, dualOf(isogenyOf(ORDER_FOUR, scratch), scratch));
+        assertEquals(expected, dualOf(isogenyOf(ORDER_FOUR.doubling(), scratch), scratch));
+    }
+
+    @Test
+    public void testAddAndDoublingMatchEd448() {
+        final Scratch scratch = new Scratch();
+        final Point a = P.multiply(new BigInteger(446, RANDOM));
+        final Point b = P.multiply(new BigInteger(446, RANDOM));
+        final TwistedPoint sum = isogenyOf(a, scratch);
+        sum.add(isogenyOf(b, scratch), scratch);
+        assertEquals(a.add(b).doubling().doubling(), dualOf(sum, scratch));
+        final TwistedPoint doubled = isogenyOf(a, scratch);
+        doubled.doubling(scratch);
+        final TwistedPoint added = isogenyOf(a, scratch);
+        added.add(added, scratch);
+        assertEquals(a.doubling().doubling().doubling(), dualOf(doubled, scratch));
+        assertEquals(a.doubling().doubling().doubling(), dualOf(added, scratch));
+    }
+
+    @Test
+    public void testMultiply() {
+        final Scratch scratch = new Scratch();
+        final BigInteger k = new BigInteger(446, RANDOM);
+        final TwistedPoint result = new TwistedPoint();
+        result.multiply(isogenyOf(P, scratch), k, scratch);
+        assertEquals(P.multiply(k.shiftLeft(2)), dualOf(result, scratch));
+    }
+
+    @Test
+    public void testMultiplyPointOutsidePrimeOrderSubgroup() {
+        final Point a = P.multiply(new BigInteger(446, RANDOM)).add(ORDER_FOUR);
+        Point expected = new AffinePoint(BigInteger.ZERO, BigInteger.ONE);
+        for (int k = 0; k < 10; k++) {
+            assertEquals(expected, a.multiply(BigInteger.valueOf(k)));
+            expected = Points.toAffine(expected).add(a);
+        }
+    }
+
+    @Test
+    public void testSubtract() {
+        final Scratch scratch = new Scratch();
+        final Point a = P.multiply(new BigInteger(446, RANDOM));
+        final Point b = P.multiply(new BigInteger(446, RANDOM));
+        final TwistedPoint result = isogenyOf(a, scratch);
+        result.subtract(isogenyOf(b, scratch), scratch);
+        assertEquals(a.add(b.negate()).doubling().doubling(), dualOf(result, scratch));
+    }
+
+    @Test
+    public void testMultiplyDoubleVariableTime() {
+        final Scratch scratch = new Scratch();
+        final Point a = P.multiply(new BigInteger(446, RANDOM));
+        final TwistedPoint point = isogenyOf(a, scratch);
+        final NielsPoint[] multiples = NielsPoint.oddMultiples(a, 1 << (TwistedPoint.WNAF_WIDTH - 2));
+        final TwistedPoint result = new TwistedPoint();
+        final BigInteger[] scalars = new BigInteger[]{BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(127),
+            new BigInteger(446, RANDOM), new BigInteger(100, RANDOM), Ed448.Q.subtract(BigInteger.ONE)};
+        for (final BigInteger s : scalars) {
+            for (final BigInteger k : scalars) {
+                final byte[] nafS = Scalars.nonAdjacentForm(s, BaseMultiples.WIDTH);
+                final byte[] nafK = Scalars.nonAdjacentForm(k, TwistedPoint.WNAF_WIDTH);
+                final Point expected = P.multiply(s.shiftLeft(2)).add(a.multiply(k.shiftLeft(2)).negate());
+                result.multiplyDoubleVariableTime(nafS, point, nafK, scratch);
+                assertEquals(expected, dualOf(result, scratch));
+                result.multiplyDoubleVariableTime(nafS, multiples, nafK, scratch);
+                assertEquals(expected, dualOf(result, scratch));
+            }
+        }
+    }
+}
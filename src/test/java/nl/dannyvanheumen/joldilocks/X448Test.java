@@ -0,0 +1,100 @@
+package nl.dannyvanheumen.joldilocks;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+
+import static org.bouncycastle.util.encoders.Hex.decode;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("WeakerAccess")
+public class X448Test {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final byte[] BASE_U = decode("0500000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000");
+
+    private static final byte[] ALICE_PRIVATE = decode("9a8f4925d1519f5775cf46b04b5800d4ee9ee8bae8bc5565d498c28dd9c9baf574a9419744897391006382a6f127ab1d9ac2d8c0a598726b");
+    private static final byte[] ALICE_PUBLIC = decode("9b08f7cc31b7e3e67d22d5aea121074a273bd2b83de09c63faa73d2c22c5d9bbc836647241d953d40c5b12da88120d53177f80e532c41fa0");
+    private static final byte[] BOB_PRIVATE = decode("1c306a7ac2a0e2e0990b294470cba339e6453772b075811d8fad0d1d6927c120bb5ee8972b0d3e21374c9c921b09d1b0366f10b65173992d");
+    private static final byte[] BOB_PUBLIC = decode("3eb7a829b0cd20f5bcfc0b599b6feccf6da4627107bdb0d4f345b43027d8b972fc3e34fb4232a13ca706dcb57aec3dae07bdc1c67bf33609");
+    private static final byte[] SHARED_SECRET = decode("07fff4181ac6cc95ec1c16a94a0f74d12da232ce40a77552281d282bb60c0b56fd2464c335543936521c24403085d59a449a5037514a879d");
+
+    @Test
+    public void testX448TestVector1() {
+        final byte[] scalar = decode("3d262fddf9ec8e88495266fea19a34d28882acef045104d0d1aae121700a779c984c24f8cdd78fbff44943eba368f54b29259a4f1c600ad3");
+        final byte[] u = decode("06fce640fa3487bfda5f6cf2d5263f8aad88334cbd07437f020f08f9814dc031ddbdc38c19c6da2583fa5429db94ada18aa7a7fb4ef8a086");
+        final byte[] expected = decode("ce3e4ff95a60dc6697da1db1d85e6afbdf79b50a2412d7546d5f239fe14fbaadeb445fc66a01b0779d98223961111e21766282f73dd96b6f");
+        assertArrayEquals(expected, X448.x448(scalar, u));
+    }
+
+    @Test
+    public void testX448TestVector2() {
+        final byte[] scalar = decode("203d494428b8399352665ddca42f9de8fef600908e0d461cb021f8c538345dd77c3e4806e25f46d3315c44e0a5b4371282dd2c8d5be3095f");
+        final byte[] u = decode("0fbcc2f993cd56d3305b0b7d9e55d4c1a8fb5dbb52f8e9a1e9b6201b165d015894e56c4d3570bee52fe205e28a78b91cdfbde71ce8d157db");
+        final byte[] expected = decode("884a02576239ff7a2f2f63b2db6a9ff37047ac13568e1e30fe63c4a7ad1b3ee3a5700df34321d62077e63633c575c1c954514e99da7c179d");
+        assertArrayEquals(expected, X448.x448(scalar, u));
+    }
+
+    @Test
+    public void testX448Iterations() {
+        byte[] k = BASE_U.clone();
+        byte[] u = BASE_U.clone();
+        for (int i = 1; i <= 1000; i++) {
+            final byte[] result = X448.x448(k, u);
+            u = k;
+            k = result;
+            if (i == 1) {
+                assertArrayEquals(decode("3f482c8a9f19b01e6c46ee9711d9dc14fd4bf67af30765c2ae2b846a4d23a8cd0db897086239492caf350b51f833868b9bc2b3bca9cf4113"), k);
+            }
+        }
+        assertArrayEquals(decode("aa3b4749d55b9daf1e5b00288826c467274ce3ebbdd5c17b975e09d4af6c67cf10d087202db88286e2b79fceea3ec353ef54faa26e219f38"), k);
+    }
+
+    @Test
+    public void testPublicKeyTestVectors() {
+        assertArrayEquals(ALICE_PUBLIC, X448.publicKey(ALICE_PRIVATE));
+        assertArrayEquals(BOB_PUBLIC, X448.publicKey(BOB_PRIVATE));
+    }
+
+    @Test
+    public void testSharedSecretTestVectors() throws Points.InvalidDataException {
+        assertArrayEquals(SHARED_SECRET, X448.sharedSecret(ALICE_PRIVATE, BOB_PUBLIC));
+        assertArrayEquals(SHARED_SECRET, X448.sharedSecret(BOB_PRIVATE, ALICE_PUBLIC));
+    }
+
+    @Test
+    public void testPublicKeyEqualsLadderOnBasePoint() {
+        for (int i = 0; i < 10; i++) {
+            final byte[] privateKey = X448.generatePrivateKey(RANDOM);
+            assertArrayEquals(X448.x448(privateKey, BASE_U), X448.publicKey(privateKey));
+        }
+    }
+
+    @Test
+    public void testRandomKeyAgreement() throws Points.InvalidDataException {
+        final byte[] a = X448.generatePrivateKey(RANDOM);
+        final byte[] b = X448.generatePrivateKey(RANDOM);
+        assertEquals(X448.KEY_LENGTH_BYTES, a.length);
+        assertArrayEquals(X448.sharedSecret(a, X448.publicKey(b)), X448.sharedSecret(b, X448.publicKey(a)));
+    }
+
+    @Test
+    public void testSharedSecretRejectsSmallOrderPublicKeys() {
+        final byte[] privateKey = X448.generatePrivateKey(RANDOM);
+        final byte[] zero = new byte[X448.KEY_LENGTH_BYTES];
+        final byte[] one = new byte[X448.KEY_LENGTH_BYTES];
+        one[0] = 1;
+        assertThrows(Points.InvalidDataException.class, () -> X448.sharedSecret(privateKey, zero));
+        assertThrows(Points.InvalidDataException.class, () -> X448.sharedSecret(privateKey, one));
+    }
+
+    @Test
+    public void testInvalidLengths() {
+        assertThrows(IllegalArgumentException.class, () -> X448.x448(new byte[55], BASE_U));
+        assertThrows(IllegalArgumentException.class, () -> X448.x448(new byte[56], new byte[57]));
+        assertThrows(IllegalArgumentException.class, () -> X448.publicKey(new byte[57]));
+    }
+}